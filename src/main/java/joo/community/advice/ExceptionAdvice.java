@@ -31,6 +31,14 @@ public class ExceptionAdvice {
         return Response.failure(400, e.getBindingResult().getFieldError().getDefaultMessage());
     }
 
+    // 400 응답
+    // 목록 조회의 커서(after) 값이 잘못됨
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Response invalidCursorException() {
+        return Response.failure(400, "잘못된 커서입니다.");
+    }
+
 
     // 401 응답
     // 아이디 혹은 비밀번호 오류시
@@ -40,6 +48,22 @@ public class ExceptionAdvice {
         return Response.failure(401, "로그인에 실패하였습니다.");
     }
 
+    // 503 응답
+    // 로그인 요청이 몰려 비밀번호 검증 대기열이 가득 참
+    @ExceptionHandler(LoginBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Response loginBusyException() {
+        return Response.failure(503, "로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    // 503 응답
+    // 회원가입 요청이 몰려 비밀번호 해시 대기열이 가득 참
+    @ExceptionHandler(SignUpBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Response signUpBusyException() {
+        return Response.failure(503, "회원가입 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
 
     // 409 응답
     // username 중복
@@ -74,4 +98,13 @@ public class ExceptionAdvice {
     public Response roleNotFoundException() {
         return Response.failure(404, "요청한 권한 등급을 찾을 수 없습니다.");
     }
-}
\ No newline at end of file
+
+
+    // 404 응답
+    // 요청한 이미지 파일이 없음
+    @ExceptionHandler(ImageNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Response imageNotFoundException() {
+        return Response.failure(404, "요청한 이미지를 찾을 수 없습니다.");
+    }
+}
@@ -1,48 +0,0 @@
-package joo.community.config.auth;
-
-import joo.community.repository.user.UserRepository;
-import joo.community.entity.user.User;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Collections;
-
-@Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
-
-    /*
-        Spring Security 는 기본적으로 HTTP Basic 인증이나, form login 같은 기본 인증 사용,
-        그러나 custom 한 클래스는 JWT 기반 인증 사용(기본 로그인 화면 비활)
-        
-        UserDetailsService 를 구현, DB에서 사용자 정보를 로드하고, 
-        Security 의 인증 및 권한 부여 시스템에 맞게 UserDetails 객체 반환
-     */
-
-    private final UserRepository userRepository;
-
-    @Override
-    @Transactional
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .map(this::createUserDetails)
-                .orElseThrow(() -> new UsernameNotFoundException(username + " -> 데이터베이스에서 찾을 수 없습니다."));
-    }
-
-    // DB 에 User 값이 존재한다면 UserDetails 객체로 만들어서 리턴
-    private UserDetails createUserDetails(User user) {
-        GrantedAuthority grantedAuthority = new SimpleGrantedAuthority(user.getAuthority().name());
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.singleton(grantedAuthority)
-        );
-    }
-}
\ No newline at end of file
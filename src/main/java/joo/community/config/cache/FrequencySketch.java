@@ -0,0 +1,84 @@
+package joo.community.config.cache;
+
+public class FrequencySketch {
+
+    /*
+        최근 접근 빈도 추정 (Count-Min Sketch, TinyLFU 입장 정책용)
+        - 4비트 카운터 16개를 long 하나에 담고, 키마다 네 행(row)의 카운터 중 최솟값을 빈도로 본다. (최대 15)
+        - 추가가 sampleSize 번 쌓이면 모든 카운터를 절반으로 줄여 오래된 인기를 잊는다. (aging)
+        - 키 하나당 객체를 만들지 않으므로 캐시 용량보다 훨씬 많은 키의 빈도를 적은 메모리로 기록한다.
+        동기화는 호출한 쪽이 책임진다.
+     */
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L; // 절반으로 줄인 뒤 옆 카운터에서 넘어온 비트 제거
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int expectedEntries) {
+        int size = 16;
+        while (size < expectedEntries) {
+            size <<= 1;
+        }
+        this.table = new long[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int shift = shiftOf(hash, row);
+            frequency = Math.min(frequency, (int) ((table[indexOf(hash, row)] >>> shift) & 0xFL));
+        }
+        return frequency;
+    }
+
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            added |= incrementAt(indexOf(hash, row), shiftOf(hash, row));
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int shift) {
+        long counter = 0xFL << shift;
+        if ((table[index] & counter) == counter) {
+            return false; // 포화
+        }
+        table[index] += 1L << shift;
+        return true;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    // long 안의 카운터 위치 (행마다 다른 4비트)
+    private static int shiftOf(int hash, int row) {
+        return ((hash >>> (row << 3)) & 15) << 2;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
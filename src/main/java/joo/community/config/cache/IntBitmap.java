@@ -0,0 +1,213 @@
+package joo.community.config.cache;
+
+import java.util.Arrays;
+
+public class IntBitmap {
+
+    /*
+        roaring 방식의 압축 비트맵 (0 이상의 int 집합)
+        상위 16bit 로 container 를 나누고, container 안에는 하위 16bit 만 저장한다.
+        - 값이 ARRAY_MAX(4096) 개 이하 : 정렬된 char[] (값당 2byte)
+        - 그보다 많으면 : 65536bit 비트맵 long[1024] (8KB 고정)
+          BITMAP_MIN(3072) 개 이하로 줄어야 다시 배열로 전환한다. (경계에서 추가/제거가 반복될 때
+          매번 배열 <-> 비트맵을 오가며 복사하지 않도록 두 기준 사이에 간격을 둔다.)
+        박싱된 컬렉션을 쓰지 않고, contains 는 이진 탐색 + 배열 접근만 하므로 객체를 생성하지 않는다.
+        동기화하지 않으므로 여러 스레드가 함께 쓰는 경우 호출하는 쪽에서 잠근다.
+     */
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_MIN = 3072;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0]; // char[] 또는 long[]
+    private int[] counts = new int[0];
+    private int size; // container 수
+    private long cardinality;
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = findKey((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, counts[index], low) >= 0;
+    }
+
+    // 새로 추가되었으면 true
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("음수는 저장할 수 없습니다 : " + value);
+        }
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+
+        int index = findKey(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high);
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] bits = (long[]) container;
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) != 0) {
+                return false;
+            }
+            bits[low >>> 6] |= mask;
+            counts[index]++;
+            cardinality++;
+            return true;
+        }
+
+        char[] values = (char[]) container;
+        int count = counts[index];
+        int position = Arrays.binarySearch(values, 0, count, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+
+        if (count == ARRAY_MAX) {
+            // 배열이 가득 차면 비트맵으로 전환
+            long[] bits = toBits(values, count);
+            bits[low >>> 6] |= 1L << low;
+            containers[index] = bits;
+        } else {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, count * 2)));
+                containers[index] = values;
+            }
+            System.arraycopy(values, position, values, position + 1, count - position);
+            values[position] = low;
+        }
+        counts[index]++;
+        cardinality++;
+        return true;
+    }
+
+    // 제거되었으면 true
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = findKey((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] bits = (long[]) container;
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                return false;
+            }
+            bits[low >>> 6] &= ~mask;
+            if (--counts[index] <= BITMAP_MIN) {
+                // 다시 희소해지면 배열로 전환
+                containers[index] = toValues(bits, counts[index]);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int count = counts[index];
+            int position = Arrays.binarySearch(values, 0, count, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, count - position - 1);
+            if (--counts[index] == 0) {
+                removeContainer(index);
+            }
+        }
+        cardinality--;
+        return true;
+    }
+
+    public long cardinality() {
+        return cardinality;
+    }
+
+    // 대략적인 메모리 사용량 (객체 헤더 16byte, 참조 4byte 기준)
+    public long sizeInBytes() {
+        long bytes = 16 + (16 + keys.length * 2L) + (16 + containers.length * 4L) + (16 + counts.length * 4L);
+        for (int i = 0; i < size; i++) {
+            Object container = containers[i];
+            bytes += container instanceof long[]
+                    ? 16 + BITMAP_WORDS * 8L
+                    : 16 + ((char[]) container).length * 2L;
+        }
+        return bytes;
+    }
+
+    private int findKey(char key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char found = keys[middle];
+            if (found < key) {
+                low = middle + 1;
+            } else if (found > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertContainer(int index, char key) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        System.arraycopy(counts, index, counts, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = new char[4];
+        counts[index] = 0;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private static long[] toBits(char[] values, int count) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+            bits[values[i] >>> 6] |= 1L << values[i];
+        }
+        return bits;
+    }
+
+    private static char[] toValues(long[] bits, int count) {
+        char[] values = new char[count];
+        int position = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                values[position++] = (char) ((word << 6) + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,275 @@
+package joo.community.config.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class LruCache<K, V> {
+
+    /*
+        크기 제한이 있는 LRU 근사 캐시 (ConcurrentHashMap + CLOCK)
+        - 조회는 lock 없이 ConcurrentHashMap 에서 읽고, 항목의 참조 비트만 켠다.
+        - 가득 차면 저장한 스레드가 CLOCK (second chance) 순서로 최근에 참조되지 않은 항목부터 제거
+          (여러 스레드가 동시에 저장하면 잠시 maximumSize 를 조금 넘을 수 있다.)
+        - get(key, loader) : 없으면 loader 로 읽어와 저장 (read-through)
+          읽기 전에 그 key 자리에 적재 표시를 넣고, 읽어온 값은 표시가 그대로 남아 있을 때만 저장한다.
+          그 사이 같은 key 의 evict 가 있었다면 표시가 지워져 저장하지 않는다. (수정 커밋 직후 이전 값이 다시
+          캐시에 들어가는 것을 방지, 다른 key 의 evict 와는 무관)
+        - expireAfterWriteMillis > 0 이면 저장 후 그 시간이 지난 항목은 없는 것으로 보고 다시 읽는다.
+          (다른 인스턴스의 변경처럼 이벤트로 알 수 없는 변경이 남아 있을 수 있는 최대 시간)
+        - hit / miss / eviction 횟수를 Micrometer 로 노출
+     */
+
+    private final int maximumSize;
+    private final long expireAfterWriteNanos; // 0 : 만료 없음
+    private final ConcurrentHashMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+
+    // CLOCK 순환 순서 (저장 순서), 그 사이 교체/제거된 노드는 제거할 때 건너뛴다.
+    private final ConcurrentLinkedQueue<Node<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockSize = new AtomicInteger();
+    // clear / purgeReplaced 용 (조회, 저장, 제거는 잡지 않는다.)
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maximumSize) {
+        this(maximumSize, 0);
+    }
+
+    public LruCache(int maximumSize, long expireAfterWriteMillis) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, expireAfterWriteMillis));
+    }
+
+    public V get(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null || node.value == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(node)) {
+            if (entries.remove(key, node)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Node<K, V> loading = new Node<>(key, null);
+        Node<K, V> existing;
+        while ((existing = entries.putIfAbsent(key, loading)) != null && existing.value != null) {
+            if (!isExpired(existing)) {
+                return existing.value;
+            }
+            // 만료된 항목 : 치우고 다시 적재 표시를 넣는다.
+            if (entries.remove(key, existing)) {
+                evictions.increment();
+            }
+        }
+        if (existing != null) {
+            // 다른 스레드가 읽는 중 : 같은 표시가 남아 있으면 둘 중 누가 저장해도 evict 이후에 읽은 값이다.
+            loading = existing;
+        }
+
+        V loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (RuntimeException e) {
+            entries.remove(key, loading);
+            throw e;
+        }
+        if (loaded == null) {
+            entries.remove(key, loading);
+            return null;
+        }
+        Node<K, V> node = new Node<>(key, loaded);
+        if (entries.replace(key, loading, node)) {
+            added(node);
+        }
+        return loaded;
+    }
+
+    // hit / miss 에 집계하지 않고 조회 (캐시에 있는 값만 갱신할 때 사용)
+    public V peek(K key) {
+        Node<K, V> node = entries.get(key);
+        return node == null || isExpired(node) ? null : node.value;
+    }
+
+    public void put(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        entries.put(key, node);
+        added(node);
+    }
+
+    public void evict(K key) {
+        Node<K, V> removed = entries.remove(key);
+        if (removed != null && removed.value != null) {
+            evictions.increment();
+        }
+    }
+
+    // 조건에 맞는 항목을 모두 제거 (전체를 훑으므로 드물게 일어나는 무효화에만 사용, 반환 : 제거한 수)
+    public int evictIf(Predicate<? super V> condition) {
+        int removed = 0;
+        for (Map.Entry<K, Node<K, V>> entry : entries.entrySet()) {
+            Node<K, V> node = entry.getValue();
+            if (node.value != null && condition.test(node.value) && entries.remove(entry.getKey(), node)) {
+                evictions.increment();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void clear() {
+        evictionLock.lock();
+        try {
+            evictions.add(size());
+            entries.clear();
+            clock.clear();
+            clockSize.set(0);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // 적재 중인 항목 (표시) 은 제외
+    public int size() {
+        int size = 0;
+        for (Node<K, V> node : entries.values()) {
+            if (node.value != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRatio() {
+        long hit = hitCount();
+        long total = hit + missCount();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    // cache.gets{result=hit|miss}, cache.evictions, cache.size, cache.hit.ratio
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("cache.gets", this, LruCache::hitCount)
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", this, LruCache::missCount)
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", this, LruCache::evictionCount)
+                .tag("cache", name).register(registry);
+        Gauge.builder("cache.size", this, LruCache::size)
+                .tag("cache", name).register(registry);
+        Gauge.builder("cache.hit.ratio", this, LruCache::hitRatio)
+                .tag("cache", name).register(registry);
+    }
+
+    private boolean isExpired(Node<K, V> node) {
+        return expireAfterWriteNanos > 0 && System.nanoTime() - node.writtenAt >= expireAfterWriteNanos;
+    }
+
+    private void added(Node<K, V> node) {
+        clock.offer(node);
+        if (clockSize.incrementAndGet() > 2 * Math.max(maximumSize, 16)) {
+            purgeReplaced();
+        }
+        evictIfNeeded();
+    }
+
+    // 저장한 스레드가 직접 넘친 만큼 제거한다. (poll / remove(key, node) 가 원자적이라 여러 스레드가 함께 돌아도 된다.)
+    // 참조 비트가 켜진 노드는 지나가며 끄므로, 두 바퀴를 돌 동안 하나도 제거하지 못하면
+    // (모두 적재 중 표시이거나 계속 다시 참조되는 경우) 멈춘다.
+    private void evictIfNeeded() {
+        int skipped = 0;
+        while (entries.size() > maximumSize && skipped <= 2 * clockSize.get()) {
+            Node<K, V> node = clock.poll();
+            if (node == null) {
+                return;
+            }
+            clockSize.decrementAndGet();
+            if (entries.get(node.key) != node) {
+                continue;
+            }
+            if (node.referenced) {
+                node.referenced = false;
+                clock.offer(node);
+                clockSize.incrementAndGet();
+                skipped++;
+            } else if (entries.remove(node.key, node)) {
+                evictions.increment();
+                skipped = 0;
+            }
+        }
+    }
+
+    // 교체/제거된 노드가 쌓이면 (evict 가 잦고 캐시가 차지 않은 경우) 한 번에 정리
+    private void purgeReplaced() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int removed = 0;
+            for (Iterator<Node<K, V>> it = clock.iterator(); it.hasNext(); ) {
+                Node<K, V> node = it.next();
+                if (entries.get(node.key) != node) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            clockSize.addAndGet(-removed);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // value == null 이면 적재 중 표시
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long writtenAt = System.nanoTime();
+        private volatile boolean referenced;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -3,4 +3,8 @@ package joo.community.config.constant;
 public class Constant {
 
     public static final String REDIS_RANKING_KEY = "ranking";
+    public static final String REDIS_RANKING_SEED_LOCK_KEY = "ranking:seed-lock";
+    public static final String REDIS_RANKING_SEEDED_MEMBER = "seeded"; // REDIS_RANKING_KEY 안의 적재 완료 표시 (score -inf)
+    public static final String REDIS_USER_INVALIDATION_CHANNEL = "user-invalidation";
+    public static final String REDIS_REFRESH_TOKEN_PREFIX = "refresh-token:";
 }
@@ -0,0 +1,65 @@
+package joo.community.config.guard;
+
+import joo.community.entity.user.User;
+import joo.community.exception.MemberNotFoundException;
+import joo.community.repository.user.UserRepository;
+import joo.community.service.user.CachedUser;
+import joo.community.service.user.UserLookupCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    /*
+        현재 요청 사용자 (SecurityContext 의 UserPrincipal)
+        - get : id, username, nickname (user 테이블 조회 없음)
+        - reference : 연관관계 설정용 User 프록시 (getReferenceById, SELECT 없음)
+        id claim 이 없는 이전 토큰으로 들어온 요청만 username 으로 조회한다. (UserLookupCache)
+        - getExisting / requireExisting : 쓰기 요청용, 토큰의 회원이 탈퇴하지 않았는지 UserLookupCache 로 확인한다.
+          토큰은 탈퇴 후에도 만료 시각까지 유효하므로, 확인하지 않으면 INSERT 가 user FK 위반 (500) 으로 실패한다.
+          (탈퇴가 커밋되면 UserLookupCache 항목이 제거되므로 보통 캐시 조회 1회)
+     */
+
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+
+    public UserPrincipal get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new MemberNotFoundException();
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UserPrincipal && ((UserPrincipal) principal).getId() != null) {
+            return (UserPrincipal) principal;
+        }
+
+        CachedUser user = userLookupCache.findByUsername(authentication.getName())
+                .orElseThrow(MemberNotFoundException::new);
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getNickname(), authentication.getAuthorities());
+    }
+
+    public UserPrincipal getExisting() {
+        UserPrincipal user = get();
+        requireExisting(user.getId(), user.getUsername());
+        return user;
+    }
+
+    // 탈퇴했거나, 탈퇴 후 같은 username 으로 다시 가입한 다른 회원이면 MemberNotFoundException
+    public void requireExisting(Long userId, String username) {
+        boolean exists = userLookupCache.findByUsername(username)
+                .map(user -> user.getId().equals(userId))
+                .orElse(false);
+        if (!exists) {
+            throw new MemberNotFoundException();
+        }
+    }
+
+    public User reference(Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
+}
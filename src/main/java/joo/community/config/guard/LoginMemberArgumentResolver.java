@@ -1,11 +1,7 @@
 package joo.community.config.guard;
 
-import joo.community.entity.user.User;
-import joo.community.exception.MemberNotFoundException;
-import joo.community.repository.user.UserRepository;
+import joo.community.dto.user.UserDto;
 import org.springframework.core.MethodParameter;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -15,10 +11,10 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 @Component
 public class LoginMemberArgumentResolver implements HandlerMethodArgumentResolver {
 
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
 
-    public LoginMemberArgumentResolver(final UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public LoginMemberArgumentResolver(final CurrentUserProvider currentUserProvider) {
+        this.currentUserProvider = currentUserProvider;
     }
 
     @Override
@@ -27,10 +23,8 @@ public class LoginMemberArgumentResolver implements HandlerMethodArgumentResolve
     }
 
     @Override
-    public User resolveArgument(final MethodParameter parameter, final ModelAndViewContainer mavContainer, final NativeWebRequest webRequest, final WebDataBinderFactory binderFactory) throws Exception {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        return userRepository.findByUsername(authentication.getName())
-                .orElseThrow(MemberNotFoundException::new);
+    // 토큰의 claim 으로 만든 principal 을 그대로 사용 (user 테이블 조회 없음)
+    public UserDto resolveArgument(final MethodParameter parameter, final ModelAndViewContainer mavContainer, final NativeWebRequest webRequest, final WebDataBinderFactory binderFactory) throws Exception {
+        return currentUserProvider.get().toUserDto();
     }
 }
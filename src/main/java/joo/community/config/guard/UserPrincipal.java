@@ -0,0 +1,46 @@
+package joo.community.config.guard;
+
+import joo.community.dto.user.UserDto;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+public class UserPrincipal extends User {
+
+    /*
+        인증된 사용자 (SecurityContext 의 principal)
+        access token 의 id, nickname claim 으로 만들어지므로, 요청마다 user 테이블을 조회하지 않고 현재 사용자를 알 수 있다.
+        - 로그인 시 : AuthService 가 UserLookupCache 의 회원으로 만든다. (비밀번호는 PasswordHasher 로 검증하고 담지 않는다.)
+        - 요청 시 : TokenProvider 가 토큰의 claim 으로 만든다. (claim 이 없는 이전 토큰이면 id, nickname 은 null)
+        변하는 사용자 정보 (이름, 권한 변경 등) 가 필요하면 DB 에서 읽는다.
+        (닉네임 변경은 다음 토큰 발급부터 반영된다.)
+     */
+
+    private final Long id;
+    private final String nickname;
+
+    public UserPrincipal(Long id, String username, String password, String nickname,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.nickname = nickname;
+    }
+
+    public UserPrincipal(Long id, String username, String nickname, Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, "", nickname, authorities);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    // 토큰에 담기지 않는 name 은 null
+    public UserDto toUserDto() {
+        return new UserDto(id, getUsername(), null, nickname);
+    }
+}
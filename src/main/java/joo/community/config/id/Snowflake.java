@@ -0,0 +1,74 @@
+package joo.community.config.id;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class Snowflake {
+
+    /*
+        시간순으로 증가하는 64bit id 생성기 (Snowflake 방식)
+        | timestamp 39bit (EPOCH 이후 ms, 약 17년) | node 5bit (0 ~ 31) | sequence 9bit (ms 당 512개) |
+        - 전체 53bit 이므로 JSON 으로 내려가도 JavaScript Number 범위에서 정밀도 손실이 없다.
+        - 같은 노드 안에서 항상 증가 (keyset pagination 의 id 순서 = 생성 순서)
+        - lock 없이 CAS 한 번으로 생성. 한 ms 에 sequence 를 다 쓰거나 시계가 뒤로 가면
+          마지막 timestamp 를 그대로 이어 써서(다음 ms 를 미리 사용) 증가 순서를 유지한다.
+          미리 쓰는 시간은 MAX_BORROW_MILLIS 까지만 허용하고, 넘으면 시계가 따라올 때까지 기다린다.
+          (id 의 timestamp 가 실제 생성 시각에서 멀어지지 않도록, 재시작 후 시계가 미리 쓴 구간에 들어가 중복되지 않도록)
+     */
+
+    public static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 9;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    public static final long MAX_BORROW_MILLIS = 5L;
+    private static final long CLOCK_WAIT_NANOS = 100_000L;
+
+    // 같은 노드는 하나의 순서를 공유 (엔티티별 Hibernate generator, 네이티브 INSERT 가 같은 인스턴스 사용)
+    private static final Map<Long, Snowflake> NODES = new ConcurrentHashMap<>();
+
+    private final long nodeId;
+    // (timestamp << SEQUENCE_BITS) | sequence
+    private final AtomicLong state = new AtomicLong();
+
+    private Snowflake(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다 : " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public static Snowflake forNode(long nodeId) {
+        return NODES.computeIfAbsent(nodeId, Snowflake::new);
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            // sequence 가 넘치면 + 1 이 timestamp 로 올라간다.
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if ((next >>> SEQUENCE_BITS) - now > MAX_BORROW_MILLIS) {
+                LockSupport.parkNanos(CLOCK_WAIT_NANOS);
+                continue;
+            }
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    // id 가 생성된 시각 (epoch ms)
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,15 @@
+package joo.community.config.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SnowflakeConfig {
+
+    // 네이티브 INSERT 처럼 Hibernate 를 거치지 않고 id 를 직접 넣어야 하는 곳에서 사용 (엔티티 generator 와 같은 인스턴스)
+    @Bean
+    public Snowflake snowflake(@Value("${spring.jpa.properties." + SnowflakeIdentifierGenerator.NODE_ID_PROPERTY + ":0}") long nodeId) {
+        return Snowflake.forNode(nodeId);
+    }
+}
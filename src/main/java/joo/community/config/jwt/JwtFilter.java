@@ -29,17 +29,15 @@ public class JwtFilter extends OncePerRequestFilter {
         // 1. Request Header 에서 토큰을 꺼냄
         String jwt = resolveToken(request);
 
-        log.info("------------------------------------------token received: " + jwt);
-
-        // 2. validateToken 으로 토큰 유효성 검사
-        // if = true 토큰이면, 해당 토큰으로 Authentication 을 가져와서 SecurityContext 에 저장.
+        // 2. authenticate 로 토큰 유효성 검사 (서명/만료 검증과 Authentication 생성을 한 번에, 검증된 토큰은 캐시)
+        // 유효한 토큰이면, 해당 토큰의 Authentication 을 SecurityContext 에 저장.
         // 토큰 유효성 검사와 관계없이 항상 실행되어야 하는 로직
-        if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-            Authentication authentication = tokenProvider.getAuthentication(jwt);
-            log.info("------------------------------------------authenticated User : " + authentication.getName());
+        Authentication authentication = StringUtils.hasText(jwt) ? tokenProvider.authenticate(jwt) : null;
+        if (authentication != null) {
+            log.debug("authenticated User : {}", authentication.getName());
             SecurityContextHolder.getContext().setAuthentication(authentication);
         } else {
-            log.warn("------------------------------------------token is invalid or missing");
+            log.debug("token is invalid or missing");
         }
 
         // if문 안에 있어서, postman response Body 에 응답이 없던 것
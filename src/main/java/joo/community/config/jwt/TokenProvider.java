@@ -1,5 +1,6 @@
 package joo.community.config.jwt;
 
+import joo.community.config.guard.UserPrincipal;
 import joo.community.dto.sign.TokenDto;
 import io.jsonwebtoken.*;
 import java.util.Base64;
@@ -11,15 +12,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,12 +29,17 @@ import java.util.stream.Collectors;
 public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
+    private static final String USER_ID_KEY = "uid";
+    private static final String NICKNAME_KEY = "nickname";
     private static final String BEARER_TYPE = "bearer";
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24; // 1시간 * 24 = 24시간(-Dev)
     private static final long REFRESH_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24 * 7;  // 7일
+    public static final Duration REFRESH_TOKEN_TTL = Duration.ofMillis(REFRESH_TOKEN_EXPIRE_TIME); // RefreshTokenStore 보관 기간
     private final SecretKey key;
+    private final JwtParser parser; // 불변, 스레드 안전 : 한 번 만들어 공유
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public TokenProvider(@Value("${jwt.secret}") String secretKey) {
+    public TokenProvider(@Value("${jwt.secret}") String secretKey, VerifiedTokenCache verifiedTokenCache) {
 
         if (secretKey == null || secretKey.trim().isEmpty()) {
             throw new IllegalArgumentException("--------------------------------jwt.secret 환경변수가 설정되지 않았습니다!");
@@ -47,6 +53,10 @@ public class TokenProvider {
         }
 
         this.key = Keys.hmacShaKeyFor(keyBytes); // key 초기화
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     public TokenDto generateTokenDto(Authentication authentication) {
@@ -59,9 +69,18 @@ public class TokenProvider {
         long now = System.currentTimeMillis();
 
         // Access Token 생성 (1시간)
-        String accessToken = Jwts.builder()
+        // id, nickname 을 함께 담아 요청마다 user 테이블을 조회하지 않도록 한다. (UserPrincipal)
+        JwtBuilder accessTokenBuilder = Jwts.builder()
                 .setSubject(authentication.getName())
-                .claim(AUTHORITIES_KEY, authorities)
+                .claim(AUTHORITIES_KEY, authorities);
+        if (authentication.getPrincipal() instanceof UserPrincipal) {
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            if (principal.getId() != null) {
+                accessTokenBuilder.claim(USER_ID_KEY, principal.getId())
+                        .claim(NICKNAME_KEY, principal.getNickname());
+            }
+        }
+        String accessToken = accessTokenBuilder
                 .setExpiration(new Date(now + ACCESS_TOKEN_EXPIRE_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
@@ -84,6 +103,24 @@ public class TokenProvider {
                 .build();
     }
 
+    // JwtFilter 용 : 서명/만료 검증과 Authentication 생성을 한 번의 파싱으로 처리한다. (유효하지 않으면 null)
+    // 검증된 토큰은 만료 시각까지 VerifiedTokenCache 에 담아 두고, 같은 토큰의 다음 요청은 파싱하지 않는다.
+    public Authentication authenticate(String accessToken) {
+        Authentication cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = verify(accessToken);
+        if (claims == null || claims.get(AUTHORITIES_KEY) == null || claims.getExpiration() == null) {
+            return null; // refresh token 등 권한 정보가 없는 토큰
+        }
+
+        Authentication authentication = toAuthentication(claims);
+        verifiedTokenCache.put(accessToken, authentication, claims.getExpiration().getTime());
+        return authentication;
+    }
+
     public Authentication getAuthentication(String accessToken) {
         // 토큰 복호화
         Claims claims = parseClaims(accessToken);
@@ -92,55 +129,60 @@ public class TokenProvider {
             throw new RuntimeException("권한 정보가 없는 토큰입니다.");
         }
 
+        return toAuthentication(claims);
+    }
+
+    private Authentication toAuthentication(Claims claims) {
         // 클레임에서 권한 정보 가져오기
         Collection<? extends GrantedAuthority> authorities =
                 Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
 
-        // UserDetails 객체를 만들어서 Authentication 리턴
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
+        // UserPrincipal 객체를 만들어서 Authentication 리턴 (id, nickname claim 이 없는 이전 토큰이면 null)
+        Number id = claims.get(USER_ID_KEY, Number.class);
+        UserPrincipal principal = new UserPrincipal(id == null ? null : id.longValue(), claims.getSubject(),
+                claims.get(NICKNAME_KEY, String.class), authorities);
         return new UsernamePasswordAuthenticationToken(principal, "", authorities);
     }
 
     public boolean validateToken(String token) {
+        // "Bearer " 접두어 제거
+        if (token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+        return verify(token) != null;
+    }
 
-        try {
-            // "Bearer " 접두어 제거
-            if (token.startsWith("Bearer ")) {
-                token = token.substring(7);
-            }
-
-            Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // 남은 유효 시간 (유효하지 않거나 만료된 토큰이면 empty)
+    public Optional<Duration> remainingValidity(String token) {
+        Claims claims = verify(token);
+        if (claims == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+        long remaining = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return remaining > 0 ? Optional.of(Duration.ofMillis(remaining)) : Optional.empty();
+    }
 
-            if (claims.getExpiration().before(new Date())) {
-                log.warn("토큰이 만료되었습니다. 만료 시간 : " + claims.getExpiration());
-                return false;
-            }
-            return true;
+    // 서명과 만료 시각을 검증한 claims (유효하지 않으면 null)
+    private Claims verify(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
-            log.error("잘못된 JWT 서명입니다. 서명 검증에 실패했습니다.", e);
+            log.warn("잘못된 JWT 서명입니다. 서명 검증에 실패했습니다. {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            log.error("만료된 JWT 토큰입니다. 만료 시간: {}", e.getClaims().getExpiration(), e);
+            log.debug("만료된 JWT 토큰입니다. 만료 시간: {}", e.getClaims().getExpiration());
         } catch (UnsupportedJwtException e) {
-            log.error("지원되지 않는 JWT 토큰입니다.", e);
+            log.warn("지원되지 않는 JWT 토큰입니다. {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            log.error("JWT 토큰이 잘못되었습니다. 토큰: {}", token, e);
+            log.warn("JWT 토큰이 잘못되었습니다. {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(accessToken)
-                    .getBody();
+            return parser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -0,0 +1,92 @@
+package joo.community.config.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import joo.community.config.cache.LruCache;
+import joo.community.service.user.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+@Component
+public class VerifiedTokenCache {
+
+    /*
+        서명 검증을 마친 access token 캐시 : SHA-256(token) -> (Authentication, 만료 시각)
+        같은 토큰으로 들어오는 요청마다 Base64 디코딩, JSON 파싱, HMAC 계산을 반복하지 않는다.
+        - 키는 토큰 자체가 아닌 digest (메모리 절약, 힙에 bearer 토큰 원문을 쌓아 두지 않음)
+        - 토큰의 exp 가 지난 항목은 조회 시 제거하고 없는 것으로 본다.
+        - 크기 제한 LRU (LruCache, 조회/저장에 lock 없음), hit / miss 를 Micrometer 로 노출 (cache=verifiedTokens)
+        - 회원 수정/탈퇴가 커밋되면 (UserChangedEvent) 그 회원의 항목을 모두 제거한다.
+          (redis.enabled = true 이면 다른 인스턴스도 제거 : RedisUserInvalidationBroadcaster)
+     */
+
+    private final LruCache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.maximum-size:10000}") int maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = new LruCache<>(maximumSize);
+        this.cache.bindTo(meterRegistry, "verifiedTokens");
+    }
+
+    // 검증된 적 있고 아직 만료되지 않은 토큰의 Authentication (없으면 null)
+    public Authentication get(String token) {
+        String key = digest(token);
+        VerifiedToken verified = cache.get(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.expiresAt <= System.currentTimeMillis()) {
+            cache.evict(key);
+            return null;
+        }
+        return verified.authentication;
+    }
+
+    public void put(String token, Authentication authentication, long expiresAt) {
+        cache.put(digest(token), new VerifiedToken(authentication, expiresAt));
+    }
+
+    // 트랜잭션 밖에서 발행되면 (로그인 시 비밀번호 재해시) 바로 처리
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictUser(event.getUsername());
+    }
+
+    // 이 인스턴스에 캐시된 회원의 토큰을 모두 제거 (다른 인스턴스에서 전파된 경우에도 사용)
+    public void evictUser(String username) {
+        if (username != null && !username.isEmpty()) {
+            cache.evictIf(verified -> username.equals(verified.authentication.getName()));
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM 이 지원
+        }
+    }
+
+    private static final class VerifiedToken {
+
+        private final Authentication authentication;
+        private final long expiresAt; // epoch millis
+
+        private VerifiedToken(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,4 +1,74 @@
 package joo.community.config.redis;
 
+import joo.community.config.jwt.VerifiedTokenCache;
+import joo.community.service.auth.MemoryRefreshTokenStore;
+import joo.community.service.auth.RedisRefreshTokenStore;
+import joo.community.service.auth.RefreshTokenStore;
+import joo.community.service.board.BoardDetailCache;
+import joo.community.service.ranking.BoardRanking;
+import joo.community.service.ranking.MemoryBoardRanking;
+import joo.community.service.ranking.RedisBoardRanking;
+import joo.community.service.user.RedisUserInvalidationBroadcaster;
+import joo.community.service.user.UserLookupCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static joo.community.config.constant.Constant.REDIS_USER_INVALIDATION_CHANNEL;
+
+@Configuration
 public class RedisConfig {
+
+    /*
+        redis.enabled = true 일 때만 Redis 를 사용하고,
+        그 외(로컬 개발 등)에는 같은 인터페이스의 메모리 구현으로 대체한다.
+     */
+
+    @Bean
+    @ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+    public BoardRanking redisBoardRanking(StringRedisTemplate redisTemplate) {
+        return new RedisBoardRanking(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "redis.enabled", havingValue = "false", matchIfMissing = true)
+    public BoardRanking memoryBoardRanking() {
+        return new MemoryBoardRanking();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+    public RefreshTokenStore redisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        return new RedisRefreshTokenStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "redis.enabled", havingValue = "false", matchIfMissing = true)
+    public RefreshTokenStore memoryRefreshTokenStore() {
+        return new MemoryRefreshTokenStore();
+    }
+
+    // 회원 조회 / 검증된 토큰 캐시 무효화를 다른 인스턴스에 전파 (메모리 모드는 인스턴스 하나이므로 필요 없음)
+    @Bean
+    @ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+    public RedisUserInvalidationBroadcaster redisUserInvalidationBroadcaster(StringRedisTemplate redisTemplate,
+                                                                             UserLookupCache userLookupCache,
+                                                                             VerifiedTokenCache verifiedTokenCache,
+                                                                             BoardDetailCache boardDetailCache) {
+        return new RedisUserInvalidationBroadcaster(redisTemplate, userLookupCache, verifiedTokenCache, boardDetailCache);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       RedisUserInvalidationBroadcaster broadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broadcaster, new ChannelTopic(REDIS_USER_INVALIDATION_CHANNEL));
+        return container;
+    }
 }
@@ -6,6 +6,7 @@ import joo.community.config.jwt.JwtSecurityConfig;
 import joo.community.config.jwt.TokenProvider;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -44,9 +45,14 @@ public class SecurityConfig {
     private static final String API_BOARDS_BEST = "/api/boards/best";
     private static final String API_BOARDS_ID_FAVORITE = "/api/boards/{id}/favorite";
 
+    private static final String ACTUATOR_HEALTH = "/actuator/health";
+    private static final String ACTUATOR_ALL = "/actuator/**";
+
+    // BCryptPasswordEncoder를 사용하여 비밀번호를 인코딩
+    // 비용 (strength) 을 올리면 이전 비용의 해시는 로그인 성공 시 새 비용으로 다시 저장된다. (AuthService.signIn)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // BCryptPasswordEncoder를 사용하여 비밀번호를 인코딩
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -119,6 +125,11 @@ public class SecurityConfig {
                 .antMatchers(HttpMethod.PUT, API_BOARDS_ID).access(ROLE_USER_OR_ADMIN)
                 .antMatchers(HttpMethod.DELETE, API_BOARDS_ID).access(ROLE_USER_OR_ADMIN)
 
+                // ACTUATOR
+                // health 는 로드밸런서 확인용으로 상태(UP/DOWN)만 공개, metrics 등 나머지는 관리자만
+                .antMatchers(HttpMethod.GET, ACTUATOR_HEALTH).permitAll()
+                .antMatchers(ACTUATOR_ALL).hasRole("ADMIN")
+
                 // .anyRequest().hasAnyRole("ROLE_ADMIN")
                 .anyRequest().permitAll()
 
@@ -1,20 +1,16 @@
 package joo.community.config.security;
 
 import joo.community.config.guard.LoginMemberArgumentResolver;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
-import org.springframework.http.CacheControl;
 import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.time.Duration;
 import java.util.List;
 
 @EnableWebMvc
@@ -25,21 +21,11 @@ public class WebConfig implements WebMvcConfigurer {
     private final LoginMemberArgumentResolver loginMemberArgumentResolver;
     private final MessageSource messageSource;
 
-    @Value("${upload.image.location}")
-    private String location;
-
     public WebConfig(final LoginMemberArgumentResolver loginMemberArgumentResolver, final MessageSource messageSource) {
         this.loginMemberArgumentResolver = loginMemberArgumentResolver;
         this.messageSource = messageSource;
     }
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/image/**")
-                .addResourceLocations("file:" + location)
-                .setCacheControl(CacheControl.maxAge(Duration.ofHours(1L)).cachePublic());
-    }
-
     @Override
     public Validator getValidator() {
         LocalValidatorFactoryBean bean = new LocalValidatorFactoryBean();
@@ -5,6 +5,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import joo.community.config.guard.JwtAuth;
 import joo.community.dto.board.BoardCreateRequest;
+import joo.community.dto.board.BoardSliceResponse;
 import joo.community.dto.board.BoardUpdateRequest;
 import joo.community.dto.user.UserDto;
 import joo.community.response.Response;
@@ -40,11 +41,30 @@ public class BoardController {
     }
 
     // DESC 사용 이유 : 최신순으로 보기 위해서
+    // after 파라미터가 있으면 커서 모드 (?after=&size=N 으로 첫 페이지, 이후 응답의 nextCursor 를 after 로 전달)
+    // after 가 없으면 기존 page/size offset 방식
     @ApiOperation(value = "게시글 목록 조회", notes = "게시글 목록을 조회합니다.")
     @GetMapping("/boards")
     @ResponseStatus(HttpStatus.OK)
-    public Response findAllBoards(@PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-        return Response.success(boardService.findAllBoards(pageable));
+    public Response findAllBoards(@ApiParam(value = "다음 페이지 커서") @RequestParam(required = false) String after,
+                                  @ApiParam(value = "근사 전체 게시글 수 포함 여부") @RequestParam(defaultValue = "false") boolean withTotal,
+                                  @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (after != null) {
+            return Response.success(boardService.findAllBoardsByCursor(after, pageable.getPageSize()));
+        }
+        return toResponse(boardService.findAllBoards(pageable, withTotal));
+    }
+
+    @ApiOperation(value = "추천 게시글 조회", notes = "좋아요 수가 기준 이상인 게시글을 조회합니다.")
+    @GetMapping("/boards/best")
+    @ResponseStatus(HttpStatus.OK)
+    public Response findBestBoards(@ApiParam(value = "최소 좋아요 수") @RequestParam(required = false) Long minimum,
+                                   @ApiParam(value = "다음 페이지 커서") @RequestParam(required = false) String after,
+                                   @PageableDefault(size = 10, sort = "liked", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (after != null) {
+            return Response.success(boardService.findBestBoardsByCursor(minimum, after, pageable.getPageSize()));
+        }
+        return toResponse(boardService.findBestBoards(pageable, minimum));
     }
 
     @ApiOperation(value = "게시글 단건 조회", notes = "게시글을 단건 조회합니다.")
@@ -76,8 +96,13 @@ public class BoardController {
     @ApiOperation(value = "게시글 검색", notes = "게시글을 검색합니다.")
     @GetMapping("/boards/search")
     @ResponseStatus(HttpStatus.OK)
-    public Response search(String keyword, @PageableDefault(size = 5, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-        return Response.success(boardService.searchBoard(keyword, pageable));
+    public Response search(String keyword,
+                           @ApiParam(value = "다음 페이지 커서") @RequestParam(required = false) String after,
+                           @PageableDefault(size = 5, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (after != null) {
+            return Response.success(boardService.searchBoardByCursor(keyword, after, pageable.getPageSize()));
+        }
+        return toResponse(boardService.searchBoard(keyword, pageable));
     }
 
     @ApiOperation(value = "좋아요, 즐겨찾기", notes = "좋아요, 즐겨찾기 추가/제거")
@@ -85,4 +110,9 @@ public class BoardController {
     public Response processBoardAction(@PathVariable Long id, @PathVariable String action, @JwtAuth UserDto userDto) {
         return Response.success(boardService.likeAndFavoriteState(id, userDto, action));
     }
+
+    // offset 방식 응답 : data 는 기존과 같은 게시글 배열, hasNext / approximateTotal 은 result 에 추가
+    private Response toResponse(BoardSliceResponse slice) {
+        return Response.success(slice.getBoards(), slice.isHasNext(), slice.getApproximateTotal());
+    }
 }
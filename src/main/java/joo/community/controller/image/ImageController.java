@@ -0,0 +1,239 @@
+package joo.community.controller.image;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import joo.community.exception.ImageNotFoundException;
+import joo.community.service.file.ImageCache;
+import joo.community.service.file.ImageFile;
+import joo.community.service.file.ImageVariantService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Api(value = "Image Controller", tags = "Image")
+@RequiredArgsConstructor
+@RestController
+public class ImageController {
+
+    /*
+        게시글 이미지 응답 (/image/{name})
+        - 이름이 내용(SHA-256) 또는 UUID 로 정해져 바뀌지 않으므로 1년 + immutable 로 캐시
+        - 강한 ETag (내용 주소 이름이면 그 해시) 와 If-None-Match / If-Modified-Since -> 304
+        - 단일 구간 Range (bytes=a-b, a-, -n) -> 206, 범위를 벗어나면 416
+        - 본문은 Tomcat sendfile 로 커널에서 바로 소켓으로 보내고, 지원하지 않으면 FileChannel.transferTo 로 보낸다.
+        - 자주 요청되는 이미지는 ImageCache (힙 밖 메모리) 에서 파일 시스템을 거치지 않고 응답한다.
+     */
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String SUBSTITUTE = "public, max-age=60"; // 축소본 대신 원본 : 곧 축소본으로 바뀌어야 한다.
+
+    private static final Pattern NAME = Pattern.compile("^[A-Za-z0-9_-]+\\.[A-Za-z]+$");
+    private static final Pattern DIGEST = Pattern.compile("^([0-9a-f]{64}(_w\\d+)?)\\..+$");
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.servlets.DefaultServlet 과 같은 방식)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024; // 작은 파일은 일반 쓰기가 더 빠르다.
+
+    private final ImageVariantService imageVariantService;
+    private final ImageCache imageCache;
+
+    @ApiOperation(value = "이미지 조회", notes = "게시글 이미지 (원본 또는 축소본) 파일을 응답한다.")
+    @GetMapping("/image/{name:.+}")
+    public void image(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!NAME.matcher(name).matches()) {
+            throw new ImageNotFoundException(); // 경로 이동 (../) 방지
+        }
+        ImageCache.Entry cached = imageCache.acquire(name);
+        try {
+            ImageFile file = cached != null ? cached.getFile() : imageVariantService.open(name);
+            respond(file, cached, request, response);
+        } finally {
+            if (cached != null) {
+                cached.release();
+            }
+        }
+    }
+
+    private void respond(ImageFile file, ImageCache.Entry cached, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        String etag = etagOf(file);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.getLastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.isSubstitute() ? SUBSTITUTE : IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, etag, file.getLastModified())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length; // exclusive
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, file.getLastModified())) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(file.getName()).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (cached != null) {
+            cached.writeTo(Channels.newChannel(response.getOutputStream()), start, end);
+            return;
+        }
+        send(file, start, end, request, response);
+        imageCache.admit(file);
+    }
+
+    private static void send(ImageFile file, long start, long end, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        long count = end - start;
+        if (count >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문을 쓰지 않고 파일 위치만 넘기면, 요청 처리 후 Tomcat 이 sendfile(2) 로 보낸다.
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, file.getOffset() + start);
+            request.setAttribute(SENDFILE_END, file.getOffset() + end);
+            return;
+        }
+
+        try (FileChannel channel = file.openChannel()) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = file.getOffset() + start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break; // 파일이 중간에 잘린 경우
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    // 내용 주소 이름이면 해시 자체가 ETag, 아니면 (UUID 이름, 바뀌지 않음) 수정 시각 + 크기
+    static String etagOf(ImageFile file) {
+        Matcher matcher = DIGEST.matcher(file.getName());
+        if (matcher.matches()) {
+            return "\"" + matcher.group(1) + "\"";
+        }
+        return "\"" + Long.toHexString(file.getLastModified()) + "-" + Long.toHexString(file.getLength()) + "\"";
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000; // HTTP 날짜는 초 단위
+    }
+
+    // If-Range 가 현재 파일과 정확히 같을 때만 Range 를 적용한다. (strong ETag 일치, 또는 Last-Modified 와 같은 날짜)
+    // weak ETag, 다른 ETag/날짜, 읽을 수 없는 값이면 Range 를 무시하고 전체를 응답한다.
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        if (ifRange.startsWith("W/")) {
+            return false;
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date != -1 && date / 1000 == lastModified / 1000; // HTTP 날짜는 초 단위
+    }
+
+    // If-None-Match 비교 (weak : W/ 접두사 무시)
+    private static boolean matches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // {start, end(exclusive)} / 범위를 지원하지 않는 형식이면 빈 배열 (전체 응답) / 만족할 수 없으면 null (416)
+    static long[] parseRange(String header, long length) {
+        Matcher matcher = RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            return new long[0]; // 여러 구간 등은 전체 응답으로 대신한다.
+        }
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return new long[0];
+                }
+                long suffix = Long.parseLong(last); // 마지막 n 바이트
+                if (suffix == 0 || length == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length};
+            }
+            long start = Long.parseLong(first);
+            if (start >= length) {
+                return null;
+            }
+            long end = last.isEmpty() ? length : Math.min(length, Long.parseLong(last) + 1);
+            if (end <= start) {
+                return new long[0]; // 잘못된 구간 (last < first) 은 무시
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0]; // 범위를 넘는 숫자
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package joo.community.dto.board;
+
+import joo.community.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class BoardCursor {
+
+    /*
+        커서(keyset) 페이지네이션의 cursor 값.
+        클라이언트에는 마지막 게시글 id 를 Base64(URL-safe) 로 감싼 문자열만 노출하고,
+        서버는 이를 다시 id 로 풀어 "id < cursor" 조건으로 PK 인덱스를 탐색한다.
+        (offset 과 달리 앞 페이지의 row 를 읽고 버리지 않기 때문에 몇 번째 페이지든 비용이 같다.)
+     */
+
+    // 첫 페이지 : 모든 id 보다 큰 값
+    public static final long FIRST = Long.MAX_VALUE;
+
+    private static final String PREFIX = "b:";
+
+    private BoardCursor() {}
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // after 가 비어 있으면 첫 페이지, 해석할 수 없으면 InvalidCursorException (400)
+    public static long decode(String after) {
+        if (after == null || after.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidCursorException(after);
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) { // Base64 디코딩 실패, NumberFormatException 포함
+            throw new InvalidCursorException(after);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package joo.community.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardCursorResponse {
+
+    private List<BoardSimpleDto> boards;
+    private String nextCursor; // 다음 요청의 after 값 (마지막 페이지면 null)
+    private boolean hasNext;
+
+    // rows 는 size + 1 개까지 조회한 결과, 초과분이 있으면 다음 페이지가 존재한다.
+    public static BoardCursorResponse of(List<BoardSimpleDto> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<BoardSimpleDto> boards = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? BoardCursor.encode(boards.get(boards.size() - 1).getId()) : null;
+        return new BoardCursorResponse(boards, nextCursor, hasNext);
+    }
+}
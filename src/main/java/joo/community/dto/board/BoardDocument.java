@@ -0,0 +1,14 @@
+package joo.community.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 검색 색인 재구성 시 DB 에서 읽어오는 최소 단위 (id, 제목, 본문)
+@Getter
+@AllArgsConstructor
+public class BoardDocument {
+
+    private Long id;
+    private String title;
+    private String content;
+}
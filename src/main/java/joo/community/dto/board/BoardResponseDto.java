@@ -41,4 +41,9 @@ public class BoardResponseDto {
             board.getCreateDate()
         );
     }
+
+    // 좋아요/즐겨찾기 수만 바꾼 사본 (캐시에 저장된 객체는 변경하지 않는다)
+    public BoardResponseDto withCounts(int likeCount, int favoriteCount) {
+        return new BoardResponseDto(id, writer_nickname, title, content, likeCount, favoriteCount, images, createDate);
+    }
 }
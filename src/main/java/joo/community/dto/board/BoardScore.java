@@ -0,0 +1,13 @@
+package joo.community.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 추천 게시글 순위 적재 시 DB 에서 읽어오는 최소 단위 (id, 좋아요 수 = LikeBoard row 수)
+@Getter
+@AllArgsConstructor
+public class BoardScore {
+
+    private Long id;
+    private long liked;
+}
@@ -0,0 +1,27 @@
+package joo.community.dto.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+// 서비스 -> 컨트롤러 전달용. 응답에서는 boards 를 그대로 data 로 내려 기존 클라이언트(배열)를 유지한다.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardSliceResponse {
+
+    private List<BoardSimpleDto> boards;
+    private boolean hasNext;
+    private Long approximateTotal; // 주기적으로 갱신되는 전체 게시글 수 (정확한 값 아님)
+
+    public static BoardSliceResponse toDto(Slice<BoardSimpleDto> slice) {
+        return toDto(slice, null);
+    }
+
+    public static BoardSliceResponse toDto(Slice<BoardSimpleDto> slice, Long approximateTotal) {
+        return new BoardSliceResponse(slice.getContent(), slice.hasNext(), approximateTotal);
+    }
+}
@@ -1,9 +1,13 @@
 package joo.community.dto.image;
 
 import joo.community.entity.board.Image;
+import joo.community.entity.board.ImageStatus;
+import joo.community.entity.board.ImageVariant;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 @AllArgsConstructor
 public class ImageDto {
@@ -11,9 +15,12 @@ public class ImageDto {
     private Long id;
     private String originName;
     private String uniqueName;
+    private ImageStatus status; // PENDING 이면 아직 파일 저장 중
+    private Map<Integer, String> variants; // 너비 -> 축소본 이름 (목록/본문에서는 원본 대신 사용)
 
     public static ImageDto toDto(Image image) {
-        return new ImageDto(image.getId(), image.getOriginName(), image.getUniqueName());
+        return new ImageDto(image.getId(), image.getOriginName(), image.getUniqueName(), image.getStatus(),
+                ImageVariant.namesOf(image.getUniqueName()));
     }
 }
 
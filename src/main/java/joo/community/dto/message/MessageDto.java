@@ -17,12 +17,17 @@ public class MessageDto {
     private String receiverName;
 
     public static MessageDto toDto(Message message) {
+        return toDto(message, message.getSender().getNickname(), message.getReceiver().getNickname());
+    }
+
+    // 닉네임을 이미 알고 있을 때 (발신자/수신자 프록시를 초기화하지 않는다.)
+    public static MessageDto toDto(Message message, String senderName, String receiverName) {
         return new MessageDto(
                 message.getId(),
                 message.getTitle(),
                 message.getContent(),
-                message.getSender().getNickname(),
-                message.getReceiver().getNickname()
+                senderName,
+                receiverName
         );
     }
 }
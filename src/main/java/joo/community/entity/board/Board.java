@@ -1,8 +1,10 @@
 package joo.community.entity.board;
 
+import joo.community.config.id.SnowflakeIdentifierGenerator;
 import joo.community.dto.board.BoardUpdateRequest;
 import joo.community.entity.user.User;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -31,15 +33,17 @@ public class Board {
      */
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = SnowflakeIdentifierGenerator.GENERATOR)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
-    @Lob // 대용량 데이터가 들어갈 수 있도록
-    private String content;
+    // 본문은 별도 테이블 (목록/좋아요 처리 시 @Lob 본문을 읽지 않도록 LAZY, 단건 조회/수정 시에만 읽는다.)
+    @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "content_id", nullable = false, unique = true)
+    private BoardContent boardContent;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -52,10 +56,11 @@ public class Board {
     @DateTimeFormat(pattern = "yyyy-mm-dd-ss")
     private LocalDateTime createDate; // 날짜
 
-    @Column(nullable = true)
+    // 좋아요/즐겨찾기 수는 BoardCounterFlusher 의 증감 UPDATE 로만 변경 (dirty checking 으로 덮어쓰지 않도록)
+    @Column(nullable = true, updatable = false)
     private int liked; // 추천 수
 
-    @Column(nullable = true)
+    @Column(nullable = true, updatable = false)
     private int favorited; // 즐겨찾기 수
 
     @PrePersist // DB에 INSERT 되기 직전에 실행. 즉 DB에 값을 넣으면 자동으로 실행됨
@@ -69,7 +74,7 @@ public class Board {
                  User user,
                  List<Image> images) {
         this.title = title;
-        this.content = content;
+        this.boardContent = new BoardContent(content);
         this.user = user;
         this.liked = 0;
         this.favorited = 0;
@@ -77,6 +82,11 @@ public class Board {
         addImages(images); // 코드 중복 방지 & 캡슐화
     }
 
+    // 본문 (호출 시 BoardContent 조회)
+    public String getContent() {
+        return boardContent.getContent();
+    }
+
     // 이미지 추가
     private void addImages(List<Image> added) { // 업로드된 이미지 파일 이름을 기반으로 Image.from() 호출
         added.stream().forEach(i -> {
@@ -88,7 +98,7 @@ public class Board {
     // 수정 (title, content, add/delete image)
     public ImageUpdatedResult update(BoardUpdateRequest req) {
         this.title = req.getTitle();
-        this.content = req.getContent();
+        this.boardContent.update(req.getContent());
         ImageUpdatedResult result = findImageUpdatedResult(req.getAddedImages(), req.getDeletedImages());
         addImages(result.getAddedImages());
         deleteImages(result.getDeletedImages());
@@ -102,7 +112,7 @@ public class Board {
 
     // BoardUpdateRequest 받은 image 정보로, add/delete List<image> create
     // 각 변호나 메서드는 입력 데이터를 image 객체 리스트로 처리
-    private ImageUpdatedResult findImageUpdatedResult(List<MultipartFile> addedImageFiles, List<Integer> deletedImageIds) {
+    private ImageUpdatedResult findImageUpdatedResult(List<MultipartFile> addedImageFiles, List<Long> deletedImageIds) {
         List<Image> addedImages = convertImageFilesToImages(addedImageFiles);
         List<Image> deletedImages = convertImageIdsToImages(deletedImageIds);
         return new ImageUpdatedResult(addedImageFiles, addedImages, deletedImages);
@@ -116,7 +126,7 @@ public class Board {
     }
 
     // imageIds 를 이용해 기존 Images -> Image 객체 변환
-    private List<Image> convertImageIdsToImages(List<Integer> imageIds) {
+    private List<Image> convertImageIdsToImages(List<Long> imageIds) {
         return imageIds.stream()
                 .map(this::convertImageIdToImage) // 람다식을 메서드 참조로 변경
                 .filter(Optional::isPresent) // get() 호출 전, isPresent() 체크, NullPointerException 방지.
@@ -125,9 +135,9 @@ public class Board {
     }
 
     // 특정 ID 를 가진 Image 객체를 찾는다.
-    private Optional<Image> convertImageIdToImage(int id) {
+    private Optional<Image> convertImageIdToImage(Long id) {
         return this.images.stream()
-                .filter(i -> i.getId() == (id)).findAny(); // 첫 번째 일치하는 객체를 반환(Optional<Image>)
+                .filter(i -> i.getId().equals(id)).findAny(); // 첫 번째 일치하는 객체를 반환(Optional<Image>)
     }
 
     // 좋아요 증가
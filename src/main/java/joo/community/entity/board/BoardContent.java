@@ -0,0 +1,38 @@
+package joo.community.entity.board;
+
+import joo.community.config.id.SnowflakeIdentifierGenerator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+public class BoardContent {
+
+    /*
+        게시글 본문 (Board 와 1:1)
+        대용량 @Lob 컬럼을 Board 테이블에서 분리하여, 목록 조회나 좋아요 처리처럼 Board row 만 필요한 경우
+        본문을 함께 읽지 않도록 한다. Board 에서 LAZY 로 참조하고, 단건 조회/수정 시에만 읽는다.
+     */
+
+    @Id
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = SnowflakeIdentifierGenerator.GENERATOR)
+    private Long id;
+
+    @Column(nullable = false)
+    @Lob // 대용량 데이터가 들어갈 수 있도록
+    private String content;
+
+    public BoardContent(String content) {
+        this.content = content;
+    }
+
+    public void update(String content) {
+        this.content = content;
+    }
+}
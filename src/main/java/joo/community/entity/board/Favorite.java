@@ -1,8 +1,10 @@
 package joo.community.entity.board;
 
 
+import joo.community.config.id.SnowflakeIdentifierGenerator;
 import joo.community.entity.user.User;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -16,10 +18,13 @@ import java.time.LocalDateTime;
 @Data
 @Builder
 @Entity
+// 한 사용자는 한 게시글에 한 번만 (즐겨찾기 토글의 INSERT IGNORE 가 이 제약에 의존)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_favorite_board_user", columnNames = {"board_id", "user_id"}))
 public class Favorite {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = SnowflakeIdentifierGenerator.GENERATOR)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
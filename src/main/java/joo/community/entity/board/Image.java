@@ -1,7 +1,9 @@
 package joo.community.entity.board;
 
+import joo.community.config.id.SnowflakeIdentifierGenerator;
 import joo.community.entity.common.EntityDate;
 import joo.community.exception.UnsupportedImageFormatException;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -18,10 +20,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_image_unique_name", columnList = "uniqueName"))
 public class Image extends EntityDate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = SnowflakeIdentifierGenerator.GENERATOR)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +34,10 @@ public class Image extends EntityDate {
     @Column(nullable = false)
     private String originName;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImageStatus status;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "board_id", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE) // 게시판 삭제 시, 관련 이미지 함께 삭제
@@ -41,12 +49,18 @@ public class Image extends EntityDate {
     public Image(final String originName) {
         this.originName = originName; // 원본 파일명 필드에 저장.
         this.uniqueName = generateUniqueName(extractExtension(originName)); // 고유 이름 생성.
+        this.status = ImageStatus.PENDING; // 커밋 후 파일이 저장되면 READY
     }
 
     public static Image from(final String originName) {
         return new Image(originName);
     }
 
+    // 내용의 SHA-256 으로 이름을 바꾼다. (같은 내용이면 같은 파일을 공유, 확장자는 유지)
+    public void addressBy(final String digest) {
+        this.uniqueName = digest + uniqueName.substring(uniqueName.lastIndexOf("."));
+    }
+
     public void initBoard(final Board board) {
         if (this.board == null) {
             this.board = board;
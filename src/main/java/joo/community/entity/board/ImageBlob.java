@@ -0,0 +1,28 @@
+package joo.community.entity.board;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+public class ImageBlob {
+
+    /*
+        저장소에 한 번만 저장된 이미지 파일 (이름 = 내용의 SHA-256 + 확장자) 과 이를 참조하는 Image 수
+        같은 이미지를 여러 게시글에 올려도 파일은 하나이고, 참조 수가 0 이 될 때만 파일을 지운다.
+        (증감은 ImageBlobRepository 의 UPDATE 문으로만 한다.)
+     */
+
+    @Id
+    @Column(length = 80)
+    private String name;
+
+    @Column(nullable = false)
+    private int refCount;
+}
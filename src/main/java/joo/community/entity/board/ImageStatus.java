@@ -0,0 +1,8 @@
+package joo.community.entity.board;
+
+// 이미지 파일 저장 상태 (게시글 커밋 후 업로드 파이프라인에서 비동기로 저장)
+public enum ImageStatus {
+    PENDING, // 저장 대기 (임시 영역에 있음)
+    READY,   // 저장 완료
+    FAILED   // 저장 실패
+}
@@ -0,0 +1,83 @@
+package joo.community.entity.board;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class ImageVariant {
+
+    /*
+        게시글 이미지의 축소본 (고정 너비 200 / 640 / 1280)
+        원본 옆에 "원본이름_w너비.확장자" 로 저장한다. (abc.jpg -> abc_w640.jpg)
+        이름만으로 원본과 너비를 알 수 있으므로 DB 에 따로 저장하지 않는다.
+        gif 는 축소하면 애니메이션이 사라지므로 만들지 않는다.
+     */
+
+    public static final int[] WIDTHS = {200, 640, 1280};
+
+    private static final Pattern VARIANT = Pattern.compile("^(.+)_w(\\d+)\\.([A-Za-z]+)$");
+
+    private final String original;
+    private final int width;
+
+    private ImageVariant(String original, int width) {
+        this.original = original;
+        this.width = width;
+    }
+
+    // 축소본 이름이 아니면 null
+    public static ImageVariant parse(String name) {
+        Matcher matcher = VARIANT.matcher(name);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int width = Integer.parseInt(matcher.group(2));
+        for (int supported : WIDTHS) {
+            if (supported == width) {
+                return new ImageVariant(matcher.group(1) + "." + matcher.group(3), width);
+            }
+        }
+        return null;
+    }
+
+    public static String name(String original, int width) {
+        int dot = original.lastIndexOf(".");
+        return original.substring(0, dot) + "_w" + width + original.substring(dot);
+    }
+
+    // 너비 -> 축소본 이름 (축소본을 만들지 않는 형식이면 빈 Map)
+    public static Map<Integer, String> namesOf(String original) {
+        Map<Integer, String> names = new LinkedHashMap<>();
+        if (formatOf(original) != null) {
+            for (int width : WIDTHS) {
+                names.put(width, name(original, width));
+            }
+        }
+        return names;
+    }
+
+    // ImageIO 형식 이름 (축소본을 만들지 않으면 null)
+    public static String formatOf(String name) {
+        switch (name.substring(name.lastIndexOf(".") + 1).toLowerCase(Locale.ROOT)) {
+            case "jpg":
+            case "jpeg":
+                return "jpg";
+            case "png":
+                return "png";
+            case "bmp":
+                return "bmp";
+            default:
+                return null;
+        }
+    }
+
+    public String getOriginal() {
+        return original;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+}
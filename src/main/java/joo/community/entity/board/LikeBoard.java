@@ -1,7 +1,9 @@
 package joo.community.entity.board;
 
+import joo.community.config.id.SnowflakeIdentifierGenerator;
 import joo.community.entity.user.User;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -14,12 +16,15 @@ import java.time.LocalDateTime;
 @Data
 @Builder
 @Entity
+// 한 사용자는 한 게시글에 한 번만 (좋아요 토글의 INSERT IGNORE 가 이 제약에 의존)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_like_board_board_user", columnNames = {"board_id", "user_id"}))
 public class LikeBoard {
 
     // 사용자가 글에 좋아요를 누르면, 사용자 - 게시글 간 테이블이 생긴다.
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = SnowflakeIdentifierGenerator.GENERATOR)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,4 @@
+package joo.community.exception;
+
+public class ImageNotFoundException extends RuntimeException{
+}
@@ -0,0 +1,9 @@
+package joo.community.exception;
+
+// 클라이언트가 보낸 커서(after) 값을 해석할 수 없음 (BoardCursor)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super(cursor);
+    }
+}
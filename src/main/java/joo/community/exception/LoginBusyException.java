@@ -0,0 +1,5 @@
+package joo.community.exception;
+
+// 비밀번호 검증 작업이 밀려 지금은 로그인을 처리할 수 없음 (PasswordHasher)
+public class LoginBusyException extends RuntimeException {
+}
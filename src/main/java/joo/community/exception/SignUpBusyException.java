@@ -0,0 +1,5 @@
+package joo.community.exception;
+
+// 비밀번호 해시 작업이 밀려 지금은 회원가입을 처리할 수 없음 (PasswordHasher)
+public class SignUpBusyException extends RuntimeException {
+}
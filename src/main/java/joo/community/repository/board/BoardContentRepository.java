@@ -0,0 +1,18 @@
+package joo.community.repository.board;
+
+import joo.community.entity.board.BoardContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BoardContentRepository extends JpaRepository<BoardContent, Long> {
+
+    /*
+        회원 탈퇴 시 DB cascade 로 함께 삭제될 게시글의 본문 id
+        FOR UPDATE 로 읽어 (user_id 인덱스 next-key lock) 탈퇴가 커밋될 때까지 같은 회원의 게시글이 새로 추가되지 않도록 한다.
+     */
+    @Query(value = "SELECT content_id FROM Board WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    List<Long> findIdsByUserIdForUpdate(@Param("userId") Long userId);
+}
@@ -1,19 +1,86 @@
 package joo.community.repository.board;
 
+import joo.community.dto.board.BoardDocument;
+import joo.community.dto.board.BoardSimpleDto;
 import joo.community.entity.board.Board;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 // findBoard(Long id) 로 인한 JpaRepository<Board, Integer -> Long)>
 public interface BoardRepository extends JpaRepository<Board, Long> {
 
     // 검색
     List<Board> findByTitleContaining(String keyword, Pageable pageable);
-    // 전체 게시글
-    Page<Board> findAll(Pageable pageable);
-    //
-    Page<Board> findByLikedGreaterThanEqual(Pageable pageable, Long minimum);
+
+    // 단건 조회 : 작성자, 본문, 이미지를 한 번에 fetch join (LAZY 연관 추가 조회 없음)
+    @Query("select distinct b from Board b join fetch b.user join fetch b.boardContent left join fetch b.images where b.id = :id")
+    Optional<Board> findDetailById(@Param("id") Long id);
+
+    /*
+        목록 조회 전용 (DTO projection)
+        Board -> User 를 한 번의 join 으로 읽어 BoardSimpleDto 를 바로 생성한다.
+        게시글마다 LAZY user 를 다시 조회하지 않고, 본문(BoardContent)도 읽지 않는다.
+        (페이지 크기와 상관없이 목록 요청당 쿼리 1개)
+        Slice 로 반환하여 size + 1 개만 읽고 hasNext 를 판단한다. (Page 처럼 COUNT(*) 를 실행하지 않음)
+     */
+    @Query("select new joo.community.dto.board.BoardSimpleDto(b.id, b.title, u.nickname, b.liked, b.favorited) " +
+            "from Board b join b.user u")
+    Slice<BoardSimpleDto> findAllSimple(Pageable pageable);
+
+    @Query("select new joo.community.dto.board.BoardSimpleDto(b.id, b.title, u.nickname, b.liked, b.favorited) " +
+            "from Board b join b.user u " +
+            "where b.title like %:keyword%")
+    Slice<BoardSimpleDto> findSimpleByTitleContaining(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("select new joo.community.dto.board.BoardSimpleDto(b.id, b.title, u.nickname, b.liked, b.favorited) " +
+            "from Board b join b.user u " +
+            "where b.liked >= :minimum")
+    Slice<BoardSimpleDto> findSimpleByLikedGreaterThanEqual(@Param("minimum") int minimum, Pageable pageable);
+
+    /*
+        커서(keyset) 조회 : offset 대신 마지막으로 받은 id 보다 작은 row 부터 PK 인덱스를 탐색한다.
+        pageable 은 limit 용도로만 사용 (정렬은 id desc 고정)
+     */
+    @Query("select new joo.community.dto.board.BoardSimpleDto(b.id, b.title, u.nickname, b.liked, b.favorited) " +
+            "from Board b join b.user u " +
+            "where b.id < :cursor " +
+            "order by b.id desc")
+    List<BoardSimpleDto> findSimpleByIdLessThan(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select new joo.community.dto.board.BoardSimpleDto(b.id, b.title, u.nickname, b.liked, b.favorited) " +
+            "from Board b join b.user u " +
+            "where b.id < :cursor and b.title like %:keyword% " +
+            "order by b.id desc")
+    List<BoardSimpleDto> findSimpleByTitleContainingAndIdLessThan(@Param("keyword") String keyword, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select new joo.community.dto.board.BoardSimpleDto(b.id, b.title, u.nickname, b.liked, b.favorited) " +
+            "from Board b join b.user u " +
+            "where b.id < :cursor and b.liked >= :minimum " +
+            "order by b.id desc")
+    List<BoardSimpleDto> findSimpleByLikedGreaterThanEqualAndIdLessThan(@Param("minimum") int minimum, @Param("cursor") Long cursor, Pageable pageable);
+
+    // id 목록으로 목록 DTO 조회 (검색 색인 결과 -> DTO, 순서는 호출하는 쪽에서 맞춘다)
+    @Query("select new joo.community.dto.board.BoardSimpleDto(b.id, b.title, u.nickname, b.liked, b.favorited) " +
+            "from Board b join b.user u " +
+            "where b.id in :ids")
+    List<BoardSimpleDto> findSimpleByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 회원 탈퇴 시 DB cascade 로 함께 삭제될 게시글 id (BoardContentRepository.findIdsByUserIdForUpdate 와 같은 행 잠금)
+    @Query(value = "SELECT id FROM Board WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    List<Long> findIdsByUserIdForUpdate(@Param("userId") Long userId);
+
+    // 검색 색인 재구성용 (id 오름차순으로 나눠 읽기)
+    @Query("select new joo.community.dto.board.BoardDocument(b.id, b.title, c.content) " +
+            "from Board b join b.boardContent c " +
+            "where b.id > :afterId " +
+            "order by b.id asc")
+    List<BoardDocument> findDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
@@ -4,6 +4,9 @@ import joo.community.entity.board.Board;
 import joo.community.entity.board.Favorite;
 import joo.community.entity.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,5 +16,19 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     Optional<Favorite> findByBoardAndUser(Board board, User user);
 
     List<Favorite> findFavoriteByBoard(Board board);
-}
 
+    // 게시글에 즐겨찾기한 회원 id (BoardMembershipIndex 적재용, FK 컬럼만 읽고 user 는 join 하지 않음)
+    @Query("select f.user.id from Favorite f where f.board.id = :boardId order by f.user.id")
+    List<Long> findUserIdsByBoardId(@Param("boardId") Long boardId);
+
+    // 즐겨찾기 토글용 단일 SQL (LikeBoardRepository 와 동일)
+    @Modifying
+    // id 는 Hibernate 를 거치지 않으므로 호출하는 쪽에서 Snowflake 로 생성해 넘긴다.
+    @Query(value = "INSERT IGNORE INTO Favorite (id, board_id, user_id, status, createDate) " +
+            "VALUES (:id, :boardId, :userId, true, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id, @Param("boardId") Long boardId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM Favorite WHERE board_id = :boardId AND user_id = :userId", nativeQuery = true)
+    int deleteByBoardIdAndUserId(@Param("boardId") Long boardId, @Param("userId") Long userId);
+}
@@ -0,0 +1,26 @@
+package joo.community.repository.board;
+
+import joo.community.entity.board.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // 참조 수 +1 (처음이면 1 로 생성)
+    @Modifying
+    @Query(value = "INSERT INTO ImageBlob (name, refCount) VALUES (:name, 1) " +
+            "ON DUPLICATE KEY UPDATE refCount = refCount + 1", nativeQuery = true)
+    int acquire(@Param("name") String name);
+
+    // 참조 수 -1 (ImageBlob 이 없으면 0 : 내용 주소 방식 이전에 저장된 파일)
+    @Modifying
+    @Query("update ImageBlob b set b.refCount = b.refCount - 1 where b.name = :name and b.refCount > 0")
+    int release(@Param("name") String name);
+
+    // 더 이상 참조하는 Image 가 없으면 삭제 (삭제되었으면 1)
+    @Modifying
+    @Query("delete from ImageBlob b where b.name = :name and b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("name") String name);
+}
@@ -0,0 +1,36 @@
+package joo.community.repository.board;
+
+import joo.community.entity.board.Image;
+import joo.community.entity.board.ImageStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageRepository extends JpaRepository<Image, Long> {
+
+    // 업로드 파이프라인 작업 스레드에서 호출 (엔티티를 읽지 않고 상태만 변경)
+    @Transactional
+    @Modifying
+    @Query("update Image i set i.status = :status where i.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") ImageStatus status);
+
+    // 기동 시 저장이 끝나지 않은 이미지 복구용
+    List<Image> findByStatus(ImageStatus status);
+
+    // 고아 파일 정리 : 이름 목록 중 Image 가 참조하는 이름만
+    @Query("select i.uniqueName from Image i where i.uniqueName in :names")
+    List<String> findUniqueNamesIn(@Param("names") Collection<String> names);
+
+    boolean existsByUniqueName(String uniqueName);
+
+    // 회원 탈퇴 시 게시글과 함께 DB cascade 로 삭제될 이미지 이름 (게시글 행과 함께 FOR UPDATE)
+    // 같은 내용의 이미지가 여러 번 첨부되었으면 이름도 그 수만큼 반환한다. (참조 수만큼 release)
+    @Query(value = "SELECT i.uniqueName FROM Image i JOIN Board b ON i.board_id = b.id WHERE b.user_id = :userId FOR UPDATE",
+            nativeQuery = true)
+    List<String> findUniqueNamesByUserIdForUpdate(@Param("userId") Long userId);
+}
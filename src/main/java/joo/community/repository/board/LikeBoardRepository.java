@@ -1,15 +1,50 @@
 package joo.community.repository.board;
 
+import joo.community.dto.board.BoardScore;
 import joo.community.entity.board.Board;
 import joo.community.entity.board.LikeBoard;
 import joo.community.entity.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface LikeBoardRepository  extends JpaRepository<LikeBoard, Long> {
 
     // 좋아요 누른 회원 찾기
     Optional<LikeBoard> findByBoardAndUser(Board board, User user);
+
+    // 게시글에 좋아요한 회원 id (BoardMembershipIndex 적재용, FK 컬럼만 읽고 user 는 join 하지 않음)
+    @Query("select l.user.id from LikeBoard l where l.board.id = :boardId order by l.user.id")
+    List<Long> findUserIdsByBoardId(@Param("boardId") Long boardId);
+
+    // 게시글별 좋아요 수 (추천 게시글 순위 적재용, id 순 batch)
+    // Board.liked 는 쓰기 지연 (BoardCounterFlusher) 이라 커밋된 토글이 바로 보이는 LikeBoard 에서 센다.
+    @Query("select new joo.community.dto.board.BoardScore(l.board.id, count(l)) " +
+            "from LikeBoard l " +
+            "where l.board.id > :afterId " +
+            "group by l.board.id " +
+            "order by l.board.id asc")
+    List<BoardScore> countScoresAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /*
+        좋아요 토글용 단일 SQL (SELECT 없이 영향받은 row 수로 판단)
+        (board_id, user_id) unique 제약이 있으므로 동시에 눌러도 row 는 하나만 생긴다.
+     */
+    // 이미 있으면 무시 : 1 = 새로 좋아요, 0 = 이미 좋아요 상태
+    @Modifying
+    // id 는 Hibernate 를 거치지 않으므로 호출하는 쪽에서 Snowflake 로 생성해 넘긴다.
+    @Query(value = "INSERT IGNORE INTO LikeBoard (id, board_id, user_id, status, createDate) " +
+            "VALUES (:id, :boardId, :userId, true, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id, @Param("boardId") Long boardId, @Param("userId") Long userId);
+
+    // 1 = 좋아요 취소, 0 = 좋아요 상태가 아니었음
+    @Modifying
+    @Query(value = "DELETE FROM LikeBoard WHERE board_id = :boardId AND user_id = :userId", nativeQuery = true)
+    int deleteByBoardIdAndUserId(@Param("boardId") Long boardId, @Param("userId") Long userId);
 }
 
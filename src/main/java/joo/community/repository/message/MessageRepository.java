@@ -1,14 +1,22 @@
 package joo.community.repository.message;
 
 import joo.community.entity.user.Message;
-import joo.community.entity.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
-    List<Message> findAllByReceiver(User user);
+    // 발신자, 수신자 닉네임까지 한 번에 fetch join (메시지마다 user 조회 없음, 현재 사용자는 id 로만 비교)
+    @Query("select m from Message m left join fetch m.sender left join fetch m.receiver where m.receiver.id = :userId")
+    List<Message> findAllByReceiverId(@Param("userId") Long userId);
 
-    List<Message> findAllBySender(User user);
+    @Query("select m from Message m left join fetch m.sender left join fetch m.receiver where m.sender.id = :userId")
+    List<Message> findAllBySenderId(@Param("userId") Long userId);
+
+    @Query("select m from Message m left join fetch m.sender left join fetch m.receiver where m.id = :id")
+    Optional<Message> findWithUsersById(@Param("id") Long id);
 }
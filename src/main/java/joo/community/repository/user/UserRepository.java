@@ -1,6 +1,10 @@
 package joo.community.repository.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import joo.community.entity.user.User;
 ;
 import java.util.Optional;
@@ -15,4 +19,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByNickname(String nickname);
 
+    // 로그인 시 비밀번호 해시 재저장 (BCrypt 비용 변경), 엔티티를 읽지 않는다.
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
 }
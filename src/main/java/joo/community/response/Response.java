@@ -5,6 +5,8 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.List;
+
 @JsonInclude(JsonInclude.Include.NON_NULL) //  null 값을 가지는 필드는, JSON 응답에 포함되지 않음
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Getter
@@ -22,6 +24,11 @@ public class Response {
         return new Response(true, 0, new Success<>(data));
     }
 
+    // 목록 조회 : data 는 목록 배열, 다음 페이지 여부와 근사 전체 수는 result 에 나란히 담는다
+    public static <T> Response success(List<T> data, boolean hasNext, Long approximateTotal) {
+        return new Response(true, 0, new Success<>(data, hasNext, approximateTotal));
+    }
+
     public static Response failure(int code, String msg) {
         return new Response(false, code, new Failure(msg));
     }
@@ -10,4 +10,11 @@ import lombok.Getter;
 public class Success<T> implements Result {
 
     private T data;
+    // 목록 응답일 때만 채워진다 (data 는 기존처럼 배열 그대로 유지)
+    private Boolean hasNext;
+    private Long approximateTotal;
+
+    public Success(T data) {
+        this(data, null, null);
+    }
 }
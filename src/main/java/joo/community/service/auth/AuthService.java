@@ -1,67 +1,84 @@
 package joo.community.service.auth;
 
-import joo.community.repository.token.RefreshTokenRepository;
+import joo.community.config.guard.UserPrincipal;
 import joo.community.config.jwt.TokenProvider;
 import joo.community.entity.user.Authority;
-import joo.community.entity.user.RefreshToken;
 import joo.community.entity.user.User;
 import joo.community.dto.sign.*;
+import joo.community.exception.LoginBusyException;
 import joo.community.exception.LoginFailureException;
 import joo.community.exception.MemberNicknameAlreadyExistsException;
+import joo.community.exception.MemberNotFoundException;
 import joo.community.exception.MemberUsernameAlreadyExistsException;
+import joo.community.exception.SignUpBusyException;
 import joo.community.repository.user.UserRepository;
+import joo.community.service.user.CachedUser;
+import joo.community.service.user.UserChangedEvent;
+import joo.community.service.user.UserLookupCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserLookupCache userLookupCache;
+    private final PasswordHasher passwordHasher;
+    private final ApplicationEventPublisher eventPublisher;
     private final TokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshTokenMigrator refreshTokenMigrator;
+
+    // 탈퇴가 커밋되면 refresh token 을 지워 더 이상 재발급되지 않도록 한다. (access token 은 만료 시각까지 남지만 쓰기는 CurrentUserProvider 가 막는다.)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDeleted()) {
+            refreshTokenStore.delete(event.getUsername());
+        }
+    }
 
-    @Transactional
+    // BCrypt 해시 (PasswordHasher 대기열) 를 기다리는 동안 DB 커넥션을 잡고 있지 않도록, 해시한 뒤 저장만 트랜잭션으로 실행한다.
+    // (userRepository.save 의 트랜잭션, 중복 가입은 username / nickname unique 제약이 막는다.)
     public User signUp(SignUpRequestDto req) {
         validateSignUpInfo(req);
-        User user = createSignupFormOfUser(req);
+        User user = createSignupFormOfUser(req, hashPassword(req.getPassword()));
         userRepository.save(user);
         return user;
     }
 
 
-    @Transactional
+    // 회원 조회 1회 (UserLookupCache), BCrypt 검증 1회 (PasswordHasher 전용 스레드 풀)
+    // BCrypt 를 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 실행한다.
     public TokenResponseDto signIn(LoginRequestDto req) {
-        User user = userRepository.findByUsername(req.getUsername())
+        // 1. 회원 조회 및 비밀번호 검증
+        CachedUser user = userLookupCache.findByUsername(req.getUsername())
                 .orElseThrow(LoginFailureException::new);
 
         validatePassword(req, user);
-        // 1. Login ID/PW 를 기반으로 AuthenticationToken 생성
-        UsernamePasswordAuthenticationToken authenticationToken = req.toAuthentication();
+        rehashIfNeeded(user, req.getPassword());
 
-        // 2. 실제로 검증 (사용자 비밀번호 체크) 이 이루어지는 부분
-        //    authenticate 메서드가 실행이 될 때 CustomUserDetailsService 에서 만들었던 loadUserByUsername 메서드가 실행됨
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        // 2. 인증 정보 생성 (id, nickname 은 access token 의 claim 이 된다.)
+        Authentication authentication = toAuthentication(user);
 
         // 3. 인증 정보를 기반으로  JWT 토큰 생성
         TokenDto tokenDto = tokenProvider.generateTokenDto(authentication);
 
-        // 4. RefreshToken 저장
-        RefreshToken refreshToken = RefreshToken.builder()
-                .key(authentication.getName())
-                .value(tokenDto.getRefreshToken())
-                .build();
-
-        refreshTokenRepository.save(refreshToken);
+        // 4. RefreshToken 저장 (만료 시간이 지나면 저장소에서 사라진다.)
+        refreshTokenStore.save(authentication.getName(), tokenDto.getRefreshToken(), TokenProvider.REFRESH_TOKEN_TTL);
         TokenResponseDto tokenResponseDto = new TokenResponseDto(tokenDto.getAccessToken(), tokenDto.getRefreshToken());
 
         // 5. 토큰 발급
@@ -79,12 +96,16 @@ public class AuthService {
         // 2. Access Token 에서 Member ID 가져오기
         Authentication authentication = tokenProvider.getAuthentication(tokenRequestDto.getAccessToken());
 
-        // 3. 저장소에서 Member ID 를 기반으로 Refresh Token 값 가져옴
-        RefreshToken refreshToken = refreshTokenRepository.findByKey(authentication.getName())
+        // 탈퇴한 회원이면 재발급하지 않는다. (이전 테이블에 남은 토큰이 다시 옮겨지는 경우 포함)
+        userLookupCache.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
+
+        // 3. 저장소에서 Member ID 를 기반으로 Refresh Token 값 가져옴 (없으면 이전 테이블에서 옮겨 온다.)
+        String refreshToken = refreshTokenStore.find(authentication.getName())
+                .or(() -> refreshTokenMigrator.migrate(authentication.getName()))
                 .orElseThrow(() -> new RuntimeException("로그아웃 된 사용자입니다."));
 
         // 4. Refresh Token 일치하는지 검사
-        if (!refreshToken.getValue().equals(tokenRequestDto.getRefreshToken())) {
+        if (!refreshToken.equals(tokenRequestDto.getRefreshToken())) {
             throw new RuntimeException("토큰의 유저 정보가 일치하지 않습니다.");
         }
 
@@ -92,18 +113,25 @@ public class AuthService {
         TokenDto tokenDto = tokenProvider.generateTokenDto(authentication);
 
         // 6. 저장소 정보 업데이트
-        RefreshToken newRefreshToken = refreshToken.updateValue(tokenDto.getRefreshToken());
-        refreshTokenRepository.save(newRefreshToken);
+        refreshTokenStore.save(authentication.getName(), tokenDto.getRefreshToken(), TokenProvider.REFRESH_TOKEN_TTL);
 
         // 토큰 발급
         TokenResponseDto tokenResponseDto = new TokenResponseDto(tokenDto.getAccessToken(), tokenDto.getRefreshToken());
         return tokenResponseDto;
     }
 
-    private User createSignupFormOfUser(final SignUpRequestDto req) {
+    private String hashPassword(String rawPassword) {
+        try {
+            return passwordHasher.encode(rawPassword);
+        } catch (LoginBusyException e) {
+            throw new SignUpBusyException();
+        }
+    }
+
+    private User createSignupFormOfUser(final SignUpRequestDto req, String encodedPassword) {
         return User.builder()
                 .username(req.getUsername())
-                .password(passwordEncoder.encode(req.getPassword()))
+                .password(encodedPassword)
                 .nickname(req.getNickname())
                 .name(req.getName())
                 .authority(Authority.ROLE_USER)
@@ -117,11 +145,31 @@ public class AuthService {
             throw new MemberNicknameAlreadyExistsException(SignUpRequestDto.getNickname());
     }
 
-    private void validatePassword(LoginRequestDto loginRequestDto, User user) {
-        if (!passwordEncoder.matches(loginRequestDto.getPassword(), user.getPassword())) {
+    private void validatePassword(LoginRequestDto loginRequestDto, CachedUser user) {
+        if (!passwordHasher.matches(loginRequestDto.getPassword(), user.getPassword())) {
             throw new LoginFailureException();
         }
     }
 
+    // BCrypt 비용 (auth.password.bcrypt-strength) 이 바뀌었으면 검증에 성공한 비밀번호를 새 비용으로 다시 저장
+    // 대기열이 가득 차면 이번에는 건너뛰고 다음 로그인에서 다시 시도한다.
+    private void rehashIfNeeded(CachedUser user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            userRepository.updatePassword(user.getId(), passwordHasher.encode(rawPassword));
+            eventPublisher.publishEvent(UserChangedEvent.updated(user.getUsername(), user.getNickname(), user.getNickname()));
+        } catch (LoginBusyException e) {
+            log.debug("비밀번호 재해시 보류 : {}", user.getUsername());
+        }
+    }
+
+    private Authentication toAuthentication(CachedUser user) {
+        Set<GrantedAuthority> authorities = Collections.singleton(new SimpleGrantedAuthority(user.getAuthority().name()));
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getUsername(), user.getNickname(), authorities);
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+
 }
 
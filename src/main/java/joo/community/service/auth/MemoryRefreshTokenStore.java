@@ -0,0 +1,81 @@
+package joo.community.service.auth;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MemoryRefreshTokenStore implements RefreshTokenStore {
+
+    // Redis 를 사용하지 않을 때의 인스턴스 내 저장소
+    // 만료된 항목은 조회 시 지우고, 다시 조회되지 않는 항목은 주기적으로 정리한다. (purgeExpired)
+
+    private final Map<String, StoredToken> tokens = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public MemoryRefreshTokenStore() {
+        this(Clock.systemUTC());
+    }
+
+    public MemoryRefreshTokenStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(String key, String token, Duration ttl) {
+        tokens.put(key, new StoredToken(token, clock.millis() + ttl.toMillis()));
+    }
+
+    @Override
+    public boolean saveIfAbsent(String key, String token, Duration ttl) {
+        long now = clock.millis();
+        StoredToken created = new StoredToken(token, now + ttl.toMillis());
+        return tokens.compute(key, (k, stored) -> stored == null || stored.isExpired(now) ? created : stored) == created;
+    }
+
+    @Override
+    public Optional<String> find(String key) {
+        StoredToken stored = tokens.get(key);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (stored.isExpired(clock.millis())) {
+            tokens.remove(key, stored);
+            return Optional.empty();
+        }
+        return Optional.of(stored.token);
+    }
+
+    @Override
+    public void delete(String key) {
+        tokens.remove(key);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge-ms:600000}")
+    public void purgeExpired() {
+        long now = clock.millis();
+        tokens.values().removeIf(stored -> stored.isExpired(now));
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private static final class StoredToken {
+
+        private final String token;
+        private final long expiresAt; // epoch millis
+
+        private StoredToken(String token, long expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package joo.community.service.auth;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static joo.community.config.constant.Constant.REDIS_REFRESH_TOKEN_PREFIX;
+
+@RequiredArgsConstructor
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    // Redis STRING (key = REDIS_REFRESH_TOKEN_PREFIX + username, value = refresh token), SET key value EX ttl
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void save(String key, String token, Duration ttl) {
+        redisTemplate.opsForValue().set(REDIS_REFRESH_TOKEN_PREFIX + key, token, ttl);
+    }
+
+    // SET key value NX EX ttl
+    @Override
+    public boolean saveIfAbsent(String key, String token, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REDIS_REFRESH_TOKEN_PREFIX + key, token, ttl));
+    }
+
+    @Override
+    public Optional<String> find(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(REDIS_REFRESH_TOKEN_PREFIX + key));
+    }
+
+    @Override
+    public void delete(String key) {
+        redisTemplate.delete(REDIS_REFRESH_TOKEN_PREFIX + key);
+    }
+}
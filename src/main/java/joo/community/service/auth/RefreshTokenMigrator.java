@@ -0,0 +1,122 @@
+package joo.community.service.auth;
+
+import joo.community.config.jwt.TokenProvider;
+import joo.community.entity.user.RefreshToken;
+import joo.community.repository.token.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class RefreshTokenMigrator {
+
+    /*
+        refresh_token 테이블의 토큰을 RefreshTokenStore 로 옮긴다. (auth.refresh-token.migration.enabled = true)
+        - 기동 후 백그라운드 스레드에서 batch-size 행씩 읽어, 아직 유효한 토큰만 남은 유효 시간을 ttl 로 옮기고 행을 지운다.
+          (만료된 토큰은 옮기지 않고 지운다.)
+        - 옮기기 전에 재발급 요청이 오면 그 회원의 행만 먼저 옮긴다. (AuthService.reissue -> migrate(key))
+        - 저장소에 이미 토큰이 있으면 (이전 후 새로 로그인) 덮어쓰지 않는다.
+        테이블이 비면 db/refresh_token_drop.sql 로 테이블을 지우고 설정을 끈다.
+        옮긴 행은 지우므로 재시작해도 남는 RedisRefreshTokenStore (redis.enabled = true) 로만 옮긴다.
+        (MemoryRefreshTokenStore 로 옮기면 재시작 시 모든 회원이 로그아웃된다.)
+     */
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenProvider tokenProvider;
+    private final boolean enabled;
+    private final int batchSize;
+    private volatile boolean stopped;
+
+    public RefreshTokenMigrator(RefreshTokenRepository refreshTokenRepository,
+                                RefreshTokenStore refreshTokenStore,
+                                TokenProvider tokenProvider,
+                                @Value("${auth.refresh-token.migration.enabled:false}") boolean enabled,
+                                @Value("${auth.refresh-token.migration.batch-size:1000}") int batchSize) {
+        if (enabled && !(refreshTokenStore instanceof RedisRefreshTokenStore)) {
+            throw new IllegalStateException("auth.refresh-token.migration.enabled 는 redis.enabled = true 일 때만 켤 수 있습니다. (현재 저장소 : "
+                    + refreshTokenStore.getClass().getSimpleName() + ")");
+        }
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenStore = refreshTokenStore;
+        this.tokenProvider = tokenProvider;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::migrate, "refresh-token-migrator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    // 옮긴 토큰 수 (만료되어 지우기만 한 행은 제외)
+    public long migrate() {
+        long moved = 0;
+        long expired = 0;
+        try {
+            while (!stopped) {
+                List<RefreshToken> batch = refreshTokenRepository
+                        .findAll(PageRequest.of(0, batchSize, Sort.by("key")))
+                        .getContent();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (RefreshToken refreshToken : batch) {
+                    if (move(refreshToken)) {
+                        moved++;
+                    } else {
+                        expired++;
+                    }
+                }
+                refreshTokenRepository.deleteAllByIdInBatch(
+                        batch.stream().map(RefreshToken::getKey).collect(Collectors.toList()));
+                log.info("refresh token 이전 중 : {}건 이전, {}건 만료", moved, expired);
+            }
+        } catch (RuntimeException e) {
+            log.error("refresh token 이전 실패 ({}건 이전됨)", moved, e);
+        }
+        log.info("refresh token 이전 종료 : {}건 이전, {}건 만료", moved, expired);
+        return moved;
+    }
+
+    // 한 회원의 토큰만 옮긴다. 옮긴 (유효한) 토큰, 없거나 만료되었으면 empty
+    public Optional<String> migrate(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> legacy = refreshTokenRepository.findByKey(key);
+        if (legacy.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean moved = move(legacy.get());
+        refreshTokenRepository.deleteAllByIdInBatch(List.of(key));
+        return moved ? refreshTokenStore.find(key) : Optional.empty();
+    }
+
+    private boolean move(RefreshToken refreshToken) {
+        Optional<Duration> remaining = tokenProvider.remainingValidity(refreshToken.getValue());
+        remaining.ifPresent(ttl -> refreshTokenStore.saveIfAbsent(refreshToken.getKey(), refreshToken.getValue(), ttl));
+        return remaining.isPresent();
+    }
+}
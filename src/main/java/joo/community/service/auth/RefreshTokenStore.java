@@ -0,0 +1,24 @@
+package joo.community.service.auth;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface RefreshTokenStore {
+
+    /*
+        회원 (username) 별 refresh token 저장소, 만료 시간이 지나면 스스로 사라진다.
+        - redis.enabled = true  : RedisRefreshTokenStore (SET EX, 인스턴스 간 공유)
+        - 그 외                 : MemoryRefreshTokenStore (인스턴스 내, 테스트 / 단일 인스턴스용)
+        이전에는 refresh_token 테이블에 저장했으나, 만료된 행이 지워지지 않아 계속 쌓였다. (RefreshTokenMigrator)
+     */
+
+    // 저장 또는 교체 (ttl 이 지나면 삭제)
+    void save(String key, String token, Duration ttl);
+
+    // 없을 때만 저장 (이전 저장소에서 옮길 때, 그 사이 새로 로그인한 토큰을 덮어쓰지 않도록)
+    boolean saveIfAbsent(String key, String token, Duration ttl);
+
+    Optional<String> find(String key);
+
+    void delete(String key);
+}
@@ -0,0 +1,47 @@
+package joo.community.service.board;
+
+import joo.community.entity.board.Board;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoardChangedEvent {
+
+    /*
+        게시글 생성/수정/삭제, 좋아요/즐겨찾기 수 변경 이벤트
+        BoardService 에서 발행하고, 트랜잭션 커밋 이후(@TransactionalEventListener)에
+        검색 색인, 단건 조회 캐시 등 DB 밖의 부가 데이터를 갱신하는 데 사용한다.
+     */
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, COUNTER_CHANGED
+    }
+
+    private final Long boardId;
+    private final Type type;
+    private final String title;
+    private final String content;
+    // COUNTER_CHANGED 일 때만 사용 (누른 회원, +1 / -1)
+    private final Long userId;
+    private final int likedDelta;
+    private final int favoritedDelta;
+
+    public static BoardChangedEvent created(Board board) {
+        return new BoardChangedEvent(board.getId(), Type.CREATED, board.getTitle(), board.getContent(), null, 0, 0);
+    }
+
+    public static BoardChangedEvent updated(Board board) {
+        return new BoardChangedEvent(board.getId(), Type.UPDATED, board.getTitle(), board.getContent(), null, 0, 0);
+    }
+
+    public static BoardChangedEvent deleted(Long boardId) {
+        return new BoardChangedEvent(boardId, Type.DELETED, null, null, null, 0, 0);
+    }
+
+    // 좋아요/즐겨찾기 수만 바뀐 경우 (제목/본문 없음)
+    public static BoardChangedEvent counterChanged(Long boardId, Long userId, int likedDelta, int favoritedDelta) {
+        return new BoardChangedEvent(boardId, Type.COUNTER_CHANGED, null, null, userId, likedDelta, favoritedDelta);
+    }
+}
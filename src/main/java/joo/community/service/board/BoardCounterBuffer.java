@@ -0,0 +1,223 @@
+package joo.community.service.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+@Component
+public class BoardCounterBuffer {
+
+    /*
+        좋아요/즐겨찾기 수 쓰기 지연 (write-behind) 버퍼
+        요청마다 Board row 를 읽고-수정하고-쓰지 않고, 게시글별 LongAdder 에 증감만 누적한다.
+        (같은 게시글에 동시에 좋아요가 몰려도 row lock 경합 없이 코어 수만큼 병렬로 더해진다.)
+
+        - 누적된 값은 BoardCounterFlusher 가 주기적으로 drain() 하여 DB 에 일괄 반영
+        - 반영 중(inFlight)인 값도 pending 에 포함되므로, 조회 시 DB 값 + pending 으로 보정한다.
+          반영 트랜잭션의 커밋과 inFlight 제거 사이에 읽으면 같은 증감을 두 번 더하게 되므로,
+          drain / 커밋 ~ complete / restore 는 쓰기 lock 안에서 하고, 조회는 readConsistent 로 감싸
+          그 사이에 겹쳤으면 (StampedLock 낙관적 읽기 검증 실패) 다시 읽는다.
+        - 한 번의 drain 동안 변화가 없던 항목은 map 에서 빼서 retired 로 옮기고,
+          그 직전에 더해진 값이 있을 수 있으므로 다음 drain 에서 한 번 더 비운 뒤 버린다.
+     */
+
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, Delta> inFlight = new ConcurrentHashMap<>();
+    private List<Counter> retired = new ArrayList<>();
+    private final StampedLock publishLock = new StampedLock();
+
+    // 커밋된 좋아요/즐겨찾기 변경만 누적 (롤백된 토글은 반영하지 않음)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.COUNTER_CHANGED) {
+            add(event.getBoardId(), event.getLikedDelta(), event.getFavoritedDelta());
+        } else if (event.getType() == BoardChangedEvent.Type.DELETED) {
+            counters.remove(event.getBoardId());
+        }
+    }
+
+    public void add(Long boardId, int likedDelta, int favoritedDelta) {
+        Counter counter = counters.computeIfAbsent(boardId, Counter::new);
+        if (likedDelta != 0) {
+            counter.liked.add(likedDelta);
+        }
+        if (favoritedDelta != 0) {
+            counter.favorited.add(favoritedDelta);
+        }
+    }
+
+    // 아직 DB 에 반영되지 않은 좋아요 수 (반영 중인 값 포함)
+    public int pendingLiked(Long boardId) {
+        Counter counter = counters.get(boardId);
+        Delta flushing = inFlight.get(boardId);
+        return (int) ((counter == null ? 0 : counter.liked.sum()) + (flushing == null ? 0 : flushing.getLiked()));
+    }
+
+    public int pendingFavorited(Long boardId) {
+        Counter counter = counters.get(boardId);
+        Delta flushing = inFlight.get(boardId);
+        return (int) ((counter == null ? 0 : counter.favorited.sum()) + (flushing == null ? 0 : flushing.getFavorited()));
+    }
+
+    // DB 값 읽기 + pending 보정을 반영 (drain, 커밋 ~ complete, restore) 과 겹치지 않게 실행한다.
+    // 겹쳤으면 반영이 끝난 뒤 다시 읽는다. (트랜잭션 밖에서 호출해야 다시 읽을 때 커밋된 값이 보인다.
+    // spring.jpa.open-in-view 가 켜져 있으면 요청의 영속성 컨텍스트가 처음 읽은 엔티티를 그대로 돌려주므로 꺼 둔다.)
+    public <T> T readConsistent(Supplier<T> read) {
+        T result = null;
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long stamp = publishLock.tryOptimisticRead();
+            if (stamp == 0L) {
+                // 반영 중 : 끝날 때까지 기다린다.
+                publishLock.asReadLock().lock();
+                publishLock.asReadLock().unlock();
+                continue;
+            }
+            result = read.get();
+            if (publishLock.validate(stamp)) {
+                return result;
+            }
+        }
+        return result != null ? result : read.get();
+    }
+
+    // 누적된 증감을 꺼내 반영 중(inFlight) 으로 옮긴다.
+    // 반영 트랜잭션에서 publishOnCommit() 을 등록하거나, 직접 complete() / restore() 를 호출해야 한다.
+    public synchronized List<Delta> drain() {
+        long stamp = publishLock.writeLock();
+        try {
+            return drainLocked();
+        } finally {
+            publishLock.unlockWrite(stamp);
+        }
+    }
+
+    // 현재 트랜잭션에 반영 완료 처리를 등록한다.
+    // 커밋 직전에 쓰기 lock 을 잡고, 커밋되면 onCommitted 실행 후 complete, 롤백되면 restore 한 뒤 놓는다.
+    public void publishOnCommit(List<Delta> deltas, Runnable onCommitted) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long stamp;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                stamp = publishLock.writeLock();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (stamp == 0L) {
+                    stamp = publishLock.writeLock();
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        onCommitted.run();
+                        completeLocked(deltas);
+                    } else {
+                        restoreLocked(deltas);
+                    }
+                } finally {
+                    publishLock.unlockWrite(stamp);
+                }
+            }
+        });
+    }
+
+    public void complete(List<Delta> deltas) {
+        long stamp = publishLock.writeLock();
+        try {
+            completeLocked(deltas);
+        } finally {
+            publishLock.unlockWrite(stamp);
+        }
+    }
+
+    // DB 반영에 실패한 증감은 다시 누적해 다음 주기에 재시도
+    public void restore(List<Delta> deltas) {
+        long stamp = publishLock.writeLock();
+        try {
+            restoreLocked(deltas);
+        } finally {
+            publishLock.unlockWrite(stamp);
+        }
+    }
+
+    private List<Delta> drainLocked() {
+        Map<Long, long[]> sums = new LinkedHashMap<>();
+
+        List<Counter> lastRetired = retired;
+        retired = new ArrayList<>();
+        lastRetired.forEach(counter -> collect(sums, counter));
+
+        for (Counter counter : counters.values()) {
+            if (!collect(sums, counter) && counters.remove(counter.boardId, counter)) {
+                retired.add(counter);
+            }
+        }
+
+        List<Delta> deltas = new ArrayList<>(sums.size());
+        sums.forEach((boardId, sum) -> {
+            if (sum[0] != 0 || sum[1] != 0) {
+                Delta delta = new Delta(boardId, sum[0], sum[1]);
+                inFlight.put(boardId, delta);
+                deltas.add(delta);
+            }
+        });
+        return deltas;
+    }
+
+    private void completeLocked(List<Delta> deltas) {
+        deltas.forEach(delta -> inFlight.remove(delta.getBoardId()));
+    }
+
+    private void restoreLocked(List<Delta> deltas) {
+        deltas.forEach(delta -> {
+            inFlight.remove(delta.getBoardId());
+            add(delta.getBoardId(), (int) delta.getLiked(), (int) delta.getFavorited());
+        });
+    }
+
+    // 값이 있었으면 true
+    private boolean collect(Map<Long, long[]> sums, Counter counter) {
+        long liked = counter.liked.sumThenReset();
+        long favorited = counter.favorited.sumThenReset();
+        if (liked == 0 && favorited == 0) {
+            return false;
+        }
+        long[] sum = sums.computeIfAbsent(counter.boardId, id -> new long[2]);
+        sum[0] += liked;
+        sum[1] += favorited;
+        return true;
+    }
+
+    private static class Counter {
+        private final Long boardId;
+        private final LongAdder liked = new LongAdder();
+        private final LongAdder favorited = new LongAdder();
+
+        private Counter(Long boardId) {
+            this.boardId = boardId;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Delta {
+        private final Long boardId;
+        private final long liked;
+        private final long favorited;
+    }
+}
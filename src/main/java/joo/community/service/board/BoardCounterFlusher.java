@@ -0,0 +1,71 @@
+package joo.community.service.board;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardCounterFlusher {
+
+    /*
+        BoardCounterBuffer 에 누적된 좋아요/즐겨찾기 증감을 주기적으로 DB 에 반영
+        엔티티를 읽지 않고 "liked = liked + ?" 로 증감만 더하므로, 다른 수정과 값을 덮어쓰지 않는다.
+        (Board.liked / favorited 는 updatable = false 로 JPA dirty checking 대상에서 제외)
+        커밋 결과 (단건 캐시 무효화 + complete, 실패 시 restore) 는 BoardCounterBuffer.publishOnCommit 에서
+        커밋과 함께 한 번에 공개된다.
+     */
+
+    private static final String FLUSH_SQL = "UPDATE Board SET liked = liked + ?, favorited = favorited + ? WHERE id = ?";
+    private static final int BATCH_SIZE = 500;
+
+    private final BoardCounterBuffer boardCounterBuffer;
+    private final BoardDetailCache boardDetailCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${board.counter.flush-ms:1000}")
+    public synchronized void flush() {
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        AtomicBoolean registered = new AtomicBoolean();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                boardCounterBuffer.publishOnCommit(deltas,
+                        () -> deltas.forEach(delta -> boardDetailCache.evict(delta.getBoardId())));
+                registered.set(true);
+                jdbcTemplate.batchUpdate(FLUSH_SQL, deltas, BATCH_SIZE, (ps, delta) -> {
+                    ps.setLong(1, delta.getLiked());
+                    ps.setLong(2, delta.getFavorited());
+                    ps.setLong(3, delta.getBoardId());
+                });
+            });
+        } catch (RuntimeException e) {
+            // 트랜잭션이 시작된 뒤라면 롤백 시 publishOnCommit 에서 증감을 다시 누적한다.
+            log.warn("좋아요/즐겨찾기 수 반영 실패, 다음 주기에 재시도합니다. ({}건)", deltas.size(), e);
+            if (!registered.get()) {
+                boardCounterBuffer.restore(deltas);
+            }
+            return;
+        }
+
+        log.debug("좋아요/즐겨찾기 수 반영 : {}건", deltas.size());
+    }
+
+    // 종료 시 남은 증감 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,63 @@
+package joo.community.service.board;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import joo.community.config.cache.LruCache;
+import joo.community.dto.board.BoardResponseDto;
+import joo.community.service.user.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+@Component
+public class BoardDetailCache {
+
+    /*
+        게시글 단건 조회(findBoard) 결과 캐시 : board id -> BoardResponseDto
+        자주 읽히는 게시글은 DB 를 거치지 않고 바로 응답한다.
+        수정/삭제가 커밋된 후 해당 게시글 항목을 제거한다.
+        (좋아요/즐겨찾기 수는 조회 시 BoardCounterBuffer 의 미반영 값으로 보정하고, DB 반영 후 제거)
+        회원의 닉네임 변경/탈퇴 (UserChangedEvent) 후에는 그 회원이 쓴 게시글 항목을 모두 제거한다. (writer_nickname)
+        다른 인스턴스에서 일어난 게시글 수정/삭제는 이벤트로 알 수 없으므로 expire-after-write-ms 가 지나면 다시 읽는다.
+     */
+
+    private final LruCache<Long, BoardResponseDto> cache;
+
+    public BoardDetailCache(@Value("${board.detail-cache.maximum-size:1000}") int maximumSize,
+                            @Value("${board.detail-cache.expire-after-write-ms:60000}") long expireAfterWriteMillis,
+                            MeterRegistry meterRegistry) {
+        this.cache = new LruCache<>(maximumSize, expireAfterWriteMillis);
+        this.cache.bindTo(meterRegistry, "boardDetail");
+    }
+
+    public BoardResponseDto get(Long boardId, Function<Long, BoardResponseDto> loader) {
+        return cache.get(boardId, loader);
+    }
+
+    public void evict(Long boardId) {
+        cache.evict(boardId);
+    }
+
+    // 이 인스턴스에서 해당 닉네임으로 작성된 게시글 항목을 모두 제거 (다른 인스턴스에서 전파된 경우에도 사용)
+    public void evictWriter(String nickname) {
+        if (nickname != null && !nickname.isEmpty()) {
+            cache.evictIf(board -> nickname.equals(board.getWriter_nickname()));
+        }
+    }
+
+    // 트랜잭션 밖에서 발행되면 (로그인 시 비밀번호 재해시) 바로 처리
+    // 재해시처럼 닉네임이 그대로인 이벤트도 드물어서 구분하지 않고 제거한다. (다른 인스턴스 전파와 같은 동작)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictWriter(event.getPreviousNickname());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.UPDATED || event.getType() == BoardChangedEvent.Type.DELETED) {
+            cache.evict(event.getBoardId());
+        }
+    }
+}
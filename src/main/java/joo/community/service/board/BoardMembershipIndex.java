@@ -0,0 +1,122 @@
+package joo.community.service.board;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import joo.community.config.cache.IntBitmap;
+import joo.community.config.cache.LruCache;
+import joo.community.repository.board.FavoriteRepository;
+import joo.community.repository.board.LikeBoardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+@Component
+public class BoardMembershipIndex {
+
+    /*
+        "이 회원이 이 게시글에 좋아요/즐겨찾기를 했는가" 메모리 색인
+        게시글별로 누른 회원 id 를 IntBitmap 에 담아, 확인할 때마다 LikeBoard / Favorite 를 조회하지 않는다.
+
+        - 처음 확인할 때 게시글 단위로 DB 에서 적재 (LRU 로 최대 게시글 수 제한)
+        - 토글이 커밋되면 이미 적재된 비트맵만 갱신하고, 적재되지 않은 게시글은 다음 조회 때 새로 읽는다.
+        - 회원 id 는 int 범위 (User 는 IDENTITY)
+        - 확인은 게시글별 읽기 lock 안에서 비트맵 조회만 한다. (loader 는 필드로 한 번만 만들어 두어 객체 생성 없음)
+     */
+
+    private final LikeBoardRepository likeBoardRepository;
+    private final FavoriteRepository favoriteRepository;
+
+    private final LruCache<Long, Members> likes;
+    private final LruCache<Long, Members> favorites;
+    private final Function<Long, Members> likesLoader;
+    private final Function<Long, Members> favoritesLoader;
+
+    public BoardMembershipIndex(LikeBoardRepository likeBoardRepository,
+                                FavoriteRepository favoriteRepository,
+                                @Value("${board.membership.maximum-boards:10000}") int maximumBoards,
+                                MeterRegistry meterRegistry) {
+        this.likeBoardRepository = likeBoardRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.likes = new LruCache<>(maximumBoards);
+        this.favorites = new LruCache<>(maximumBoards);
+        this.likes.bindTo(meterRegistry, "boardLikes");
+        this.favorites.bindTo(meterRegistry, "boardFavorites");
+        this.likesLoader = id -> Members.of(likeBoardRepository.findUserIdsByBoardId(id));
+        this.favoritesLoader = id -> Members.of(favoriteRepository.findUserIdsByBoardId(id));
+    }
+
+    public boolean hasLiked(Long boardId, Long userId) {
+        return likes.get(boardId, likesLoader).contains(userId);
+    }
+
+    public boolean hasFavorited(Long boardId, Long userId) {
+        return favorites.get(boardId, favoritesLoader).contains(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.COUNTER_CHANGED) {
+            apply(likes, event.getBoardId(), event.getUserId(), event.getLikedDelta());
+            apply(favorites, event.getBoardId(), event.getUserId(), event.getFavoritedDelta());
+        } else if (event.getType() == BoardChangedEvent.Type.DELETED) {
+            likes.evict(event.getBoardId());
+            favorites.evict(event.getBoardId());
+        }
+    }
+
+    private void apply(LruCache<Long, Members> cache, Long boardId, Long userId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        Members members = cache.peek(boardId);
+        if (members == null) {
+            // 적재 중인 (커밋 이전) 값이 캐시에 저장되지 않도록 무효화만 한다.
+            cache.evict(boardId);
+            return;
+        }
+        members.apply(userId, delta);
+    }
+
+    // 게시글 하나의 회원 비트맵 (확인은 읽기 lock, 토글 반영은 쓰기 lock)
+    private static final class Members {
+
+        private final IntBitmap bitmap;
+        private final StampedLock lock = new StampedLock();
+
+        private Members(IntBitmap bitmap) {
+            this.bitmap = bitmap;
+        }
+
+        private static Members of(List<Long> userIds) {
+            IntBitmap bitmap = new IntBitmap();
+            userIds.forEach(userId -> bitmap.add(Math.toIntExact(userId)));
+            return new Members(bitmap);
+        }
+
+        private boolean contains(Long userId) {
+            long stamp = lock.readLock();
+            try {
+                return bitmap.contains(Math.toIntExact(userId));
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void apply(Long userId, int delta) {
+            long stamp = lock.writeLock();
+            try {
+                if (delta > 0) {
+                    bitmap.add(Math.toIntExact(userId));
+                } else {
+                    bitmap.remove(Math.toIntExact(userId));
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+}
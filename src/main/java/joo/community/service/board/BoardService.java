@@ -1,31 +1,37 @@
 package joo.community.service.board;
 
+import joo.community.config.guard.CurrentUserProvider;
+import joo.community.config.guard.UserPrincipal;
+import joo.community.config.id.Snowflake;
 import joo.community.dto.board.*;
 import joo.community.dto.user.UserDto;
 import joo.community.entity.board.Board;
-import joo.community.entity.board.Favorite;
 import joo.community.entity.board.Image;
-import joo.community.entity.board.LikeBoard;
-import joo.community.entity.user.User;
 import joo.community.exception.*;
 import joo.community.repository.board.BoardRepository;
 import joo.community.repository.board.FavoriteRepository;
 import joo.community.repository.board.LikeBoardRepository;
-import joo.community.repository.user.UserRepository;
-import joo.community.service.file.FileService;
+import joo.community.service.file.ImageBlobStore;
+import joo.community.service.ranking.BoardRanking;
+import joo.community.service.ranking.BoardRankingUpdater;
+import joo.community.service.search.BoardSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 @RequiredArgsConstructor
 @Service
@@ -42,61 +48,87 @@ public class BoardService {
 
 
     // final 이 붙은 필드에 대해 @RequiredArgsConstructor 생성자 자동 생성.
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
     private final BoardRepository boardRepository;
     private final LikeBoardRepository likeBoardRepository;
     private final FavoriteRepository favoriteRepository;
 
-    private final FileService fileService;
+    private final ImageBlobStore imageBlobStore;
+    private final ImageUploadPipeline imageUploadPipeline;
+    private final BoardTotalCounter boardTotalCounter;
+    private final BoardSearchIndex boardSearchIndex;
+    private final BoardDetailCache boardDetailCache;
+    private final BoardCounterBuffer boardCounterBuffer;
+    private final BoardMembershipIndex boardMembershipIndex;
+    private final BoardRanking boardRanking;
+    private final BoardRankingUpdater boardRankingUpdater;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Snowflake snowflake;
 
     // 게시글 생성
     @Transactional
     public BoardCreateResponse createBoard(BoardCreateRequest req) {
 
-        User user = getCurrentUser();
+        // 작성자는 토큰의 id 로 만든 프록시 (탈퇴 여부만 UserLookupCache 로 확인)
+        UserPrincipal user = currentUserProvider.getExisting();
 
         List<Image> images = req.getImages().stream()
                 .map(i -> new Image(i.getOriginalFilename()))
                 .collect(toList());
 
-        Board board = boardRepository.save(new Board(req.getTitle(), req.getContent(), user, images));
+        Board board = boardRepository.save(new Board(req.getTitle(), req.getContent(), currentUserProvider.reference(user.getId()), images));
+
+        // board fileImages 임시 영역에 저장, 커밋 후 업로드 파이프라인에서 저장소로 옮긴다.
+        uploadImages(board.getId(), board.getImages(), req.getImages());
+        eventPublisher.publishEvent(BoardChangedEvent.created(board));
 
-        // board fileImages 저장소(AWS S3)에 업로드
-        uploadImages(board.getImages(), req.getImages());
-        
         return new BoardCreateResponse(board.getId(), board.getTitle(), board.getContent());
     }
 
+    /*
+        조회 (목록, 단건, 검색, 추천) 는 DB 값에 아직 반영되지 않은 좋아요/즐겨찾기 증감을 더해 응답한다.
+        증감 반영 커밋과 겹치면 다시 읽어야 하므로 (BoardCounterBuffer.readConsistent)
+        트랜잭션을 열지 않는다. (모두 DTO projection / fetch join 조회라 지연 로딩 없음)
+     */
+
     // 게시글 전체 조회
-    @Transactional(readOnly = true)
-    public List<BoardSimpleDto> findAllBoards(Pageable pageable) {
-        return boardRepository.findAll(pageable).stream()
-                .map(BoardSimpleDto::toDto)
-                .collect(Collectors.toList());
+    // withTotal = true 일 때만 근사 전체 개수를 함께 내려준다. (COUNT(*) 미실행)
+    public BoardSliceResponse findAllBoards(Pageable pageable, boolean withTotal) {
+        return boardCounterBuffer.readConsistent(() ->
+                BoardSliceResponse.toDto(withPending(boardRepository.findAllSimple(pageable)),
+                        withTotal ? boardTotalCounter.approximateTotal() : null));
+    }
+
+    // 게시글 전체 조회 (커서)
+    public BoardCursorResponse findAllBoardsByCursor(String after, int size) {
+        return boardCounterBuffer.readConsistent(() -> BoardCursorResponse.of(
+                withPending(boardRepository.findSimpleByIdLessThan(BoardCursor.decode(after), PageRequest.of(0, size + 1))), size));
     }
 
     // 게시글 단건 조회
-    @Transactional(readOnly = true)
+    // 캐시에 있으면 DB 를 거치지 않고 응답, 없을 때만 fetch join 쿼리 1회
     public BoardResponseDto findBoard(Long id) {
-        Board board = boardRepository.findById(id)
-                .orElseThrow(BoardNotFoundException::new);
-
-        // writer_nickname은 User 엔티티에 속한 데이터로, 중복 저장 않으려는 설계 원칙에 따라 Board 에 포함되지 않습니다.
-        return BoardResponseDto.toDto(board, board.getUser().getNickname());
+        return boardCounterBuffer.readConsistent(() -> {
+            BoardResponseDto board = boardDetailCache.get(id, this::loadBoard);
+            return board.withCounts(
+                    board.getLikeCount() + boardCounterBuffer.pendingLiked(id),
+                    board.getFavoriteCount() + boardCounterBuffer.pendingFavorited(id));
+        });
     }
 
     // 게시글 수정
     @Transactional
     public BoardResponseDto editBoard(Long id, BoardUpdateRequest req) {
-        Board board = boardRepository.findById(id).orElseThrow(BoardNotFoundException::new);
-        User user = getCurrentUser();
+        Board board = boardRepository.findDetailById(id).orElseThrow(BoardNotFoundException::new);
+        UserPrincipal user = currentUserProvider.get();
 
         validateUser(board, user);
 
         Board.ImageUpdatedResult result = board.update(req);
 
-        uploadImages(result.getAddedImages(), result.getAddedImageFiles());
+        uploadImages(board.getId(), result.getAddedImages(), result.getAddedImageFiles());
         deleteImages(result.getDeletedImages());
+        eventPublisher.publishEvent(BoardChangedEvent.updated(board));
 
         return BoardResponseDto.toDto(board, user.getNickname());
     }
@@ -105,105 +137,213 @@ public class BoardService {
     @Transactional
     public void deleteBoard(Long id) {
         Board board = boardRepository.findById(id).orElseThrow(BoardNotFoundException::new);
-        User user = getCurrentUser();
+        UserPrincipal user = currentUserProvider.get();
 
         validateUser(board, user);
 
+        deleteImages(board.getImages());
         boardRepository.delete(board);
+        eventPublisher.publishEvent(BoardChangedEvent.deleted(board.getId()));
     }
 
-    // 게시글 검색
-    @Transactional(readOnly = true)
-    public List<BoardSimpleDto> searchBoard(String keyword, Pageable pageable) {
-        return boardRepository.findByTitleContaining(keyword, pageable).stream()
-                .map(BoardSimpleDto::toDto)
-                .collect(Collectors.toList());
+    // 게시글 검색 (제목 + 본문 역색인, 순위순)
+    // 색인 재구성이 끝나기 전(기동 직후, 재구성 실패)에는 DB 제목 LIKE 검색으로 대체한다.
+    // 이때는 본문은 검색하지 않고 순위 대신 요청한 정렬(기본 최신순)을 따른다.
+    // (본문까지 LIKE 로 찾으면 요청마다 게시글 본문 전체를 읽으므로 임시 경로에서는 제목만 본다)
+    public BoardSliceResponse searchBoard(String keyword, Pageable pageable) {
+        return boardCounterBuffer.readConsistent(() -> readSearch(keyword, pageable));
     }
 
-    // 게시글 좋아요 & 즐겨찾기
-    @Transactional // userDto (DTO), user (Entity)
-    public String likeAndFavoriteState(Long id, UserDto userDto, String action) {
-        Board board = boardRepository.findById(id)
-                .orElseThrow(BoardNotFoundException::new);
+    private BoardSliceResponse readSearch(String keyword, Pageable pageable) {
+        if (!boardSearchIndex.isReady()) {
+            return BoardSliceResponse.toDto(withPending(boardRepository.findSimpleByTitleContaining(keyword, pageable)));
+        }
+
+        // 요청한 페이지까지 + 1 개만 (다음 페이지 여부 판단용)
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize() + 1);
+        List<Long> ranked = boardSearchIndex.search(keyword, limit);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+
+        List<BoardSimpleDto> boards = findSimpleInOrder(ranked.subList(from, to));
+        return BoardSliceResponse.toDto(new SliceImpl<>(boards, pageable, to < ranked.size()));
+    }
 
-        // UserDto -> User entity 변환
-        User user = userDto.toEntity();
+    // 게시글 검색 (커서, 최신순)
+    public BoardCursorResponse searchBoardByCursor(String keyword, String after, int size) {
+        return boardCounterBuffer.readConsistent(() -> readSearchByCursor(keyword, after, size));
+    }
+
+    private BoardCursorResponse readSearchByCursor(String keyword, String after, int size) {
+        if (!boardSearchIndex.isReady()) {
+            return BoardCursorResponse.of(
+                    withPending(boardRepository.findSimpleByTitleContainingAndIdLessThan(keyword, BoardCursor.decode(after), PageRequest.of(0, size + 1))), size);
+        }
+
+        List<Long> ids = boardSearchIndex.searchBefore(keyword, BoardCursor.decode(after), size + 1);
+        return BoardCursorResponse.of(findSimpleInOrder(ids), size);
+    }
 
+    // 게시글 좋아요 & 즐겨찾기
+    // 게시글/회원 엔티티를 읽지 않고 (board_id, user_id) 로 INSERT IGNORE / DELETE 만 실행한다. (보통 SQL 1개)
+    @Transactional
+    public String likeAndFavoriteState(Long id, UserDto userDto, String action) {
+        currentUserProvider.requireExisting(userDto.getId(), userDto.getUsername());
         if ("like".equals(action)) {
-            return likeState(board, user);
+            return likeState(id, userDto.getId());
         } else if ("favorite".equals(action)) {
-            return favoriteState(board, user);
+            return favoriteState(id, userDto.getId());
         }
         throw new IllegalArgumentException("Invalid action: " + action);
     }
 
     // '좋아요' 가 가장 많은 게시글
-    @Transactional(readOnly = true)
-    public List<BoardSimpleDto> findBestBoards(Pageable pageable, Long minimum) {
-        return boardRepository.findByLikedGreaterThanEqual(pageable, minimum).stream()
-                .map(BoardSimpleDto::toDto)
-                .collect(toList());
+    // 좋아요 수 순위(BoardRanking)에서 상위 id 만 읽어 조회 (게시글 수와 무관하게 O(log n + size))
+    // 순위 적재 전이거나 0 이하 기준(좋아요 없는 게시글 포함)은 DB 정렬 조회로 대체
+    public BoardSliceResponse findBestBoards(Pageable pageable, Long minimum) {
+        return boardCounterBuffer.readConsistent(() -> readBestBoards(pageable, minimum));
     }
 
-    // 파일 업로드
-    private void uploadImages(List<Image> images, List<MultipartFile> fileImages) {
-        IntStream.range(0, images.size())
-                .forEach(i -> fileService.upload(fileImages.get(i), images.get(i).getUniqueName()));
+    private BoardSliceResponse readBestBoards(Pageable pageable, Long minimum) {
+        int bestMinimum = bestMinimum(minimum);
+        if (!boardRankingUpdater.isReady() || bestMinimum <= 0) {
+            return BoardSliceResponse.toDto(withPending(boardRepository.findSimpleByLikedGreaterThanEqual(bestMinimum, pageable)));
+        }
+
+        List<Long> ids = boardRanking.top(bestMinimum, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<BoardSimpleDto> boards = findSimpleInOrder(hasNext ? ids.subList(0, pageable.getPageSize()) : ids);
+        return BoardSliceResponse.toDto(new SliceImpl<>(boards, pageable, hasNext));
     }
 
-    // 파일 삭제
-    private void deleteImages(List<Image> images) {
-        images.forEach(image -> fileService.delete(image.getUniqueName()));
+    // '좋아요' 가 가장 많은 게시글 (커서, 최신순)
+    public BoardCursorResponse findBestBoardsByCursor(Long minimum, String after, int size) {
+        return boardCounterBuffer.readConsistent(() -> BoardCursorResponse.of(
+                withPending(boardRepository.findSimpleByLikedGreaterThanEqualAndIdLessThan(bestMinimum(minimum), BoardCursor.decode(after), PageRequest.of(0, size + 1))), size));
+    }
+
+    private BoardResponseDto loadBoard(Long id) {
+        Board board = boardRepository.findDetailById(id)
+                .orElseThrow(BoardNotFoundException::new);
+
+        // writer_nickname은 User 엔티티에 속한 데이터로, 중복 저장 않으려는 설계 원칙에 따라 Board 에 포함되지 않습니다.
+        return BoardResponseDto.toDto(board, board.getUser().getNickname());
+    }
+
+    // id 순서(검색 순위)를 유지한 채 목록 DTO 조회, 그 사이 삭제된 게시글은 제외
+    private List<BoardSimpleDto> findSimpleInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, BoardSimpleDto> found = boardRepository.findSimpleByIdIn(ids).stream()
+                .collect(toMap(BoardSimpleDto::getId, Function.identity()));
+        return withPending(ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(toList()));
+    }
+
+    // 목록의 좋아요/즐겨찾기 수에 아직 DB 에 반영되지 않은 증감을 더한다.
+    private <T extends Iterable<BoardSimpleDto>> T withPending(T boards) {
+        for (BoardSimpleDto board : boards) {
+            board.setLiked(board.getLiked() + boardCounterBuffer.pendingLiked(board.getId()));
+            board.setFavorited(board.getFavorited() + boardCounterBuffer.pendingFavorited(board.getId()));
+        }
+        return boards;
     }
 
-    // 현재 사용자 가져오기
-    // Controller 에서 파라미터의 @JwtAuth 를 이용하여 검증이 된 상태이므로 이 메서드를 생략 가능한 부분에서는 생략해도 괜찮다.
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByUsername(authentication.getName())
-                .orElseThrow(MemberNotFoundException::new);
+    // 추천 게시글 기준 좋아요 수 (지정하지 않으면 RECOMMEND_SET_COUNT)
+    private int bestMinimum(Long minimum) {
+        return minimum == null ? RECOMMEND_SET_COUNT : minimum.intValue();
     }
 
-    // 작성자 검증
-    private void validateUser(Board board, User user) {
-        if (!board.getUser().equals(user)) {
+    // 파일 업로드 (임시 영역에 저장 후, 커밋되면 비동기로 저장소에 저장)
+    private void uploadImages(Long boardId, List<Image> images, List<MultipartFile> fileImages) {
+        if (images.isEmpty()) {
+            return;
+        }
+        imageUploadPipeline.stage(images, fileImages);
+        eventPublisher.publishEvent(new ImagesStagedEvent(boardId, images));
+    }
+
+    // 파일 삭제 (같은 내용을 참조하는 다른 Image 가 없을 때만 파일을 지운다.)
+    private void deleteImages(List<Image> images) {
+        images.forEach(image -> imageBlobStore.release(image.getUniqueName()));
+    }
+
+    // 작성자 검증 (id 비교, 작성자 프록시를 초기화하지 않는다.)
+    private void validateUser(Board board, UserPrincipal user) {
+        if (!board.getUser().getId().equals(user.getId())) {
             throw new MemberNotEqualsException();
         }
     }
 
-    // 
-    private String likeState(Board board, User user) {
-        LikeBoard likeBoard = likeBoardRepository.findByBoardAndUser(board, user)
-                .orElse(null);
+    // 좋아요 토글 : 메모리 색인으로 현재 상태를 보고 INSERT IGNORE / DELETE 중 맞는 쪽을 먼저 실행
+    // 색인이 틀렸다면 (0 row) 나머지 하나로 보정한다. 같은 사용자가 동시에 눌러도 unique 제약 덕분에 row 는 하나뿐이고,
+    // 좋아요 수는 실제로 바뀐 row 수만큼만 증감한다.
+    private String likeState(Long boardId, Long userId) {
+        boolean liked = boardMembershipIndex.hasLiked(boardId, userId);
 
-        if (likeBoard == null) {
-            // 유저가 글에 처음 좋아요를 누른 경우
-            board.setLiked(board.getLiked() + 1); // 좋아요 수 증가
-            likeBoardRepository.save(new LikeBoard(board, user)); // LikeBoard 테이블 생성
+        if (!liked && like(boardId, userId)) {
             return SUCCESS_LIKE_BOARD;
-        } else {
-            // 유저가 이미 좋아요를 누른 경우 (좋아요 취소)
-            board.setLiked(board.getLiked() - 1); // 좋아요 수 감소
-            likeBoardRepository.delete(likeBoard); // LikeBoard 테이블 삭제
+        }
+        if (unlike(boardId, userId)) {
             return SUCCESS_UNLIKE_BOARD;
         }
+        if (liked && like(boardId, userId)) {
+            return SUCCESS_LIKE_BOARD;
+        }
+        // INSERT IGNORE 는 FK 위반(없는 게시글)도 0 row 로 무시한다.
+        throw new BoardNotFoundException();
     }
 
-    private String favoriteState(Board board, User user) {
-        Favorite favorite = favoriteRepository.findByBoardAndUser(board, user)
-                .orElse(null);
+    private String favoriteState(Long boardId, Long userId) {
+        boolean favorited = boardMembershipIndex.hasFavorited(boardId, userId);
 
-        if (favorite == null) {
-            // 유저가 글을 처음 즐겨찾기한 경우
-            board.setFavorited(board.getFavorited() + 1); // 즐겨찾기 수 증가
-            favoriteRepository.save(new Favorite(board, user)); // Favorite 테이블 생성
+        if (!favorited && favorite(boardId, userId)) {
             return SUCCESS_FAVORITE_BOARD;
-        } else {
-            // 유저가 이미 즐겨찾기한 경우 (즐겨찾기 취소)
-            board.setFavorited(board.getFavorited() - 1); // 즐겨찾기 수 감소
-            favoriteRepository.delete(favorite); // Favorite 테이블 삭제
+        }
+        if (unfavorite(boardId, userId)) {
             return SUCCESS_UNFAVORITE_BOARD;
         }
+        if (favorited && favorite(boardId, userId)) {
+            return SUCCESS_FAVORITE_BOARD;
+        }
+        throw new BoardNotFoundException();
+    }
+
+    // 유저가 글에 처음 좋아요를 누른 경우 : 좋아요 수 증가 (커밋 후 버퍼에 누적)
+    private boolean like(Long boardId, Long userId) {
+        if (likeBoardRepository.insertIfAbsent(snowflake.nextId(), boardId, userId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(BoardChangedEvent.counterChanged(boardId, userId, 1, 0));
+        return true;
+    }
+
+    // 유저가 이미 좋아요를 누른 경우 (좋아요 취소) : 좋아요 수 감소
+    private boolean unlike(Long boardId, Long userId) {
+        if (likeBoardRepository.deleteByBoardIdAndUserId(boardId, userId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(BoardChangedEvent.counterChanged(boardId, userId, -1, 0));
+        return true;
+    }
+
+    private boolean favorite(Long boardId, Long userId) {
+        if (favoriteRepository.insertIfAbsent(snowflake.nextId(), boardId, userId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(BoardChangedEvent.counterChanged(boardId, userId, 0, 1));
+        return true;
+    }
+
+    private boolean unfavorite(Long boardId, Long userId) {
+        if (favoriteRepository.deleteByBoardIdAndUserId(boardId, userId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(BoardChangedEvent.counterChanged(boardId, userId, 0, -1));
+        return true;
     }
 
 }
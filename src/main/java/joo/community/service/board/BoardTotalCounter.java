@@ -0,0 +1,61 @@
+package joo.community.service.board;
+
+import joo.community.repository.board.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardTotalCounter {
+
+    /*
+        전체 게시글 수 (근사값)
+        목록 요청마다 COUNT(*) 를 실행하지 않고, 주기적으로 한 번만 세어 메모리에 보관한다.
+        갱신 사이의 생성/삭제는 커밋된 뒤에 increment/decrement 로 반영한다. (롤백된 생성/삭제는 반영하지 않음)
+     */
+
+    private static final long NOT_LOADED = -1L;
+
+    private final BoardRepository boardRepository;
+
+    private final AtomicLong total = new AtomicLong(NOT_LOADED);
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${board.total-count.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            total.set(boardRepository.count());
+        } catch (RuntimeException e) {
+            log.warn("전체 게시글 수 갱신 실패", e);
+        }
+    }
+
+    // 아직 한 번도 세지 않았다면 null
+    public Long approximateTotal() {
+        long value = total.get();
+        return value == NOT_LOADED ? null : value;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.CREATED) {
+            increment();
+        } else if (event.getType() == BoardChangedEvent.Type.DELETED) {
+            decrement();
+        }
+    }
+
+    public void increment() {
+        total.getAndUpdate(v -> v == NOT_LOADED ? v : v + 1);
+    }
+
+    public void decrement() {
+        total.getAndUpdate(v -> v == NOT_LOADED || v == 0 ? v : v - 1);
+    }
+}
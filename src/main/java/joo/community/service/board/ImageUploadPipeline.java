@@ -0,0 +1,255 @@
+package joo.community.service.board;
+
+import joo.community.entity.board.Image;
+import joo.community.entity.board.ImageStatus;
+import joo.community.exception.FileUploadFailureException;
+import joo.community.repository.board.ImageRepository;
+import joo.community.service.file.ImageBlobStore;
+import joo.community.service.file.ImageVariantService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class ImageUploadPipeline {
+
+    /*
+        게시글 이미지 비동기 업로드
+        1. 요청 트랜잭션 안에서는 업로드 파일을 임시 영역(staging)에만 복사해 둔다.
+           복사하면서 SHA-256 을 계산해 Image 이름을 내용 주소로 바꾸고, ImageBlob 참조 수를 올린다. (ImageBlobStore)
+        2. 게시글이 커밋되면 작업 스레드가 임시 파일을 저장소로 옮기고 Image 상태를 READY / FAILED 로 바꾼다.
+           이미 저장된 내용이면 옮기지 않는다. 롤백되면 임시 파일을 지운다. (DB 에 없는 파일이 남지 않음)
+           같은 내용의 업로드는 같은 임시 파일을 함께 쓰므로, 끝나지 않은 업로드 수를 세어 마지막 업로드가 끝날 때만 지운다.
+        3. 저장이 끝나면 축소본 생성을 요청한다. (ImageVariantService)
+        -> 요청 시간과 DB 커넥션 점유 시간이 이미지 수/크기와 무관해진다.
+
+        작업 스레드 : Java 21+ 이면 virtual thread (Semaphore 로 동시 작업 수 제한),
+                    아니면 고정 크기 스레드 풀 + 제한된 대기열 (가득 차면 호출한 스레드에서 실행)
+     */
+
+    private static final int QUEUE_CAPACITY = 1_000;
+
+    private final ImageBlobStore imageBlobStore;
+    private final ImageVariantService imageVariantService;
+    private final ImageRepository imageRepository;
+    private final BoardDetailCache boardDetailCache;
+    private final Path stagingDirectory;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    // 임시 파일 이름별 끝나지 않은 (롤백되거나 저장 작업이 끝나지 않은) 업로드 수
+    private final ConcurrentHashMap<String, Integer> stagedCounts = new ConcurrentHashMap<>();
+
+    public ImageUploadPipeline(ImageBlobStore imageBlobStore,
+                               ImageVariantService imageVariantService,
+                               ImageRepository imageRepository,
+                               BoardDetailCache boardDetailCache,
+                               @Value("${upload.image.staging:${java.io.tmpdir}/community-staging}") String staging,
+                               @Value("${upload.image.workers:4}") int workers) throws IOException {
+        this.imageBlobStore = imageBlobStore;
+        this.imageVariantService = imageVariantService;
+        this.imageRepository = imageRepository;
+        this.boardDetailCache = boardDetailCache;
+        this.stagingDirectory = Files.createDirectories(Paths.get(staging));
+        this.permits = new Semaphore(workers);
+
+        ExecutorService virtualThreads = newVirtualThreadExecutor();
+        this.executor = virtualThreads != null ? virtualThreads : newBoundedExecutor(workers);
+    }
+
+    // 트랜잭션 안에서 호출 : 업로드 파일을 임시 영역에 저장하고 내용 주소로 이름을 정한다.
+    // 같은 내용의 업로드가 동시에 들어오면 같은 임시 파일을 (같은 내용으로) 덮어쓴다.
+    public void stage(List<Image> images, List<MultipartFile> files) {
+        int staged = 0;
+        try {
+            for (; staged < images.size(); staged++) {
+                stage(images.get(staged), files.get(staged));
+            }
+        } catch (RuntimeException e) {
+            // ImagesStagedEvent 가 발행되지 않으므로 (롤백되어도 onRolledBack 이 없음) 앞서 저장한 임시 파일을 여기서 정리
+            images.subList(0, staged).forEach(image -> unstage(image.getUniqueName()));
+            throw e;
+        }
+    }
+
+    private void stage(Image image, MultipartFile file) {
+        Path temp = null;
+        String retained = null;
+        boolean staged = false;
+        try {
+            temp = Files.createTempFile(stagingDirectory, "upload", ".tmp");
+            MessageDigest digest = ImageBlobStore.newDigest();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            image.addressBy(ImageBlobStore.toHex(digest.digest()));
+            // 옮기기 전에 세어야, 마지막 업로드를 정리하는 쪽이 방금 옮긴 파일을 지우지 않는다.
+            retained = retainStaged(image.getUniqueName());
+            Files.move(temp, stagingPath(image), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            imageBlobStore.acquire(image.getUniqueName());
+            staged = true;
+        } catch (IOException e) {
+            throw new FileUploadFailureException(e);
+        } finally {
+            if (!staged) {
+                deleteQuietly(temp);
+                if (retained != null) {
+                    unstage(retained);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommitted(ImagesStagedEvent event) {
+        event.getImages().forEach(image -> submit(event.getBoardId(), image.getId(), image.getUniqueName()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onRolledBack(ImagesStagedEvent event) {
+        event.getImages().forEach(image -> unstage(image.getUniqueName()));
+    }
+
+    // 저장 도중 종료되어 PENDING 으로 남은 이미지 복구
+    // 임시 파일이 남아 있으면 다시 저장, 같은 내용이 이미 저장되어 있으면 READY, 둘 다 없으면 FAILED
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<Image> pending = imageRepository.findByStatus(ImageStatus.PENDING);
+        for (Image image : pending) {
+            if (Files.exists(stagingPath(image))) {
+                retainStaged(image.getUniqueName());
+                submit(image.getBoard().getId(), image.getId(), image.getUniqueName());
+            } else if (imageBlobStore.isStored(image.getUniqueName())) {
+                imageRepository.updateStatus(image.getId(), ImageStatus.READY);
+            } else {
+                imageRepository.updateStatus(image.getId(), ImageStatus.FAILED);
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("저장되지 않은 이미지 복구 : {}건", pending.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("이미지 업로드 작업이 끝나지 않았습니다. 남은 이미지는 다음 기동 시 복구합니다.");
+        }
+    }
+
+    private void submit(Long boardId, Long imageId, String uniqueName) {
+        executor.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                store(boardId, imageId, uniqueName);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void store(Long boardId, Long imageId, String uniqueName) {
+        try {
+            storeStaged(boardId, imageId, uniqueName);
+        } finally {
+            unstage(uniqueName);
+        }
+    }
+
+    private void storeStaged(Long boardId, Long imageId, String uniqueName) {
+        // 커밋 후 작업이 실행되기 전에 게시글/이미지가 삭제되었으면 저장하지 않는다. (임시 파일은 store 에서 정리)
+        if (!imageRepository.existsById(imageId)) {
+            return;
+        }
+        ImageStatus status;
+        try {
+            imageBlobStore.store(stagingDirectory.resolve(uniqueName), uniqueName);
+            status = ImageStatus.READY;
+        } catch (RuntimeException e) {
+            log.error("이미지 저장 실패 : {}", uniqueName, e);
+            status = ImageStatus.FAILED;
+        }
+        imageRepository.updateStatus(imageId, status);
+        boardDetailCache.evict(boardId); // 캐시된 게시글의 이미지 상태 갱신
+        if (status == ImageStatus.READY) {
+            imageVariantService.generateAsync(uniqueName);
+        }
+    }
+
+    private String retainStaged(String name) {
+        stagedCounts.merge(name, 1, Integer::sum);
+        return name;
+    }
+
+    // 업로드 하나가 끝남 : 마지막이면 남은 임시 파일을 지운다. (지우는 동안 같은 이름의 retainStaged 는 기다린다.)
+    private void unstage(String name) {
+        stagedCounts.compute(name, (key, count) -> {
+            if (count == null || count <= 1) {
+                deleteQuietly(stagingDirectory.resolve(key));
+                return null;
+            }
+            return count - 1;
+        });
+    }
+
+    private Path stagingPath(Image image) {
+        return stagingDirectory.resolve(image.getUniqueName());
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패 : {}", path, e);
+        }
+    }
+
+    // Java 21+ : Executors.newVirtualThreadPerTaskExecutor() (Java 11 로 컴파일하므로 reflection 으로 호출)
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newBoundedExecutor(int workers) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
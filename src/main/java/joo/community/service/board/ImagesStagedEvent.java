@@ -0,0 +1,17 @@
+package joo.community.service.board;
+
+import joo.community.entity.board.Image;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImagesStagedEvent {
+
+    // 임시 영역에 저장된 게시글 이미지 (Image id 는 flush 시점에 정해지므로 커밋 이후에 읽는다.)
+
+    private final Long boardId;
+    private final List<Image> images;
+}
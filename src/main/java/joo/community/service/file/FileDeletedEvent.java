@@ -0,0 +1,13 @@
+package joo.community.service.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FileDeletedEvent {
+
+    // FileService.delete 로 지운 파일 이름 (ImageCache 무효화)
+
+    private final String filename;
+}
@@ -2,9 +2,23 @@ package joo.community.service.file;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+
 public interface FileService {
 
     void upload(MultipartFile file, String filename);
 
+    // 임시 영역에 저장해 둔 파일을 저장소로 옮긴다. (업로드 파이프라인에서 사용)
+    void upload(Path file, String filename);
+
+    boolean exists(String filename);
+
+    // 저장된 파일 읽기 (호출한 쪽에서 닫는다.)
+    InputStream read(String filename);
+
+    // 응답용 파일 위치 (없으면 ImageNotFoundException)
+    ImageFile open(String filename);
+
     void delete(String filename);
 }
\ No newline at end of file
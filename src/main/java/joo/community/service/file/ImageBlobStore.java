@@ -0,0 +1,126 @@
+package joo.community.service.file;
+
+import joo.community.repository.board.ImageBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+@Slf4j
+@Component
+public class ImageBlobStore {
+
+    /*
+        내용 주소 방식 이미지 저장소 (FileService 위에서 동작)
+        이미지 이름을 내용의 SHA-256 으로 정하므로, 같은 이미지는 몇 번을 올려도 파일 하나만 저장된다.
+        (디스크와 page cache 를 한 번만 쓰고, 이름이 내용을 나타내므로 응답을 영구 캐시할 수 있다.)
+
+        - acquire / release : Image 를 추가/삭제하는 트랜잭션 안에서 참조 수 증감
+        - store : 커밋 후 임시 파일을 저장소로 옮긴다. 이미 저장된 내용이면 임시 파일만 지운다.
+        - 참조 수가 0 이 되면 ImageBlob 을 지우고, 커밋된 뒤에 파일 (축소본 포함) 을 지운다.
+          (롤백되면 파일이 그대로 남아 Image 가 없는 파일을 가리키지 않는다.)
+
+        "파일이 있는지 확인 후 저장" 과 "참조 확인 후 파일 삭제" 가 엇갈리지 않도록 이름별 잠금(striped)을 건다.
+        (잠금은 인스턴스 안에서만 유효하다. ImageOrphanReconciler 도 같은 잠금을 쓴다.)
+     */
+
+    private static final int LOCK_STRIPES = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final FileService fileService;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageVariantService imageVariantService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public ImageBlobStore(FileService fileService, ImageBlobRepository imageBlobRepository,
+                          ImageVariantService imageVariantService, ApplicationEventPublisher eventPublisher) {
+        this.fileService = fileService;
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageVariantService = imageVariantService;
+        this.eventPublisher = eventPublisher;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM 이 지원
+        }
+    }
+
+    public static String toHex(byte[] digest) {
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    // 트랜잭션 안에서 호출
+    public void acquire(String name) {
+        imageBlobRepository.acquire(name);
+    }
+
+    // 트랜잭션 안에서 호출, 마지막 참조였으면 커밋 후 파일 삭제
+    // (ImageBlob 이 없으면 내용 주소 방식 이전의 파일이므로 바로 삭제 대상)
+    public void release(String name) {
+        if (imageBlobRepository.release(name) == 0 || imageBlobRepository.deleteIfUnreferenced(name) > 0) {
+            eventPublisher.publishEvent(new ImageReleasedEvent(name));
+        }
+    }
+
+    // 그 사이 같은 내용이 다시 업로드되어 ImageBlob 이 생겼으면 지우지 않는다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReleased(ImageReleasedEvent event) {
+        String name = event.getName();
+        synchronized (lockFor(name)) {
+            if (!imageBlobRepository.existsById(name)) {
+                deleteFiles(name);
+            }
+        }
+    }
+
+    // 커밋 후 호출 : 임시 파일을 저장소로 옮긴다. (이미 있으면 임시 파일만 삭제)
+    public void store(Path staged, String name) {
+        synchronized (lockFor(name)) {
+            if (fileService.exists(name)) {
+                deleteQuietly(staged);
+                return;
+            }
+            fileService.upload(staged, name);
+        }
+    }
+
+    public boolean isStored(String name) {
+        return fileService.exists(name);
+    }
+
+    private void deleteFiles(String name) {
+        fileService.delete(name);
+        imageVariantService.delete(name);
+    }
+
+    Object lockFor(String name) {
+        return locks[(name.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패 : {}", path, e);
+        }
+    }
+}
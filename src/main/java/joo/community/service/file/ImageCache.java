@@ -0,0 +1,422 @@
+package joo.community.service.file;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import joo.community.config.cache.FrequencySketch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class ImageCache {
+
+    /*
+        자주 요청되는 이미지 (배너, 인기 게시글) 의 내용을 힙 밖 메모리에 담아 두는 캐시 (/image/{name})
+        - direct ByteBuffer slab (16MB) 을 필요할 때 max-bytes 까지 할당하고, 16KB 페이지 단위로 나누어 쓴다.
+          내용이 힙에 없으므로 캐시가 커져도 GC 대상이 늘지 않는다.
+        - 교체는 LRU, 입장은 TinyLFU : 새 이미지는 밀려날 이미지들보다 최근 요청 빈도가 높을 때만 들어온다.
+          (한 번 요청되고 마는 이미지가 인기 이미지를 밀어내지 않는다.)
+        - 조회 (acquire) 는 잠금을 잡지 않는다. ConcurrentHashMap 에서 찾아 pin 하고, 요청 이름만 큐에 남긴다.
+          빈도 기록과 LRU 순서 갱신은 쌓인 기록을 잠금을 잡을 수 있을 때 (입장, 또는 기록이 쌓였을 때 tryLock) 한꺼번에 반영한다.
+          반영이 밀려 기록이 너무 많이 쌓이면 일부는 버린다. (빈도, 순서 모두 근사로 충분)
+        - 응답 중인 항목은 pin 해 두고, 그 사이 밀려나거나 무효화되면 응답이 끝난 뒤 페이지를 돌려받는다.
+        - FileService.delete 가 알린 (FileDeletedEvent) 이름은 바로 무효화한다.
+        - 요청 수 (hit / miss), 밀려난 수, 입장 거절 수, 사용 중인 바이트를 Micrometer 로 노출
+     */
+
+    static final int PAGE_BYTES = 16 * 1024;
+    private static final int PAGES_PER_SLAB = 1024; // 16MB
+    private static final int AVERAGE_IMAGE_BYTES = 32 * 1024; // 빈도 기록 크기 추정용
+    private static final int READ_DRAIN_THRESHOLD = 64;      // 이만큼 쌓이면 조회한 스레드가 반영을 시도
+    private static final int READ_BUFFER_LIMIT = 16 * 1024;  // 이보다 많이 쌓이면 새 기록은 버린다.
+
+    private final int maxPages;
+    private final long maxItemBytes;
+    private final ByteBuffer[] slabs;
+    private final int[] freePages;
+    private int freeCount;
+    private int allocatedPages;
+
+    // 아래 필드 (페이지, LRU 순서, 빈도, 사용량) 는 lock 안에서만 변경한다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>(); // 조회용 (잠금 없이 읽음)
+    private final Map<String, Entry> order = new LinkedHashMap<>(16, 0.75f, true);    // LRU 순서 (lock)
+    private final FrequencySketch sketch;
+    private long usedBytes;
+    private long invalidations;
+
+    // 아직 반영하지 않은 조회 기록 (이미지 이름)
+    private final ConcurrentLinkedQueue<String> reads = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingReads = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public ImageCache(@Value("${upload.image.cache.max-bytes:268435456}") long maxBytes,
+                      @Value("${upload.image.cache.max-item-bytes:1048576}") long maxItemBytes,
+                      MeterRegistry meterRegistry) {
+        this.maxPages = (int) Math.min(maxBytes / PAGE_BYTES, Integer.MAX_VALUE);
+        this.maxItemBytes = maxItemBytes;
+        this.freePages = new int[maxPages];
+        this.slabs = new ByteBuffer[(maxPages + PAGES_PER_SLAB - 1) / PAGES_PER_SLAB];
+        this.sketch = new FrequencySketch((int) Math.max(16, Math.min(maxBytes / AVERAGE_IMAGE_BYTES, 1 << 24)));
+        bindTo(meterRegistry);
+    }
+
+    // 캐시된 이미지 (없으면 null), 응답 후 반드시 release 한다.
+    public Entry acquire(String name) {
+        recordRead(name);
+        Entry entry = entries.get(name);
+        if (entry != null && entry.pin()) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    // 캐시에 없던 이미지를 응답한 뒤 호출 : 입장 정책을 통과하면 내용을 읽어 담는다.
+    public void admit(ImageFile file) {
+        if (maxPages == 0 || file.isSubstitute() || file.getLength() == 0 || file.getLength() > maxItemBytes) {
+            return;
+        }
+        String name = file.getName();
+        int pageCount = (int) ((file.getLength() + PAGE_BYTES - 1) / PAGE_BYTES);
+        int[] pages;
+        long generation;
+        lock.lock();
+        try {
+            drainReads();
+            if (entries.containsKey(name) || !makeRoom(name, pageCount)) {
+                return;
+            }
+            pages = new int[pageCount];
+            for (int i = 0; i < pageCount; i++) {
+                pages[i] = freePages[--freeCount];
+            }
+            generation = invalidations;
+        } finally {
+            lock.unlock();
+        }
+
+        Entry entry = new Entry(this, file, pages);
+        try {
+            load(entry);
+        } catch (IOException e) {
+            log.debug("이미지 캐시 적재 실패 : {}", name, e);
+            lock.lock();
+            try {
+                returnPages(pages);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        lock.lock();
+        try {
+            // 읽는 동안 무효화되었거나 다른 요청이 먼저 담았으면 버린다.
+            if (generation != invalidations || entries.containsKey(name)) {
+                returnPages(pages);
+                return;
+            }
+            order.put(name, entry);
+            entries.put(name, entry);
+            usedBytes += file.getLength();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String name) {
+        lock.lock();
+        try {
+            invalidations++;
+            Entry entry = entries.remove(name);
+            if (entry != null) {
+                order.remove(name);
+                evict(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onFileDeleted(FileDeletedEvent event) {
+        invalidate(event.getFilename());
+    }
+
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    // 조회 기록을 남기고, 충분히 쌓였으면 잠금이 비어 있을 때만 반영한다. (조회가 잠금을 기다리지 않는다.)
+    private void recordRead(String name) {
+        if (pendingReads.incrementAndGet() > READ_BUFFER_LIMIT) {
+            pendingReads.decrementAndGet();
+            return;
+        }
+        reads.offer(name);
+        if (pendingReads.get() >= READ_DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // lock 안에서 호출 : 쌓인 조회를 빈도와 LRU 순서에 반영 (계속 쌓이는 중이어도 한 번에 READ_BUFFER_LIMIT 개까지만)
+    private void drainReads() {
+        String name;
+        for (int drained = 0; drained < READ_BUFFER_LIMIT && (name = reads.poll()) != null; drained++) {
+            pendingReads.decrementAndGet();
+            sketch.increment(name);
+            order.get(name); // access order 이므로 가장 최근으로 옮겨진다.
+        }
+    }
+
+    // 빈 페이지를 pageCount 개 확보한다. 밀어낼 항목 중 하나라도 새 이미지보다 자주 요청되면 입장 거절
+    private boolean makeRoom(String name, int pageCount) {
+        if (pageCount > maxPages) {
+            return false;
+        }
+        while (freeCount < pageCount && allocatedPages < maxPages) {
+            allocateSlab();
+        }
+        if (freeCount >= pageCount) {
+            return true;
+        }
+
+        int candidate = sketch.frequency(name);
+        List<Entry> victims = new ArrayList<>();
+        int reclaimable = freeCount;
+        for (Iterator<Entry> iterator = order.values().iterator(); iterator.hasNext() && reclaimable < pageCount; ) {
+            Entry victim = iterator.next(); // 오래 사용되지 않은 순서
+            if (sketch.frequency(victim.file.getName()) >= candidate) {
+                rejections.increment();
+                return false;
+            }
+            victims.add(victim);
+            reclaimable += victim.pins() == 0 ? victim.pages.length : 0;
+        }
+        if (reclaimable < pageCount) {
+            rejections.increment(); // 응답 중인 항목이 많아 당장 자리가 없음
+            return false;
+        }
+        for (Entry victim : victims) {
+            order.remove(victim.file.getName());
+            entries.remove(victim.file.getName(), victim);
+            evict(victim);
+        }
+        // 세는 사이에 pin 된 항목은 응답이 끝나야 페이지가 돌아오므로 다시 확인
+        if (freeCount < pageCount) {
+            rejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    // lock 안에서 호출, entries 에서 제거된 항목 : 응답 중이 아니면 페이지를 바로 돌려받는다.
+    private void evict(Entry entry) {
+        usedBytes -= entry.file.getLength();
+        evictions.increment();
+        if (entry.markEvicted()) {
+            returnPages(entry.pages);
+        }
+    }
+
+    // 제거된 항목의 마지막 응답이 끝남
+    private void reclaim(Entry entry) {
+        lock.lock();
+        try {
+            returnPages(entry.pages);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void returnPages(int[] pages) {
+        for (int page : pages) {
+            freePages[freeCount++] = page;
+        }
+    }
+
+    private void allocateSlab() {
+        int pages = Math.min(PAGES_PER_SLAB, maxPages - allocatedPages);
+        slabs[allocatedPages / PAGES_PER_SLAB] = ByteBuffer.allocateDirect(pages * PAGE_BYTES);
+        for (int i = pages - 1; i >= 0; i--) {
+            freePages[freeCount++] = allocatedPages + i;
+        }
+        allocatedPages += pages;
+    }
+
+    private long allocatedBytes() {
+        lock.lock();
+        try {
+            return (long) allocatedPages * PAGE_BYTES;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 페이지 하나를 가리키는 조각
+    // 페이지는 항상 잠금 안에서 (slab 할당 이후) 넘겨받고, 항목은 그 뒤에 entries 에 담기므로
+    // 잠금 없이 조회한 스레드도 slab 배열을 잠금 없이 읽어도 된다.
+    private ByteBuffer page(int page) {
+        ByteBuffer slab = slabs[page / PAGES_PER_SLAB].duplicate();
+        int offset = (page % PAGES_PER_SLAB) * PAGE_BYTES;
+        slab.position(offset);
+        slab.limit(offset + PAGE_BYTES);
+        return slab.slice();
+    }
+
+    private void load(Entry entry) throws IOException {
+        try (FileChannel channel = entry.file.openChannel()) {
+            long position = entry.file.getOffset();
+            long remaining = entry.file.getLength();
+            for (int page : entry.pages) {
+                ByteBuffer buffer = page(page);
+                buffer.limit((int) Math.min(PAGE_BYTES, remaining));
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new EOFException(entry.file.getName());
+                    }
+                    position += read;
+                }
+                remaining -= buffer.limit();
+            }
+        }
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, ImageCache::hitCount)
+                .tag("cache", "image").tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", this, ImageCache::missCount)
+                .tag("cache", "image").tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", this, cache -> cache.evictions.sum())
+                .tag("cache", "image").register(registry);
+        FunctionCounter.builder("cache.admission.rejections", this, cache -> cache.rejections.sum())
+                .tag("cache", "image").register(registry);
+        Gauge.builder("cache.size", this, ImageCache::size)
+                .tag("cache", "image").register(registry);
+        Gauge.builder("cache.hit.ratio", this, ImageCache::hitRatio)
+                .tag("cache", "image").register(registry);
+        Gauge.builder("cache.bytes", this, ImageCache::usedBytes)
+                .tag("cache", "image").baseUnit("bytes").register(registry);
+        Gauge.builder("cache.allocated.bytes", this, ImageCache::allocatedBytes)
+                .tag("cache", "image").baseUnit("bytes").register(registry);
+    }
+
+    public static final class Entry {
+
+        private final ImageCache cache;
+        private final ImageFile file;
+        private static final int EVICTED = 1 << 30;
+
+        private final int[] pages;
+        // 응답 중인 요청 수 | EVICTED (제거됨, 이후로는 pin 불가, 마지막 응답이 끝나면 페이지 반환)
+        private final AtomicInteger state = new AtomicInteger();
+
+        private Entry(ImageCache cache, ImageFile file, int[] pages) {
+            this.cache = cache;
+            this.file = file;
+            this.pages = pages;
+        }
+
+        // 응답 헤더용 (이름, 길이, 수정 시각)
+        public ImageFile getFile() {
+            return file;
+        }
+
+        // [start, end) 구간을 그대로 쓴다.
+        public void writeTo(WritableByteChannel out, long start, long end) throws IOException {
+            long position = start;
+            while (position < end) {
+                int index = (int) (position / PAGE_BYTES);
+                int offset = (int) (position % PAGE_BYTES);
+                ByteBuffer buffer = cache.page(pages[index]);
+                buffer.position(offset);
+                buffer.limit((int) Math.min(PAGE_BYTES, offset + (end - position)));
+                position += buffer.remaining();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+        }
+
+        public void release() {
+            if (state.decrementAndGet() == EVICTED) {
+                cache.reclaim(this);
+            }
+        }
+
+        // 제거된 뒤에는 실패 (페이지가 곧 다른 이미지에 쓰일 수 있음)
+        private boolean pin() {
+            while (true) {
+                int current = state.get();
+                if ((current & EVICTED) != 0) {
+                    return false;
+                }
+                if (state.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        // 응답 중이 아니었으면 true (호출한 쪽이 바로 페이지를 돌려받는다.)
+        private boolean markEvicted() {
+            return (state.getAndUpdate(current -> current | EVICTED) & ~EVICTED) == 0;
+        }
+
+        private int pins() {
+            return state.get() & ~EVICTED;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package joo.community.service.file;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Getter
+public class ImageFile {
+
+    /*
+        응답할 이미지 파일의 위치 (디스크 파일의 offset ~ offset + length 구간)
+        응답 시 파일 채널에서 소켓으로 바로 보낼 수 있도록 경로를 그대로 넘긴다. (sendfile / transferTo)
+     */
+
+    private final String name;
+    private final Path path;
+    private final long offset;
+    private final long length;
+    private final long lastModified;
+    private final boolean substitute; // 요청한 축소본 대신 원본으로 응답하는 경우 (영구 캐시하면 안 됨)
+
+    public ImageFile(String name, Path path, long offset, long length, long lastModified) {
+        this(name, path, offset, length, lastModified, false);
+    }
+
+    private ImageFile(String name, Path path, long offset, long length, long lastModified, boolean substitute) {
+        this.name = name;
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.substitute = substitute;
+    }
+
+    public ImageFile asSubstitute() {
+        return new ImageFile(name, path, offset, length, lastModified, true);
+    }
+
+    public FileChannel openChannel() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+}
@@ -0,0 +1,263 @@
+package joo.community.service.file;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import joo.community.entity.board.ImageVariant;
+import joo.community.repository.board.ImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class ImageOrphanReconciler {
+
+    /*
+        어떤 Image 도 가리키지 않는 저장소 파일 (고아 파일) 정리
+        (파일 삭제 전에 죽은 프로세스, 커밋 후 삭제 실패, 중단된 쓰기 (.part) 등으로 남은 파일)
+
+        - 저장소를 디렉토리 단위로 훑으며 grace-hours 보다 오래된 파일만 대상으로 삼는다. (업로드 중인 파일 보호)
+        - BATCH_SIZE 개씩 이름을 모아 "uniqueName in (...)" 한 번으로 참조 여부를 확인한다. (파일마다 조회하지 않음)
+          축소본 (이름_w640.png) 은 원본 이름으로 확인한다.
+        - 고아로 판단된 파일은 ImageBlobStore 와 같은 이름별 잠금 안에서 한 번 더 확인한 뒤
+          quarantine 디렉토리로 옮기거나 (mode = quarantine, 기본값) 지운다. (mode = delete)
+        - 초당 max-per-second 개까지만 처리해 디스크 I/O 를 독점하지 않는다.
+     */
+
+    public enum Mode {
+        QUARANTINE, DELETE
+    }
+
+    static final String QUARANTINE_DIRECTORY = "quarantine";
+    private static final int BATCH_SIZE = 500;
+    private static final Pattern SHARD = Pattern.compile("^[0-9a-f]{2}$");
+
+    private final ImageStorageLayout layout;
+    private final ImageRepository imageRepository;
+    private final ImageBlobStore imageBlobStore;
+    private final boolean enabled;
+    private final long graceMillis;
+    private final Mode mode;
+    private final int maxPerSecond;
+
+    private final Counter scanned;
+    private final Counter deleted;
+    private final Counter quarantined;
+    private final Counter reclaimedBytes;
+
+    private long windowStart;
+    private int inWindow;
+    private volatile boolean stopped;
+
+    public ImageOrphanReconciler(@Value("${upload.image.location}") String location,
+                                 ImageRepository imageRepository,
+                                 ImageBlobStore imageBlobStore,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${upload.image.reconcile.enabled:false}") boolean enabled,
+                                 @Value("${upload.image.reconcile.grace-hours:24}") long graceHours,
+                                 @Value("${upload.image.reconcile.mode:quarantine}") String mode,
+                                 @Value("${upload.image.reconcile.max-per-second:100}") int maxPerSecond) {
+        this.layout = new ImageStorageLayout(Paths.get(location));
+        this.imageRepository = imageRepository;
+        this.imageBlobStore = imageBlobStore;
+        this.enabled = enabled;
+        this.graceMillis = TimeUnit.HOURS.toMillis(graceHours);
+        this.mode = Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        this.maxPerSecond = maxPerSecond;
+
+        this.scanned = Counter.builder("image.orphans.scanned").register(meterRegistry);
+        this.deleted = Counter.builder("image.orphans.files").tag("action", "deleted").register(meterRegistry);
+        this.quarantined = Counter.builder("image.orphans.files").tag("action", "quarantined").register(meterRegistry);
+        this.reclaimedBytes = Counter.builder("image.orphans.reclaimed.bytes").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${upload.image.reconcile.cron:0 0 4 * * *}")
+    public void scheduled() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    // 정리한 고아 파일 수
+    public synchronized long reconcile() {
+        long cutoff = System.currentTimeMillis() - graceMillis;
+        long reclaimed = 0;
+        windowStart = System.nanoTime();
+        inWindow = 0;
+        try {
+            List<Path> batch = new ArrayList<>(BATCH_SIZE);
+            reclaimed += scan(layout.getRoot(), cutoff, batch); // 이전 방식 (location 바로 아래)
+            for (Path first : shards(layout.getRoot())) {
+                for (Path second : shards(first)) {
+                    if (stopped) {
+                        return reclaimed;
+                    }
+                    reclaimed += scan(second, cutoff, batch);
+                }
+            }
+            reclaimed += reconcile(batch);
+        } catch (IOException e) {
+            log.error("고아 이미지 정리 실패 ({}건 정리됨)", reclaimed, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("고아 이미지 정리 종료 : {}건 ({})", reclaimed, mode);
+        return reclaimed;
+    }
+
+    private long scan(Path directory, long cutoff, List<Path> batch) throws IOException, InterruptedException {
+        long reclaimed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = attributesOf(file);
+                if (attributes == null || !attributes.isRegularFile() || attributes.lastModifiedTime().toMillis() > cutoff) {
+                    continue;
+                }
+                scanned.increment();
+                batch.add(file);
+                if (batch.size() == BATCH_SIZE) {
+                    reclaimed += reconcile(batch);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return reclaimed; // 그 사이 삭제된 디렉토리
+        }
+        return reclaimed;
+    }
+
+    // 모은 파일 중 참조되지 않는 파일 정리 후 batch 를 비운다.
+    private long reconcile(List<Path> batch) throws InterruptedException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Set<String> owners = new HashSet<>();
+        for (Path file : batch) {
+            String owner = ownerOf(file.getFileName().toString());
+            if (owner != null) {
+                owners.add(owner);
+            }
+        }
+        Set<String> referenced = owners.isEmpty()
+                ? Collections.emptySet() : new HashSet<>(imageRepository.findUniqueNamesIn(owners));
+
+        long reclaimed = 0;
+        for (Path file : batch) {
+            String owner = ownerOf(file.getFileName().toString());
+            if (owner != null && referenced.contains(owner)) {
+                continue;
+            }
+            if (stopped) {
+                break;
+            }
+            if (reclaim(file, owner)) {
+                reclaimed++;
+                pace();
+            }
+        }
+        batch.clear();
+        return reclaimed;
+    }
+
+    // 파일을 참조하는 Image.uniqueName (쓰다 만 임시 파일이면 null : 항상 고아)
+    static String ownerOf(String filename) {
+        if (filename.endsWith(".part") || filename.endsWith(".tmp")) {
+            return null;
+        }
+        ImageVariant variant = ImageVariant.parse(filename);
+        return variant == null ? filename : variant.getOriginal();
+    }
+
+    // 조회 후 그 사이에 같은 내용이 다시 업로드되었을 수 있으므로 잠금 안에서 한 번 더 확인한다.
+    private boolean reclaim(Path file, String owner) {
+        if (owner == null) {
+            return reclaimUnchecked(file);
+        }
+        synchronized (imageBlobStore.lockFor(owner)) {
+            if (imageRepository.existsByUniqueName(owner)) {
+                return false;
+            }
+            return reclaimUnchecked(file);
+        }
+    }
+
+    private boolean reclaimUnchecked(Path file) {
+        try {
+            long size = Files.size(file);
+            if (mode == Mode.QUARANTINE) {
+                Path target = layout.getRoot().resolve(QUARANTINE_DIRECTORY).resolve(file.getFileName());
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                quarantined.increment();
+            } else {
+                Files.delete(file);
+                deleted.increment();
+            }
+            reclaimedBytes.increment(size);
+            log.debug("고아 이미지 정리 ({}) : {}", mode, file);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false; // 그 사이 삭제 또는 이전됨
+        } catch (IOException e) {
+            log.warn("고아 이미지 정리 실패 : {}", file, e);
+            return false;
+        }
+    }
+
+    // 1초에 maxPerSecond 개를 넘으면 남은 시간만큼 쉰다.
+    private void pace() throws InterruptedException {
+        if (++inWindow < maxPerSecond) {
+            return;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - windowStart);
+        if (elapsed < 1000) {
+            Thread.sleep(1000 - elapsed);
+        }
+        windowStart = System.nanoTime();
+        inWindow = 0;
+    }
+
+    // 나눈 경로의 디렉토리 (00 ~ ff) 를 이름 순으로
+    private static List<Path> shards(Path directory) throws IOException {
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory,
+                path -> SHARD.matcher(path.getFileName().toString()).matches() && Files.isDirectory(path))) {
+            children.forEach(shards::add);
+        } catch (NoSuchFileException e) {
+            return shards;
+        }
+        Collections.sort(shards);
+        return shards;
+    }
+
+    private static BasicFileAttributes attributesOf(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package joo.community.service.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImageReleasedEvent {
+
+    // 마지막 참조가 사라진 이미지 파일 이름 (커밋 후 파일 삭제)
+
+    private final String name;
+}
@@ -0,0 +1,74 @@
+package joo.community.service.file;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+public class ImageStorageLayout {
+
+    /*
+        저장소 디렉토리 구조 : location/ab/cd/파일이름
+        ab, cd 는 파일 이름 CRC32 의 상위 두 바이트 (16진수) -> 디렉토리 65536 개에 고르게 나뉜다.
+        한 디렉토리에 파일이 수백만 개 쌓이면 조회/삭제/백업이 느려지므로 나누어 저장한다.
+
+        새 파일은 항상 나눈 경로에 쓰고, 읽을 때는 이전 방식(location/파일이름)도 함께 찾는다.
+        (ImageStorageMigrator 가 기존 파일을 옮기는 동안에도 중단 없이 동작)
+     */
+
+    private final Path root;
+
+    public ImageStorageLayout(Path root) {
+        this.root = root;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // 나눈 경로 (새로 쓸 위치)
+    public Path pathOf(String filename) {
+        CRC32 crc = new CRC32();
+        crc.update(filename.getBytes(StandardCharsets.UTF_8));
+        long value = crc.getValue();
+        return root.resolve(hex(value >>> 24)).resolve(hex(value >>> 16)).resolve(filename);
+    }
+
+    // 이전 방식의 경로
+    public Path flatPathOf(String filename) {
+        return root.resolve(filename);
+    }
+
+    // 쓰기 전 호출 : 나눈 경로의 상위 디렉토리 생성
+    public Path prepare(String filename) throws IOException {
+        Path path = pathOf(filename);
+        Files.createDirectories(path.getParent());
+        return path;
+    }
+
+    // 저장된 파일 위치 (없으면 null)
+    // 나눈 경로 -> 이전 경로 -> 나눈 경로 순으로 찾는다. (두 번째 확인 사이에 옮겨진 경우)
+    public Path locate(String filename) {
+        Path sharded = pathOf(filename);
+        if (Files.isRegularFile(sharded)) {
+            return sharded;
+        }
+        Path flat = flatPathOf(filename);
+        if (Files.isRegularFile(flat)) {
+            return flat;
+        }
+        return Files.isRegularFile(sharded) ? sharded : null;
+    }
+
+    // 이전 경로 -> 나눈 경로 순으로 지운다. (그 사이에 옮겨져도 남지 않음)
+    public boolean delete(String filename) throws IOException {
+        boolean deleted = Files.deleteIfExists(flatPathOf(filename));
+        return Files.deleteIfExists(pathOf(filename)) || deleted;
+    }
+
+    private static String hex(long value) {
+        String hex = Integer.toHexString((int) (value & 0xFF));
+        return hex.length() == 1 ? "0" + hex : hex;
+    }
+}
@@ -0,0 +1,107 @@
+package joo.community.service.file;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+@Slf4j
+@Component
+public class ImageStorageMigrator {
+
+    /*
+        location 바로 아래에 저장된 (이전 방식) 파일을 ImageStorageLayout 경로 (ab/cd/파일이름) 로 옮긴다.
+        - upload.image.migration.enabled = true 이면 기동 후 백그라운드 스레드에서 실행
+        - batch-size 개씩 옮기고 pause-ms 만큼 쉬어 디스크 I/O 를 독점하지 않는다.
+        - 같은 디스크 안의 rename 이라 파일 내용을 복사하지 않으며, 옮기는 중에도 읽기/삭제는
+          ImageStorageLayout.locate / delete 가 두 경로를 모두 확인하므로 중단 없이 동작한다.
+        - 쓰는 중인 임시 파일 (.part / .tmp) 은 건너뛴다.
+     */
+
+    private final ImageStorageLayout layout;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+    private volatile boolean stopped;
+
+    public ImageStorageMigrator(@Value("${upload.image.location}") String location,
+                                @Value("${upload.image.migration.enabled:false}") boolean enabled,
+                                @Value("${upload.image.migration.batch-size:1000}") int batchSize,
+                                @Value("${upload.image.migration.pause-ms:200}") long pauseMillis) {
+        this.layout = new ImageStorageLayout(Paths.get(location));
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::migrate, "image-storage-migrator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    // 옮긴 파일 수
+    public long migrate() {
+        long moved = 0;
+        int inBatch = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(layout.getRoot(), this::isFlatImage)) {
+            for (Path file : files) {
+                if (stopped) {
+                    break;
+                }
+                if (move(file)) {
+                    moved++;
+                }
+                if (++inBatch == batchSize) {
+                    inBatch = 0;
+                    log.info("이미지 저장 경로 이전 중 : {}건", moved);
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        } catch (IOException e) {
+            log.error("이미지 저장 경로 이전 실패 ({}건 이전됨)", moved, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("이미지 저장 경로 이전 종료 : {}건", moved);
+        return moved;
+    }
+
+    private boolean move(Path file) {
+        String filename = file.getFileName().toString();
+        try {
+            Path target = layout.prepare(filename);
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE); // 같은 이름이면 내용도 같다. (UUID / SHA-256)
+            return true;
+        } catch (NoSuchFileException e) {
+            return false; // 그 사이 삭제됨
+        } catch (IOException e) {
+            log.warn("이미지 이전 실패 : {}", file, e);
+            return false;
+        }
+    }
+
+    private boolean isFlatImage(Path path) {
+        String filename = path.getFileName().toString();
+        return Files.isRegularFile(path) && !filename.endsWith(".part") && !filename.endsWith(".tmp");
+    }
+}
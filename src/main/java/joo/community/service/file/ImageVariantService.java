@@ -0,0 +1,252 @@
+package joo.community.service.file;
+
+import joo.community.entity.board.ImageVariant;
+import joo.community.exception.ImageNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class ImageVariantService {
+
+    /*
+        게시글 이미지 축소본 생성 (ImageVariant : 너비 200 / 640 / 1280)
+        - 원본 저장이 끝나면 제한된 크기의 작업 풀에서 만든다. (대기열이 가득 차면 건너뛰고, 처음 요청될 때 만든다.)
+        - 없는 축소본이 요청되면 그 자리에서 만든다. 같은 원본에 대한 생성은 한 번만 실행하고,
+          동시에 들어온 요청은 그 결과를 함께 기다린다. (single-flight)
+        - 원본을 한 번만 디코딩하고 큰 너비부터 차례로 줄인다. (1280 -> 640 -> 200)
+        - 원본이 목표 너비보다 작으면 원본을 그대로 복사한다. (확대하지 않음)
+        JDK ImageIO 만 사용하며, 디코딩한 이미지가 메모리를 많이 쓰므로 동시 작업 수를 workers 로 제한한다.
+        디코딩 전에 헤더의 가로 x 세로를 읽어 maxPixels 를 넘으면 만들지 않는다. (작은 파일이 거대한 이미지로 풀리는 경우 방지, 원본으로 응답)
+     */
+
+    private static final int QUEUE_CAPACITY = 1_000;
+    private static final long WAIT_SECONDS = 10;
+
+    private final FileService fileService;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariantService(FileService fileService,
+                               @Value("${upload.image.variant.workers:2}") int workers,
+                               @Value("${upload.image.variant.max-pixels:40000000}") long maxPixels) {
+        this.fileService = fileService;
+        this.maxPixels = maxPixels;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ImageIO.setUseCache(false); // 디코딩 중간 결과를 임시 파일 대신 메모리에 둔다.
+    }
+
+    // 응답할 이미지 파일 (/image/{name})
+    // 아직 없는 축소본이면 그 자리에서 만들고, 만들 수 없거나 오래 걸리면 원본으로 대신한다.
+    public ImageFile open(String name) {
+        if (fileService.exists(name)) {
+            return fileService.open(name);
+        }
+        ImageVariant variant = ImageVariant.parse(name);
+        if (variant == null) {
+            throw new ImageNotFoundException();
+        }
+
+        try {
+            generate(variant.getOriginal()).get(WAIT_SECONDS, TimeUnit.SECONDS);
+            if (fileService.exists(name)) {
+                return fileService.open(name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("축소본 생성 실패, 원본으로 응답 : {}", name, e);
+        }
+        return fileService.open(variant.getOriginal()).asSubstitute();
+    }
+
+    // 원본 저장 후 호출 : 없는 축소본을 백그라운드에서 만든다.
+    public void generateAsync(String original) {
+        if (ImageVariant.formatOf(original) != null) {
+            generate(original);
+        }
+    }
+
+    // 원본의 축소본이 모두 만들어질 때까지 기다린다. (이미 진행 중이면 그 작업을 함께 기다림)
+    public CompletableFuture<Void> generate(String original) {
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(original, created);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    createVariants(original);
+                    created.complete(null);
+                } catch (RuntimeException e) {
+                    log.warn("축소본 생성 실패 : {}", original, e);
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(original, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(original, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    // 원본과 함께 축소본 삭제
+    public void delete(String original) {
+        ImageVariant.namesOf(original).values().forEach(fileService::delete);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void createVariants(String original) {
+        String format = ImageVariant.formatOf(original);
+        if (format == null || !fileService.exists(original)) {
+            return;
+        }
+
+        BufferedImage current = null;
+        for (int i = ImageVariant.WIDTHS.length - 1; i >= 0; i--) {
+            int width = ImageVariant.WIDTHS[i];
+            String name = ImageVariant.name(original, width);
+            if (fileService.exists(name)) {
+                continue;
+            }
+            if (current == null) {
+                current = read(original);
+            }
+            if (current.getWidth() <= width) {
+                copy(original, name);
+                continue;
+            }
+            current = scale(current, width, "jpg".equals(format) || "bmp".equals(format));
+            write(current, format, name);
+        }
+    }
+
+    private BufferedImage read(String name) {
+        try (InputStream in = fileService.read(name);
+             ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalStateException("읽을 수 없는 이미지 형식입니다 : " + name);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalStateException("이미지가 너무 큽니다 : " + name + " (" + pixels + " pixels)");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 절반씩 줄이다가 마지막에 목표 너비로 맞춘다. (한 번에 크게 줄이면 bilinear 보간이 픽셀을 건너뛰어 품질이 떨어짐)
+    static BufferedImage scale(BufferedImage source, int width, boolean opaque) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = Math.max(1, (int) Math.round((double) currentHeight * nextWidth / currentWidth));
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight,
+                    opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private void write(BufferedImage image, String format, String name) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile("variant", "." + format);
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IllegalStateException("저장할 수 없는 이미지 형식입니다 : " + format);
+            }
+            fileService.upload(temp, name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private void copy(String original, String name) {
+        Path temp = null;
+        try (InputStream in = fileService.read(original)) {
+            temp = Files.createTempFile("variant", ".tmp");
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            fileService.upload(temp, name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패 : {}", path, e);
+        }
+    }
+}
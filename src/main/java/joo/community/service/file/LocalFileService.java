@@ -1,8 +1,12 @@
 package joo.community.service.file;
 
 import joo.community.exception.FileUploadFailureException;
+import joo.community.exception.ImageNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -10,14 +14,24 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 @Service
 @Slf4j
-public class LocalFileService implements FileService {
+@ConditionalOnProperty(name = "upload.image.storage", havingValue = "local", matchIfMissing = true)
+public class LocalFileService implements FileService, ApplicationEventPublisherAware {
 
     @Value("${upload.image.location}")
     private String location;
 
+    private ImageStorageLayout layout; // location/ab/cd/파일이름
+    private ApplicationEventPublisher eventPublisher; // 삭제 알림 (ImageCache 무효화)
+
     @PostConstruct
     void postConstruct() {
         File dir = new File(location);
@@ -27,12 +41,18 @@ public class LocalFileService implements FileService {
                 log.error("디렉토리 생성 실패: " + location);
             }
         }
+        layout = new ImageStorageLayout(dir.toPath());
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public void upload(MultipartFile file, String filename) {
         try {
-            File targetFile = new File(location + File.separator + filename);  // 경로 + 파일명
+            File targetFile = layout.prepare(filename).toFile();  // 경로 + 파일명
             file.transferTo(targetFile);  // 지정된 경로로 파일 저장
             log.info("파일 업로드 성공: " + targetFile.getPath());
         } catch (IOException e) {
@@ -40,16 +60,61 @@ public class LocalFileService implements FileService {
         }
     }
 
+    // 같은 파일 시스템이면 rename 으로 옮기고 (복사 없음), 아니면 복사 후 원본 삭제
+    @Override
+    public void upload(Path file, String filename) {
+        try {
+            Path target = layout.prepare(filename);
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.info("파일 업로드 성공: " + target);
+        } catch (IOException e) {
+            throw new FileUploadFailureException(e);
+        }
+    }
+
+    @Override
+    public boolean exists(String filename) {
+        return layout.locate(filename) != null;
+    }
+
+    @Override
+    public InputStream read(String filename) {
+        try {
+            Path path = layout.locate(filename);
+            if (path == null) {
+                throw new ImageNotFoundException();
+            }
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImageFile open(String filename) {
+        Path path = layout.locate(filename);
+        if (path == null) {
+            throw new ImageNotFoundException();
+        }
+        File file = path.toFile();
+        return new ImageFile(filename, file.toPath(), 0, file.length(), file.lastModified());
+    }
+
     @Override
     public void delete(String filename) {
-        File targetFile = new File(location + File.separator + filename);
-        if (targetFile.exists()) {
-            boolean deleted = targetFile.delete();  // 파일 삭제
-            if (deleted) {
-                log.info("파일 삭제 성공: " + targetFile.getPath());
-            } else {
-                log.error("파일 삭제 실패: " + targetFile.getPath());
+        try {
+            if (layout.delete(filename)) {  // 파일 삭제
+                log.info("파일 삭제 성공: " + filename);
             }
+        } catch (IOException e) {
+            log.error("파일 삭제 실패: " + filename, e);
+        }
+        if (eventPublisher != null) { // 직접 생성한 경우 (테스트) 없음
+            eventPublisher.publishEvent(new FileDeletedEvent(filename));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+package joo.community.service.file;
+
+import joo.community.exception.FileUploadFailureException;
+import joo.community.exception.ImageNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "upload.image.storage", havingValue = "nio")
+public class NioFileService implements FileService, ApplicationEventPublisherAware {
+
+    /*
+        NIO FileChannel 기반 파일 저장 (upload.image.storage = nio)
+        - 업로드 파트가 디스크 임시 파일이면 FileChannel -> FileChannel transferFrom (커널 내부 복사, 사용자 영역 버퍼 없음)
+          메모리에 있는 파트는 채널로 감싸 같은 방식으로 쓴다.
+        - 크기를 알고 있으므로 파일 길이를 먼저 잡아 두고 (preallocate) 채운 뒤, 실제 쓴 길이로 잘라낸다.
+        - "이름.part" 에 쓴 뒤 rename 하므로 읽는 쪽에서 쓰다 만 파일이 보이지 않는다.
+        - fsync = true 이면 파일과 디렉토리를 디스크에 강제 기록한 뒤 반환한다. (정전에도 유실 없음, 대신 느림)
+        - 동시에 디스크에 쓰는 작업 수를 Semaphore 로 제한한다. (max-writers)
+     */
+
+    private static final String PART_SUFFIX = ".part";
+    private static final long CHUNK = 8L * 1024 * 1024; // transferFrom 1회 최대 크기
+
+    private final ImageStorageLayout layout; // location/ab/cd/파일이름
+    private ApplicationEventPublisher eventPublisher; // 삭제 알림 (ImageCache 무효화)
+    private final boolean fsync;
+    private final Semaphore writers;
+
+    public NioFileService(@Value("${upload.image.location}") String location,
+                          @Value("${upload.image.fsync:false}") boolean fsync,
+                          @Value("${upload.image.max-writers:8}") int maxWriters) throws IOException {
+        this.layout = new ImageStorageLayout(Files.createDirectories(Paths.get(location)));
+        this.fsync = fsync;
+        this.writers = new Semaphore(maxWriters);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void upload(MultipartFile file, String filename) {
+        acquire();
+        try (InputStream in = file.getInputStream();
+             ReadableByteChannel source = toChannel(in)) {
+            Path target = layout.prepare(filename);
+            write(source, file.getSize(), target);
+            log.info("파일 업로드 성공: " + target);
+        } catch (IOException e) {
+            throw new FileUploadFailureException(e);
+        } finally {
+            writers.release();
+        }
+    }
+
+    // 같은 파일 시스템이면 rename 으로 옮기고, 아니면 채널 복사 후 원본 삭제
+    @Override
+    public void upload(Path file, String filename) {
+        try {
+            Path target = layout.prepare(filename);
+            try {
+                if (fsync) {
+                    forceFile(file); // rename 전에 내용이 디스크에 있어야 crash 후 빈/잘린 파일이 남지 않는다.
+                }
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                if (fsync) {
+                    forceDirectory(target.getParent());
+                }
+                log.info("파일 업로드 성공: " + target);
+                return;
+            } catch (AtomicMoveNotSupportedException e) {
+                // 다른 파일 시스템
+            }
+
+            acquire();
+            try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+                write(source, source.size(), target);
+            } finally {
+                writers.release();
+            }
+            Files.deleteIfExists(file);
+            log.info("파일 업로드 성공: " + target);
+        } catch (IOException e) {
+            throw new FileUploadFailureException(e);
+        }
+    }
+
+    @Override
+    public boolean exists(String filename) {
+        return layout.locate(filename) != null;
+    }
+
+    @Override
+    public InputStream read(String filename) {
+        try {
+            Path path = layout.locate(filename);
+            if (path == null) {
+                throw new ImageNotFoundException();
+            }
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImageFile open(String filename) {
+        Path path = layout.locate(filename);
+        if (path == null) {
+            throw new ImageNotFoundException();
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                throw new ImageNotFoundException();
+            }
+            return new ImageFile(filename, path, 0, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (NoSuchFileException e) {
+            throw new ImageNotFoundException();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(String filename) {
+        try {
+            if (layout.delete(filename)) {
+                log.info("파일 삭제 성공: " + filename);
+            }
+        } catch (IOException e) {
+            log.error("파일 삭제 실패: " + filename, e);
+        }
+        if (eventPublisher != null) { // 직접 생성한 경우 (테스트) 없음
+            eventPublisher.publishEvent(new FileDeletedEvent(filename));
+        }
+    }
+
+    private void write(ReadableByteChannel source, long size, Path target) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        try {
+            try (FileChannel out = FileChannel.open(part,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                preallocate(out, size);
+
+                long position = 0;
+                long transferred;
+                while ((transferred = out.transferFrom(source, position, CHUNK)) > 0) { // 0 : 원본 끝
+                    position += transferred;
+                }
+                out.truncate(position); // 선언된 크기보다 짧게 들어온 경우
+
+                if (fsync) {
+                    out.force(true);
+                }
+            }
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (fsync) {
+                forceDirectory(target.getParent()); // rename 결과(디렉토리 항목)까지 기록
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+    }
+
+    // 마지막 바이트를 먼저 써서 파일 길이만 미리 늘려 둔다.
+    // 중간은 sparse (hole) 로 남으므로 디스크 블록을 미리 확보하거나 연속된 영역을 보장하지는 않는다.
+    // (쓰는 동안 파일 크기가 계속 늘어나지 않는 정도의 효과, 공간 부족은 실제로 쓸 때 드러난다.)
+    private static void preallocate(FileChannel out, long size) throws IOException {
+        if (size > 0) {
+            out.write(ByteBuffer.allocate(1), size - 1);
+        }
+    }
+
+    // 디스크 임시 파일로 받은 파트는 FileChannel 을 그대로 사용 (transferFrom 이 커널 복사로 처리)
+    private static ReadableByteChannel toChannel(InputStream in) {
+        if (in instanceof FileInputStream) {
+            return ((FileInputStream) in).getChannel();
+        }
+        return Channels.newChannel(in);
+    }
+
+    // 다른 곳에서 다 쓴 파일을 옮기기 전에 내용을 디스크에 기록 (Windows 는 쓰기 모드여야 force 가능)
+    private static void forceFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    // 디렉토리 fsync 는 일부 OS(Windows) 에서 지원하지 않으므로 실패해도 무시한다.
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("디렉토리 fsync 미지원: {}", directory);
+        }
+    }
+
+    private void acquire() {
+        try {
+            writers.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileUploadFailureException(e);
+        }
+    }
+}
@@ -0,0 +1,689 @@
+package joo.community.service.file;
+
+import joo.community.exception.FileUploadFailureException;
+import joo.community.exception.ImageNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "upload.image.storage", havingValue = "segment")
+public class SegmentFileService implements FileService, ApplicationEventPublisherAware {
+
+    /*
+        작은 이미지를 큰 segment 파일에 이어 붙여 저장 (upload.image.storage = segment, haystack 방식)
+        이미지마다 파일을 만들면 inode 를 낭비하고, 읽을 때마다 디렉토리 조회 / open / stat 이 필요하다.
+
+        - location/segments/segment-00000001.dat 에 레코드를 순서대로 추가한다.
+          레코드 : [magic][종류 PUT/DELETE][이름 길이][데이터 길이][수정 시각][CRC32][이름][데이터]
+        - 이름 -> 위치는 메모리 색인 (SegmentIndex, 기본형 배열) 으로 찾고, 읽기는 MappedByteBuffer 조각으로 한다.
+          응답 (ImageFile) 은 segment 파일의 offset ~ offset + length 구간이므로 sendfile 도 그대로 쓸 수 있다.
+        - 삭제는 DELETE 레코드 (묘비) 추가, 덮어쓰거나 지운 만큼은 쓰레기로 남는다.
+        - compact : 쓰레기 비율이 garbage-ratio 이상인 segment 의 살아 있는 레코드를 새 segment 로 옮기고
+          원래 segment 는 다음 압축 때 지운다. (그 사이 읽고 있던 요청 보호)
+        - 색인은 종료 / 압축 때 index.dat 로 저장하고, 기동 시 읽은 뒤 그 이후에 추가된 레코드만 다시 읽는다.
+          (index.dat 가 없거나 깨졌으면 모든 segment 를 처음부터 읽는다. 끝의 쓰다 만 레코드는 CRC 로 걸러 잘라낸다.)
+        - small-max-bytes 보다 큰 파일은 기존처럼 파일 하나로 저장한다. (ImageStorageLayout)
+     */
+
+    private static final String SEGMENT_DIRECTORY = "segments";
+    private static final String INDEX_FILE = "index.dat";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("^segment-(\\d{8})\\.dat$");
+
+    private static final int RECORD_MAGIC = 0x494D4731; // "IMG1"
+    private static final int INDEX_MAGIC = 0x49445831;  // "IDX1"
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = 4 + 1 + 2 + 4 + 8 + 4;
+    private static final long GROW_BYTES = 64L * 1024 * 1024; // segment 파일을 미리 늘려 두는 단위 (다시 매핑하는 횟수를 줄인다)
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ImageStorageLayout layout;
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final long smallMaxBytes;
+    private final double garbageRatio;
+    private final boolean fsync;
+
+    private final ConcurrentMap<Integer, Segment> segments = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock(); // index, liveBytes
+    private final Object appendLock = new Object(); // 추가 순서 = 색인 반영 순서
+    private final List<Segment> retired = new ArrayList<>();
+    private SegmentIndex index;
+    private Segment active;
+    private boolean dirty; // 마지막 색인 저장 이후 변경 (appendLock)
+    private ApplicationEventPublisher eventPublisher; // 삭제 알림 (ImageCache 무효화)
+
+    public SegmentFileService(@Value("${upload.image.location}") String location,
+                              @Value("${upload.image.segment.max-bytes:1073741824}") long maxSegmentBytes,
+                              @Value("${upload.image.segment.small-max-bytes:524288}") long smallMaxBytes,
+                              @Value("${upload.image.segment.garbage-ratio:0.5}") double garbageRatio,
+                              @Value("${upload.image.fsync:false}") boolean fsync) throws IOException {
+        this.layout = new ImageStorageLayout(Files.createDirectories(Paths.get(location)));
+        this.directory = Files.createDirectories(layout.getRoot().resolve(SEGMENT_DIRECTORY));
+        this.maxSegmentBytes = Math.min(maxSegmentBytes, Integer.MAX_VALUE - GROW_BYTES); // MappedByteBuffer 는 int 범위
+        this.smallMaxBytes = Math.min(smallMaxBytes, this.maxSegmentBytes / 2);
+        this.garbageRatio = garbageRatio;
+        this.fsync = fsync;
+        load();
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void upload(MultipartFile file, String filename) {
+        try {
+            if (file.getSize() > smallMaxBytes) {
+                try (InputStream in = file.getInputStream()) {
+                    Path target = layout.prepare(filename);
+                    Path part = target.resolveSibling(target.getFileName() + ".part");
+                    Files.copy(in, part, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                put(filename, file.getBytes(), System.currentTimeMillis());
+            }
+            log.info("파일 업로드 성공: " + filename);
+        } catch (IOException e) {
+            throw new FileUploadFailureException(e);
+        }
+    }
+
+    @Override
+    public void upload(Path file, String filename) {
+        try {
+            if (Files.size(file) > smallMaxBytes) {
+                Files.move(file, layout.prepare(filename), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                put(filename, Files.readAllBytes(file), System.currentTimeMillis());
+                Files.deleteIfExists(file);
+            }
+            log.info("파일 업로드 성공: " + filename);
+        } catch (IOException e) {
+            throw new FileUploadFailureException(e);
+        }
+    }
+
+    @Override
+    public boolean exists(String filename) {
+        return lookup(filename) != null || layout.locate(filename) != null;
+    }
+
+    @Override
+    public InputStream read(String filename) {
+        try {
+            Entry entry = lookup(filename);
+            if (entry != null) {
+                return new BufferInputStream(entry.segment.slice(entry.offset, entry.length));
+            }
+            Path path = layout.locate(filename);
+            if (path == null) {
+                throw new ImageNotFoundException();
+            }
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImageFile open(String filename) {
+        Entry entry = lookup(filename);
+        if (entry != null) {
+            return new ImageFile(filename, entry.segment.path, entry.offset, entry.length, entry.modified);
+        }
+        Path path = layout.locate(filename);
+        if (path == null) {
+            throw new ImageNotFoundException();
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new ImageFile(filename, path, 0, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (NoSuchFileException e) {
+            throw new ImageNotFoundException();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(String filename) {
+        try {
+            boolean deleted = false;
+            synchronized (appendLock) {
+                if (lookup(filename) != null) {
+                    append(DELETE, filename, EMPTY, System.currentTimeMillis());
+                    withIndex(() -> remove(filename));
+                    deleted = true;
+                }
+            }
+            if (layout.delete(filename) || deleted) {
+                log.info("파일 삭제 성공: " + filename);
+            }
+        } catch (IOException e) {
+            log.error("파일 삭제 실패: " + filename, e);
+        }
+        if (eventPublisher != null) { // 직접 생성한 경우 (테스트) 없음
+            eventPublisher.publishEvent(new FileDeletedEvent(filename));
+        }
+    }
+
+    // 쓰레기 비율이 높은 segment 를 다시 쓴다. 다시 쓴 segment 수
+    @Scheduled(fixedDelayString = "${upload.image.segment.compact-ms:600000}")
+    public synchronized int compact() {
+        deleteRetired(); // 지난 압축에서 옮긴 segment (그 사이 색인이 저장되었다.)
+        int compacted = 0;
+        try {
+            for (Segment segment : sealedSegments()) {
+                if (garbageOf(segment) >= garbageRatio) {
+                    rewrite(segment);
+                    compacted++;
+                }
+            }
+            persistIndex();
+        } catch (IOException e) {
+            log.error("segment 압축 실패", e);
+        }
+        if (compacted > 0) {
+            log.info("segment 압축 : {}개", compacted);
+        }
+        return compacted;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            persistIndex();
+        } catch (IOException e) {
+            log.error("segment 색인 저장 실패 (다음 기동 시 segment 를 다시 읽는다)", e);
+        }
+        synchronized (appendLock) {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        }
+        deleteRetired();
+    }
+
+    private void put(String filename, byte[] data, long lastModified) throws IOException {
+        synchronized (appendLock) {
+            long location = append(PUT, filename, data, lastModified);
+            withIndex(() -> replace(filename, location, data.length, lastModified));
+        }
+    }
+
+    // appendLock 안에서 호출 : 레코드를 쓰고 데이터 위치를 돌려준다.
+    private long append(byte type, String name, byte[] data, long lastModified) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        long recordBytes = HEADER_BYTES + nameBytes.length + (long) data.length;
+        if (active.size > 0 && active.size + recordBytes > maxSegmentBytes) {
+            roll();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(nameBytes);
+        crc.update(data);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + nameBytes.length)
+                .putInt(RECORD_MAGIC)
+                .put(type)
+                .putShort((short) nameBytes.length)
+                .putInt(data.length)
+                .putLong(lastModified)
+                .putInt((int) crc.getValue())
+                .put(nameBytes);
+        header.flip();
+
+        long position = active.size;
+        active.ensureCapacity(position + recordBytes, maxSegmentBytes);
+        writeFully(active.channel, header, position);
+        writeFully(active.channel, ByteBuffer.wrap(data), position + HEADER_BYTES + nameBytes.length);
+        if (fsync) {
+            active.channel.force(false);
+        }
+        active.size = position + recordBytes;
+        dirty = true;
+        return SegmentIndex.location(active.id, position + HEADER_BYTES + nameBytes.length);
+    }
+
+    // 현재 segment 를 닫고 (미리 늘려 둔 부분을 잘라냄) 새 segment 를 연다.
+    private void roll() throws IOException {
+        active.channel.truncate(active.size);
+        active.channel.force(false);
+        Segment next = Segment.open(active.id + 1, directory.resolve(segmentName(active.id + 1)));
+        segments.put(next.id, next);
+        active = next;
+    }
+
+    private void rewrite(Segment segment) throws IOException {
+        // 아직 지우지 않은 (retired) segment 도 기동 시 다시 읽힐 수 있으므로 함께 본다.
+        boolean oldest = Stream.concat(segments.values().stream(), retired.stream())
+                .allMatch(other -> other.id >= segment.id);
+        scan(segment, 0, segment.size, (type, name, dataOffset, length, modified) -> {
+            synchronized (appendLock) {
+                Entry current = lookup(name);
+                if (type == PUT) {
+                    if (current != null && current.segment == segment && current.offset == dataOffset) {
+                        byte[] data = new byte[length];
+                        segment.slice(dataOffset, length).get(data);
+                        long location = append(PUT, name, data, modified);
+                        withIndex(() -> replace(name, location, length, modified));
+                    }
+                } else if (current == null && !oldest) {
+                    // 더 오래된 segment 에 남은 PUT 을 가리기 위해 묘비를 유지한다.
+                    append(DELETE, name, EMPTY, modified);
+                }
+            }
+        });
+        synchronized (appendLock) {
+            segments.remove(segment.id);
+            dirty = true;
+        }
+        retired.add(segment);
+    }
+
+    private double garbageOf(Segment segment) {
+        if (segment.size == 0) {
+            return 1;
+        }
+        indexLock.readLock().lock();
+        try {
+            return 1 - (double) segment.liveBytes / segment.size;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private List<Segment> sealedSegments() {
+        List<Segment> sealed = new ArrayList<>();
+        synchronized (appendLock) {
+            for (Segment segment : new TreeMap<>(segments).values()) {
+                if (segment != active) {
+                    sealed.add(segment);
+                }
+            }
+        }
+        return sealed;
+    }
+
+    private void deleteRetired() {
+        for (Segment segment : retired) {
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                // Windows : 매핑이 해제 (GC) 되기 전에는 지울 수 없다. 색인에 없는 segment 는 다음 기동 시 지운다.
+                log.warn("segment 삭제 실패 : {}", segment.path, e);
+            }
+        }
+        retired.clear();
+    }
+
+    // index.dat : [magic][segment 수][segment 번호, 길이, 살아 있는 크기]...[색인]
+    private void persistIndex() throws IOException {
+        Path part = directory.resolve(INDEX_FILE + ".part");
+        synchronized (appendLock) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            active.channel.force(false); // 색인이 가리키는 레코드가 먼저 디스크에 있어야 한다.
+            indexLock.readLock().lock();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(part)))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(segments.size());
+                for (Segment segment : segments.values()) {
+                    out.writeInt(segment.id);
+                    out.writeLong(segment.size);
+                    out.writeLong(segment.liveBytes);
+                }
+                index.write(out);
+            } finally {
+                indexLock.readLock().unlock();
+            }
+        }
+        Files.move(part, directory.resolve(INDEX_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void load() throws IOException {
+        TreeMap<Integer, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+            for (Path child : children) {
+                Matcher matcher = SEGMENT_NAME.matcher(child.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Integer.parseInt(matcher.group(1)), child);
+                }
+            }
+        }
+
+        Map<Integer, long[]> checkpoints = readIndex(files);
+        if (checkpoints == null) {
+            index = new SegmentIndex(1024);
+        }
+        int lastIndexed = checkpoints == null ? 0 : checkpoints.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        for (Map.Entry<Integer, Path> file : files.entrySet()) {
+            int id = file.getKey();
+            long[] checkpoint = checkpoints == null ? null : checkpoints.get(id);
+            if (checkpoint == null && id <= lastIndexed) {
+                Files.deleteIfExists(file.getValue()); // 압축 후 지우지 못한 segment
+                continue;
+            }
+            Segment segment = Segment.open(id, file.getValue());
+            segments.put(id, segment);
+            long from = 0;
+            if (checkpoint != null) {
+                from = checkpoint[0];
+                segment.liveBytes = checkpoint[1];
+            }
+            segment.size = scan(segment, from, segment.channel.size(), (type, name, dataOffset, length, modified) -> {
+                if (type == PUT) {
+                    replace(name, SegmentIndex.location(id, dataOffset), length, modified);
+                } else {
+                    remove(name);
+                }
+            });
+            segment.channel.truncate(segment.size); // 쓰다 만 레코드, 미리 늘려 둔 부분
+            segment.allocated = segment.size;
+            segment.mapped = null; // 잘라낸 길이로 다시 매핑
+        }
+
+        int last = segments.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+        active = last > 0 ? segments.get(last) : Segment.open(1, directory.resolve(segmentName(1)));
+        segments.put(active.id, active);
+        log.info("segment 저장소 : segment {}개, 이미지 {}개", segments.size(), index.size());
+    }
+
+    // 색인을 읽고 segment 별 {읽은 위치, 살아 있는 크기} 를 돌려준다. 쓸 수 없으면 null (전체 다시 읽기)
+    private Map<Integer, long[]> readIndex(Map<Integer, Path> files) {
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                throw new IOException("색인 파일 형식이 아닙니다.");
+            }
+            Map<Integer, long[]> checkpoints = new HashMap<>();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                long size = in.readLong();
+                long liveBytes = in.readLong();
+                Path file = files.get(id);
+                if (file == null || Files.size(file) < size) {
+                    throw new IOException("색인과 segment 가 맞지 않습니다 : " + id);
+                }
+                checkpoints.put(id, new long[]{size, liveBytes});
+            }
+            index = SegmentIndex.read(in);
+            return checkpoints;
+        } catch (IOException e) {
+            log.warn("segment 색인을 읽을 수 없어 모든 segment 를 다시 읽습니다.", e);
+            return null;
+        }
+    }
+
+    // from 부터 레코드를 읽어 visitor 에 넘기고, 마지막으로 온전한 레코드의 끝 위치를 돌려준다.
+    private static long scan(Segment segment, long from, long to, RecordVisitor visitor) throws IOException {
+        if (to - from < HEADER_BYTES) {
+            return from;
+        }
+        ByteBuffer buffer = segment.slice(0, (int) to);
+        CRC32 crc = new CRC32();
+        long position = from;
+        while (position + HEADER_BYTES <= to) {
+            int start = (int) position;
+            if (buffer.getInt(start) != RECORD_MAGIC) {
+                break;
+            }
+            byte type = buffer.get(start + 4);
+            int nameLength = buffer.getShort(start + 5) & 0xFFFF;
+            int dataLength = buffer.getInt(start + 7);
+            long modified = buffer.getLong(start + 11);
+            int checksum = buffer.getInt(start + 19);
+            long end = position + HEADER_BYTES + nameLength + (long) dataLength;
+            if ((type != PUT && type != DELETE) || dataLength < 0 || end > to) {
+                break;
+            }
+
+            byte[] name = new byte[nameLength];
+            ByteBuffer record = buffer.duplicate();
+            record.position(start + HEADER_BYTES);
+            record.get(name);
+            record.limit((int) end);
+            crc.reset();
+            crc.update(name);
+            crc.update(record);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            visitor.visit(type, new String(name, StandardCharsets.UTF_8),
+                    position + HEADER_BYTES + nameLength, dataLength, modified);
+            position = end;
+        }
+        return position;
+    }
+
+    private Entry lookup(String filename) {
+        indexLock.readLock().lock();
+        try {
+            int slot = index.find(filename);
+            if (slot < 0) {
+                return null;
+            }
+            long location = index.locationAt(slot);
+            Segment segment = segments.get(SegmentIndex.segmentOf(location));
+            if (segment == null) {
+                return null;
+            }
+            return new Entry(segment, SegmentIndex.offsetOf(location), index.lengthAt(slot), index.modifiedAt(slot));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private void withIndex(Runnable update) {
+        indexLock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    // 색인 변경과 segment 별 살아 있는 크기 반영 (indexLock 쓰기 잠금 또는 기동 중)
+    private void replace(String name, long location, int length, long modified) {
+        untrack(name);
+        index.put(name, location, length, modified);
+        Segment segment = segments.get(SegmentIndex.segmentOf(location));
+        if (segment != null) {
+            segment.liveBytes += length;
+        }
+    }
+
+    private void remove(String name) {
+        untrack(name);
+        index.remove(name);
+    }
+
+    private void untrack(String name) {
+        int slot = index.find(name);
+        if (slot >= 0) {
+            Segment previous = segments.get(SegmentIndex.segmentOf(index.locationAt(slot)));
+            if (previous != null) {
+                previous.liveBytes -= index.lengthAt(slot);
+            }
+        }
+    }
+
+    private static String segmentName(int id) {
+        return String.format("segment-%08d.dat", id);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private interface RecordVisitor {
+        void visit(byte type, String name, long dataOffset, int length, long modified) throws IOException;
+    }
+
+    private static final class Entry {
+
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+        private final long modified;
+
+        private Entry(Segment segment, long offset, int length, long modified) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.modified = modified;
+        }
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;       // 기록된 길이 (appendLock)
+        private long allocated;  // 파일 길이 (미리 늘려 둔 부분 포함)
+        private long liveBytes;  // 색인이 가리키는 데이터 크기 (indexLock)
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(int id, Path path, FileChannel channel) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.allocated = channel.size();
+        }
+
+        static Segment open(int id, Path path) throws IOException {
+            return new Segment(id, path, FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+
+        // 파일 범위 안의 구간을 가리키는 읽기 전용 조각 (필요하면 늘어난 길이로 다시 매핑)
+        ByteBuffer slice(long offset, int length) throws IOException {
+            MappedByteBuffer current = mapped;
+            if (current == null || offset + length > current.capacity()) {
+                current = remap(offset + length);
+            }
+            ByteBuffer slice = current.duplicate();
+            slice.position((int) offset);
+            slice.limit((int) offset + length);
+            return slice.slice();
+        }
+
+        private synchronized MappedByteBuffer remap(long required) throws IOException {
+            MappedByteBuffer current = mapped;
+            if (current != null && required <= current.capacity()) {
+                return current;
+            }
+            long length = channel.size();
+            if (required > length) {
+                throw new IOException("segment 범위를 벗어난 읽기 : " + path);
+            }
+            current = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            mapped = current;
+            return current;
+        }
+
+        // 파일을 GROW_BYTES 단위로 늘려 둔다. (끝의 0 은 기동 시 레코드가 아니므로 잘려 나간다.)
+        void ensureCapacity(long required, long limit) throws IOException {
+            if (required <= allocated) {
+                return;
+            }
+            long target = Math.max(required, Math.min(allocated + GROW_BYTES, limit));
+            channel.write(ByteBuffer.allocate(1), target - 1);
+            allocated = target;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("segment 닫기 실패 : {}", path, e);
+            }
+        }
+    }
+
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
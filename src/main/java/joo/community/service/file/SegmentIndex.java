@@ -0,0 +1,175 @@
+package joo.community.service.file;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public final class SegmentIndex {
+
+    /*
+        SegmentFileService 의 메모리 색인 : 파일 이름 -> (segment 번호, offset, 길이, 수정 시각)
+        이미지 수백만 개를 객체 없이 담기 위해 open addressing (linear probing) 배열로 구현한다.
+        - 값은 기본형 배열 : locations (segment << 40 | offset), lengths, modified
+        - 삭제는 backward shift (묘비 슬롯을 남기지 않아 조회가 느려지지 않음)
+        - 동기화는 호출한 쪽 (SegmentFileService) 이 책임진다.
+     */
+
+    private static final int OFFSET_BITS = 40; // segment 하나 최대 1TB
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private String[] names;
+    private long[] locations;
+    private int[] lengths;
+    private long[] modified;
+    private int size;
+
+    public SegmentIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public static long location(int segment, long offset) {
+        return ((long) segment << OFFSET_BITS) | offset;
+    }
+
+    public static int segmentOf(long location) {
+        return (int) (location >>> OFFSET_BITS);
+    }
+
+    public static long offsetOf(long location) {
+        return location & OFFSET_MASK;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 이름의 슬롯 (없으면 -1)
+    public int find(String name) {
+        int mask = names.length - 1;
+        for (int slot = hash(name) & mask; names[slot] != null; slot = (slot + 1) & mask) {
+            if (names[slot].equals(name)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public long locationAt(int slot) {
+        return locations[slot];
+    }
+
+    public int lengthAt(int slot) {
+        return lengths[slot];
+    }
+
+    public long modifiedAt(int slot) {
+        return modified[slot];
+    }
+
+    // 추가 또는 교체, 교체된 값의 길이 (없었으면 -1)
+    public int put(String name, long location, int length, long lastModified) {
+        if (size + 1 > names.length * LOAD_FACTOR) {
+            resize(names.length * 2);
+        }
+        int mask = names.length - 1;
+        int slot = hash(name) & mask;
+        while (names[slot] != null) {
+            if (names[slot].equals(name)) {
+                int previous = lengths[slot];
+                set(slot, name, location, length, lastModified);
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        set(slot, name, location, length, lastModified);
+        size++;
+        return -1;
+    }
+
+    // 삭제된 값의 길이 (없었으면 -1)
+    public int remove(String name) {
+        int slot = find(name);
+        if (slot < 0) {
+            return -1;
+        }
+        int removed = lengths[slot];
+        int mask = names.length - 1;
+
+        // 뒤따르는 같은 묶음(cluster)의 항목 중 자기 자리(home)로 가는 길에 빈 슬롯이 생긴 항목을 당겨온다.
+        int hole = slot;
+        for (int next = (hole + 1) & mask; names[next] != null; next = (next + 1) & mask) {
+            int home = hash(names[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                set(hole, names[next], locations[next], lengths[next], modified[next]);
+                hole = next;
+            }
+        }
+        set(hole, null, 0, 0, 0);
+        size--;
+        return removed;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int slot = 0; slot < names.length; slot++) {
+            if (names[slot] != null) {
+                out.writeUTF(names[slot]);
+                out.writeLong(locations[slot]);
+                out.writeInt(lengths[slot]);
+                out.writeLong(modified[slot]);
+            }
+        }
+    }
+
+    public static SegmentIndex read(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        SegmentIndex index = new SegmentIndex(count);
+        for (int i = 0; i < count; i++) {
+            index.put(in.readUTF(), in.readLong(), in.readInt(), in.readLong());
+        }
+        return index;
+    }
+
+    private void set(int slot, String name, long location, int length, long lastModified) {
+        names[slot] = name;
+        locations[slot] = location;
+        lengths[slot] = length;
+        modified[slot] = lastModified;
+    }
+
+    private void resize(int capacity) {
+        String[] oldNames = names;
+        long[] oldLocations = locations;
+        int[] oldLengths = lengths;
+        long[] oldModified = modified;
+        allocate(capacity);
+        size = 0;
+        for (int slot = 0; slot < oldNames.length; slot++) {
+            if (oldNames[slot] != null) {
+                put(oldNames[slot], oldLocations[slot], oldLengths[slot], oldModified[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        names = new String[capacity];
+        locations = new long[capacity];
+        lengths = new int[capacity];
+        modified = new long[capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize + 1) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // String.hashCode 의 하위 비트 편중을 섞는다.
+    private static int hash(String name) {
+        int h = name.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
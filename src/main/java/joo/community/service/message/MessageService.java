@@ -1,17 +1,17 @@
 package joo.community.service.message;
 
+import joo.community.config.guard.CurrentUserProvider;
+import joo.community.config.guard.UserPrincipal;
 import joo.community.dto.message.MessageCreateRequest;
 import joo.community.dto.message.MessageDto;
 import joo.community.entity.user.Message;
-import joo.community.entity.user.User;
 import joo.community.exception.MemberNotEqualsException;
 import joo.community.exception.MemberNotFoundException;
 import joo.community.exception.MessageNotFoundException;
 import joo.community.repository.message.MessageRepository;
-import joo.community.repository.user.UserRepository;
+import joo.community.service.user.CachedUser;
+import joo.community.service.user.UserLookupCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,29 +23,31 @@ import java.util.List;
 public class MessageService {
 
     private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final CurrentUserProvider currentUserProvider;
 
     @Transactional
     public MessageDto createMessage(MessageCreateRequest req) {
 
-        User receiver = userRepository.findByNickname(req.getReceiverNickname()).orElseThrow(MemberNotFoundException::new);
+        // 수신자는 회원 조회 캐시에서 찾고, 연관관계는 id 프록시로 설정
+        CachedUser receiver = userLookupCache.findByNickname(req.getReceiverNickname()).orElseThrow(MemberNotFoundException::new);
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User sender = userRepository.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
-        Message message = new Message(req.getTitle(), req.getContent(), sender, receiver);
+        // 발신자는 토큰의 id 로 만든 프록시 (탈퇴 여부만 UserLookupCache 로 확인)
+        UserPrincipal sender = currentUserProvider.getExisting();
+        Message message = new Message(req.getTitle(), req.getContent(), currentUserProvider.reference(sender.getId()),
+                currentUserProvider.reference(receiver.getId()));
         messageRepository.save(message);
 
-        return MessageDto.toDto(message);
+        return MessageDto.toDto(message, sender.getNickname(), receiver.getNickname());
     }
 
     @Transactional(readOnly = true)
     public List<MessageDto> receiveMessages() { // 전체 메시지 수신
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
+        UserPrincipal user = currentUserProvider.get();
 
         List<MessageDto> messageDtoList = new ArrayList<>();
-        List<Message> messageList = messageRepository.findAllByReceiver(user);
+        List<Message> messageList = messageRepository.findAllByReceiverId(user.getId());
 
         for (Message message : messageList) {
             if (!message.isDeletedByReceiver()) {
@@ -59,12 +61,11 @@ public class MessageService {
     @Transactional(readOnly = true)
     public MessageDto receiveMessage(Long id) { // 메시지 수신
 
-        Message message = messageRepository.findById(id).orElseThrow(MessageNotFoundException::new);
+        Message message = messageRepository.findWithUsersById(id).orElseThrow(MessageNotFoundException::new);
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
+        UserPrincipal user = currentUserProvider.get();
 
-        if (message.getReceiver() != user) {
+        if (!isReceiver(message, user)) {
             throw new MemberNotEqualsException();
         }
 
@@ -78,14 +79,11 @@ public class MessageService {
     @Transactional
     public List<MessageDto> sendMessages() {
 
-        // 검증 가져오기
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        // 회원 검증 및 정보 가져오기
-        User user = userRepository.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
+        // 회원 정보 가져오기 (토큰의 claim, user 테이블 조회 없음)
+        UserPrincipal user = currentUserProvider.get();
 
         List<MessageDto> messageDtoList = new ArrayList<>();
-        List<Message> messageList = messageRepository.findAllBySender(user);
+        List<Message> messageList = messageRepository.findAllBySenderId(user.getId());
 
         for (Message message : messageList) {
             if (!message.isDeletedBySender()) {
@@ -98,12 +96,11 @@ public class MessageService {
     @Transactional(readOnly = true)
     public MessageDto sendMessage(Long id) {
 
-        Message message = messageRepository.findById(id).orElseThrow(MessageNotFoundException::new);
+        Message message = messageRepository.findWithUsersById(id).orElseThrow(MessageNotFoundException::new);
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
+        UserPrincipal user = currentUserProvider.get();
 
-        if (message.getSender() != user) {
+        if (!isSender(message, user)) {
             throw new MemberNotEqualsException();
         }
 
@@ -119,10 +116,9 @@ public class MessageService {
 
         Message message = messageRepository.findById(id).orElseThrow(MessageNotFoundException::new);
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
+        UserPrincipal user = currentUserProvider.get();
 
-        if (message.getReceiver().equals(user)) {
+        if (isReceiver(message, user)) {
             message.deleteByReceiver();
         } else {
             throw new MemberNotEqualsException();
@@ -139,10 +135,9 @@ public class MessageService {
 
         Message message = messageRepository.findById(id).orElseThrow(MemberNotFoundException::new);
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUsername(authentication.getName()).orElseThrow(MemberNotFoundException::new);
+        UserPrincipal user = currentUserProvider.get();
 
-        if (message.getSender().equals(user)) {
+        if (isSender(message, user)) {
             message.deleteBySender();
         } else {
             throw new MemberNotEqualsException();
@@ -152,4 +147,13 @@ public class MessageService {
             messageRepository.delete(message);
         }
     }
+
+    // 발신자/수신자 확인 (id 비교, 프록시를 초기화하지 않는다.)
+    private boolean isSender(Message message, UserPrincipal user) {
+        return message.getSender() != null && user.getId().equals(message.getSender().getId());
+    }
+
+    private boolean isReceiver(Message message, UserPrincipal user) {
+        return message.getReceiver() != null && user.getId().equals(message.getReceiver().getId());
+    }
 }
@@ -0,0 +1,34 @@
+package joo.community.service.ranking;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+public interface BoardRanking {
+
+    /*
+        좋아요 수 기준 게시글 순위 (sorted set)
+        좋아요/취소가 커밋될 때마다 점수를 증감해 두고, 추천 게시글 조회 시 정렬 없이 상위 N 개만 읽는다.
+        - redis.enabled = true  : RedisBoardRanking (Redis ZSET, 인스턴스 간 공유)
+        - 그 외                 : MemoryBoardRanking (인스턴스 내 skip list)
+     */
+
+    void incrementScore(Long boardId, long delta);
+
+    // 적재용 : 증감이 아니라 점수 자체를 덮어쓴다. (0 이하는 순위에서 제외)
+    void setScores(Map<Long, Long> scores);
+
+    void remove(Long boardId);
+
+    // 점수가 minimumScore 이상인 게시글을 점수 내림차순으로 offset 부터 limit 개
+    List<Long> top(long minimumScore, long offset, int limit);
+
+    // 적재가 끝났는가 (인스턴스 간 공유)
+    boolean isSeeded();
+
+    // 적재 권한 획득 (한 번에 한 인스턴스만, timeout 이 지나도록 끝내지 못하면 다른 인스턴스가 다시 적재)
+    // 이미 적재되었거나 다른 인스턴스가 적재 중이면 false
+    boolean tryStartSeed(Duration timeout);
+
+    void finishSeed();
+}
@@ -0,0 +1,186 @@
+package joo.community.service.ranking;
+
+import joo.community.dto.board.BoardScore;
+import joo.community.repository.board.LikeBoardRepository;
+import joo.community.service.board.BoardChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardRankingUpdater {
+
+    /*
+        BoardRanking 갱신
+        - 좋아요/취소가 커밋되면 해당 게시글 점수를 +1 / -1 (DB 반영을 기다리지 않음)
+        - 게시글 삭제가 커밋되면 순위에서 제거
+        - 기동 시 아직 적재되지 않았으면 한 인스턴스만 (BoardRanking.tryStartSeed) LikeBoard 의 게시글별 좋아요 수로
+          점수를 덮어쓴다. 다른 인스턴스는 적재가 끝날 때까지 기다린다.
+          채우기 전에는 isReady() == false 이고, 추천 게시글 조회는 DB 로 대체한다.
+        - 적재 후에도 주기적으로 적재 표시를 확인하고, 사라졌으면 (Redis 에서 순위 키가 지워진 경우) 다시 적재한다.
+
+        적재 중에도 좋아요 증감은 바로 반영한다. batch 를 읽기 전에 커밋된 증감은 읽은 값에 포함되어 덮어써지고,
+        쓴 뒤에 커밋된 증감은 그 위에 더해진다. 읽는 중인 batch (id > afterId) 에 대한 증감만 모아 두었다가
+        batch 를 쓴 뒤에 반영한다. (다른 인스턴스의 증감은 batch 하나를 읽고 쓰는 사이에 커밋되면 유실될 수 있다.)
+     */
+
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final Duration SEED_TIMEOUT = Duration.ofMinutes(10);
+    private static final long SEED_WAIT_MILLIS = 1_000L;
+    private static final long NOT_SEEDING = Long.MAX_VALUE;
+
+    private final BoardRanking boardRanking;
+    private final LikeBoardRepository likeBoardRepository;
+
+    private volatile boolean ready = false;
+
+    // 읽는 중인 batch 의 시작 id (이보다 큰 게시글의 증감은 seedDeltas / seedRemoved 에 모은다.)
+    private long bufferingAfter = NOT_SEEDING;
+    private final Map<Long, Long> seedDeltas = new HashMap<>();
+    private final Set<Long> seedRemoved = new HashSet<>();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+        try {
+            if (event.getType() == BoardChangedEvent.Type.COUNTER_CHANGED && event.getLikedDelta() != 0) {
+                if (!buffer(event.getBoardId(), event.getLikedDelta())) {
+                    boardRanking.incrementScore(event.getBoardId(), event.getLikedDelta());
+                }
+            } else if (event.getType() == BoardChangedEvent.Type.DELETED) {
+                if (!bufferRemoval(event.getBoardId())) {
+                    boardRanking.remove(event.getBoardId());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("추천 게시글 순위 갱신 실패 : board id = {}", event.getBoardId(), e);
+        }
+    }
+
+    // 적재된 순위가 사라졌는지 확인 (적재 중이거나 적재에 실패한 상태에서는 건너뛴다.)
+    @Scheduled(fixedDelayString = "${board.ranking.verify-ms:60000}")
+    public void verifySeeded() {
+        if (!ready) {
+            return;
+        }
+        try {
+            if (boardRanking.isSeeded()) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("추천 게시글 순위 적재 상태 확인 실패", e);
+            return;
+        }
+        log.warn("추천 게시글 순위가 사라져 다시 적재합니다. (그동안 DB 조회로 대체)");
+        ready = false;
+        start();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::seed, "board-ranking-seeder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 적재가 끝날 때까지 (다른 인스턴스가 적재 중이면 기다렸다가, timeout 이 지나면 직접 적재)
+    public void seed() {
+        try {
+            while (!boardRanking.isSeeded()) {
+                if (boardRanking.tryStartSeed(SEED_TIMEOUT)) {
+                    seedFromLikes();
+                    boardRanking.finishSeed();
+                    break;
+                }
+                Thread.sleep(SEED_WAIT_MILLIS);
+            }
+            ready = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("추천 게시글 순위 적재 실패, DB 조회로 대체합니다.", e);
+        }
+    }
+
+    private void seedFromLikes() {
+        long start = System.currentTimeMillis();
+        long afterId = 0L;
+        int seeded = 0;
+        List<BoardScore> batch;
+        do {
+            startBuffering(afterId);
+            try {
+                batch = likeBoardRepository.countScoresAfter(afterId, PageRequest.of(0, SEED_BATCH_SIZE));
+                Map<Long, Long> scores = new HashMap<>();
+                for (BoardScore score : batch) {
+                    scores.put(score.getId(), score.getLiked());
+                    afterId = score.getId();
+                }
+                boardRanking.setScores(scores);
+            } finally {
+                replayBuffered();
+            }
+            seeded += batch.size();
+        } while (batch.size() == SEED_BATCH_SIZE);
+
+        log.info("추천 게시글 순위 적재 완료 : {}건, {}ms", seeded, System.currentTimeMillis() - start);
+    }
+
+    private synchronized void startBuffering(long afterId) {
+        bufferingAfter = afterId;
+    }
+
+    // 모아 둔 증감을 반영하고 모으기를 멈춘다.
+    private void replayBuffered() {
+        Map<Long, Long> deltas;
+        Set<Long> removed;
+        synchronized (this) {
+            bufferingAfter = NOT_SEEDING;
+            deltas = new HashMap<>(seedDeltas);
+            removed = new HashSet<>(seedRemoved);
+            seedDeltas.clear();
+            seedRemoved.clear();
+        }
+        deltas.forEach((boardId, delta) -> {
+            if (!removed.contains(boardId)) {
+                boardRanking.incrementScore(boardId, delta);
+            }
+        });
+        removed.forEach(boardRanking::remove);
+    }
+
+    // 모았으면 true
+    private synchronized boolean buffer(Long boardId, long delta) {
+        if (boardId <= bufferingAfter) {
+            return false;
+        }
+        seedDeltas.merge(boardId, delta, Long::sum);
+        return true;
+    }
+
+    private synchronized boolean bufferRemoval(Long boardId) {
+        if (boardId <= bufferingAfter) {
+            return false;
+        }
+        seedRemoved.add(boardId);
+        return true;
+    }
+}
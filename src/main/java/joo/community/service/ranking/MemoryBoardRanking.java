@@ -0,0 +1,107 @@
+package joo.community.service.ranking;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class MemoryBoardRanking implements BoardRanking {
+
+    // Redis 를 사용하지 않을 때의 인스턴스 내 순위 (점수가 0 이하가 되면 순위에서 제외)
+    // 점수는 Redis ZINCRBY 처럼 음수가 되어도 그대로 누적한다. (skip list 에는 양수인 게시글만)
+
+    private final ScoreSkipList skipList = new ScoreSkipList();
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean seeding = new AtomicBoolean();
+    private volatile boolean seeded;
+
+    @Override
+    public void incrementScore(Long boardId, long delta) {
+        lock.writeLock().lock();
+        try {
+            increment(boardId, delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void setScores(Map<Long, Long> values) {
+        lock.writeLock().lock();
+        try {
+            values.forEach((boardId, score) -> {
+                delete(boardId);
+                increment(boardId, score);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long boardId) {
+        lock.writeLock().lock();
+        try {
+            delete(boardId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> top(long minimumScore, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return skipList.range(minimumScore, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    @Override
+    public boolean tryStartSeed(Duration timeout) {
+        return !seeded && seeding.compareAndSet(false, true);
+    }
+
+    @Override
+    public void finishSeed() {
+        seeded = true;
+        seeding.set(false);
+    }
+
+    // write lock 안에서 호출
+    private void delete(Long boardId) {
+        Long score = scores.remove(boardId);
+        if (score != null && score > 0) {
+            skipList.delete(score, boardId);
+        }
+    }
+
+    // write lock 안에서 호출
+    private void increment(Long boardId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        Long previous = scores.get(boardId);
+        if (previous != null && previous > 0) {
+            skipList.delete(previous, boardId);
+        }
+        long score = (previous == null ? 0 : previous) + delta;
+        if (score > 0) {
+            skipList.insert(score, boardId);
+        }
+        if (score != 0) {
+            scores.put(boardId, score);
+        } else {
+            scores.remove(boardId);
+        }
+    }
+}
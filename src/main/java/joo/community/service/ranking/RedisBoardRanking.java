@@ -0,0 +1,83 @@
+package joo.community.service.ranking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static joo.community.config.constant.Constant.REDIS_RANKING_KEY;
+import static joo.community.config.constant.Constant.REDIS_RANKING_SEEDED_MEMBER;
+import static joo.community.config.constant.Constant.REDIS_RANKING_SEED_LOCK_KEY;
+
+@RequiredArgsConstructor
+public class RedisBoardRanking implements BoardRanking {
+
+    // Redis ZSET (key = REDIS_RANKING_KEY, member = 게시글 id, score = 좋아요 수)
+    // 적재 권한은 SET NX EX (REDIS_RANKING_SEED_LOCK_KEY)
+    // 적재 완료는 같은 ZSET 안에 score -inf 인 REDIS_RANKING_SEEDED_MEMBER 로 표시한다.
+    // 별도 키로 두면 ZSET 만 지워졌을 때 (DEL, maxmemory 제거) 적재된 것으로 남으므로, ZSET 과 함께 사라지도록 한다.
+    // (top 은 minimumScore 이상만 읽으므로 표시는 조회되지 않는다.)
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void incrementScore(Long boardId, long delta) {
+        redisTemplate.opsForZSet().incrementScore(REDIS_RANKING_KEY, boardId.toString(), delta);
+    }
+
+    // ZADD / ZREM 을 한 번의 왕복으로 전송 (pipeline)
+    @Override
+    public void setScores(Map<Long, Long> scores) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            scores.forEach((boardId, score) -> {
+                if (score > 0) {
+                    stringConnection.zAdd(REDIS_RANKING_KEY, score, boardId.toString());
+                } else {
+                    stringConnection.zRem(REDIS_RANKING_KEY, boardId.toString());
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(Long boardId) {
+        redisTemplate.opsForZSet().remove(REDIS_RANKING_KEY, boardId.toString());
+    }
+
+    // ZREVRANGEBYSCORE ranking +inf minimumScore LIMIT offset limit
+    @Override
+    public List<Long> top(long minimumScore, long offset, int limit) {
+        Set<String> members = redisTemplate.opsForZSet()
+                .reverseRangeByScore(REDIS_RANKING_KEY, minimumScore, Double.POSITIVE_INFINITY, offset, limit);
+        List<Long> ids = new ArrayList<>();
+        if (members != null) {
+            members.forEach(member -> ids.add(Long.valueOf(member)));
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean isSeeded() {
+        return redisTemplate.opsForZSet().score(REDIS_RANKING_KEY, REDIS_RANKING_SEEDED_MEMBER) != null;
+    }
+
+    @Override
+    public boolean tryStartSeed(Duration timeout) {
+        return !isSeeded()
+                && Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REDIS_RANKING_SEED_LOCK_KEY, "1", timeout));
+    }
+
+    @Override
+    public void finishSeed() {
+        redisTemplate.opsForZSet().add(REDIS_RANKING_KEY, REDIS_RANKING_SEEDED_MEMBER, Double.NEGATIVE_INFINITY);
+        redisTemplate.delete(REDIS_RANKING_SEED_LOCK_KEY);
+    }
+}
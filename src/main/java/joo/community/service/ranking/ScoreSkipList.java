@@ -0,0 +1,148 @@
+package joo.community.service.ranking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ScoreSkipList {
+
+    /*
+        (점수 내림차순, 같은 점수는 id 내림차순) 으로 정렬된 skip list (Redis zskiplist 와 같은 구조)
+        각 레벨의 링크마다 건너뛰는 노드 수(span) 를 저장해 두어, n 번째 노드를 O(log n) 에 찾는다.
+        -> offset 부터 N 개 조회가 O(log n + N)
+        동기화하지 않으므로 호출하는 쪽에서 잠근다.
+     */
+
+    private static final int MAX_LEVEL = 32;
+    private static final double PROBABILITY = 0.25;
+
+    private final Node head = new Node(MAX_LEVEL, Long.MAX_VALUE, Long.MAX_VALUE);
+    private int level = 1;
+    private int length;
+
+    public void insert(long score, long id) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.forward[i] != null && node.forward[i].isBefore(score, id)) {
+                rank[i] += node.span[i];
+                node = node.forward[i];
+            }
+            update[i] = node;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = length;
+            }
+            level = newLevel;
+        }
+
+        Node inserted = new Node(newLevel, score, id);
+        for (int i = 0; i < newLevel; i++) {
+            inserted.forward[i] = update[i].forward[i];
+            update[i].forward[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        length++;
+    }
+
+    // 삭제되었으면 true
+    public boolean delete(long score, long id) {
+        Node[] update = new Node[MAX_LEVEL];
+
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.forward[i] != null && node.forward[i].isBefore(score, id)) {
+                node = node.forward[i];
+            }
+            update[i] = node;
+        }
+
+        Node target = node.forward[0];
+        if (target == null || target.score != score || target.id != id) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].forward[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].forward[i] = target.forward[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.forward[level - 1] == null) {
+            level--;
+        }
+        length--;
+        return true;
+    }
+
+    // 점수 내림차순으로 offset 번째(0부터) 부터, 점수가 minimumScore 이상인 동안 limit 개의 id
+    public List<Long> range(long minimumScore, long offset, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, length));
+        if (offset >= length || limit <= 0) {
+            return ids;
+        }
+
+        long rank = offset + 1; // 1 부터 시작하는 순위
+        long traversed = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.forward[i] != null && traversed + node.span[i] <= rank) {
+                traversed += node.span[i];
+                node = node.forward[i];
+            }
+            if (traversed == rank) {
+                break;
+            }
+        }
+
+        while (node != null && ids.size() < limit && node.score >= minimumScore) {
+            ids.add(node.id);
+            node = node.forward[0];
+        }
+        return ids;
+    }
+
+    public int size() {
+        return length;
+    }
+
+    private static int randomLevel() {
+        int newLevel = 1;
+        while (newLevel < MAX_LEVEL && ThreadLocalRandom.current().nextDouble() < PROBABILITY) {
+            newLevel++;
+        }
+        return newLevel;
+    }
+
+    private static class Node {
+        private final long score;
+        private final long id;
+        private final Node[] forward;
+        private final int[] span;
+
+        private Node(int level, long score, long id) {
+            this.score = score;
+            this.id = id;
+            this.forward = new Node[level];
+            this.span = new int[level];
+        }
+
+        // 이 노드가 (score, id) 보다 앞에 오는가
+        private boolean isBefore(long score, long id) {
+            return this.score > score || (this.score == score && this.id > id);
+        }
+    }
+}
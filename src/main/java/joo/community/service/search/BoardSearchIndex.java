@@ -0,0 +1,239 @@
+package joo.community.service.search;
+
+import joo.community.dto.board.BoardDocument;
+import joo.community.repository.board.BoardRepository;
+import joo.community.service.board.BoardChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardSearchIndex {
+
+    /*
+        게시글 검색용 역색인 (inverted index)
+        토큰(n-gram) -> 해당 토큰을 포함한 게시글 id 목록(posting) 을 메모리에 유지한다.
+        검색 시 검색어 토큰들의 posting 교집합만 보기 때문에, LIKE '%keyword%' 처럼 테이블 전체를 읽지 않는다.
+
+        - 색인 대상 : 제목(가중치 3) + 본문(가중치 1)
+        - 순위 : 토큰별 tf-idf 합계 (동점이면 최신 글 우선)
+        - 갱신 : 게시글 생성/수정/삭제 커밋 후 BoardChangedEvent 로 증분 반영
+        - 재구성 : 애플리케이션 기동 후 DB 에서 id 순으로 나눠 읽어 다시 만든다. (완료 전에는 isReady() == false)
+     */
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final BoardRepository boardRepository;
+
+    // 토큰 -> (게시글 id -> 가중치가 적용된 등장 횟수)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // 게시글 id -> 색인된 토큰 (수정/삭제 시 기존 토큰 제거용)
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 재구성 도중 이벤트로 먼저 반영된 게시글 (재구성이 읽은 옛 데이터로 덮어쓰지 않기 위함)
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding = false;
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 순위 : 점수가 높을수록, 동점이면 최신 글(id 가 클수록) 앞
+    private static final Comparator<Map.Entry<Long, Double>> RANK_ORDER =
+            Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+    private static final Comparator<Map.Entry<Long, Double>> LATEST_ORDER = Map.Entry.comparingByKey();
+
+    // 검색 (순위순) : 모든 검색어 토큰을 포함한 게시글 중 상위 limit 개의 id
+    // 일치한 게시글 전체를 정렬하지 않고 크기 limit 의 힙으로 상위만 남긴다. (O(n log limit))
+    public List<Long> search(String keyword, int limit) {
+        return top(match(keyword, Long.MAX_VALUE), RANK_ORDER, limit);
+    }
+
+    // 검색 (커서) : cursor 보다 작은 id 를 최신순으로 limit 개
+    public List<Long> searchBefore(String keyword, long cursor, int limit) {
+        return top(match(keyword, cursor), LATEST_ORDER, limit);
+    }
+
+    public void index(Long boardId, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        NGramTokenizer.tokenizeForIndex(title).forEach((token, count) -> frequencies.merge(token, count * TITLE_WEIGHT, Integer::sum));
+        NGramTokenizer.tokenizeForIndex(content).forEach((token, count) -> frequencies.merge(token, count * CONTENT_WEIGHT, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(boardId);
+            frequencies.forEach((token, count) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(boardId, count));
+            documents.put(boardId, frequencies.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long boardId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(boardId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 커밋된 변경만 색인에 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.getType() == BoardChangedEvent.Type.COUNTER_CHANGED) {
+            return; // 좋아요/즐겨찾기 수 변경은 색인과 무관
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(event.getBoardId());
+        }
+        if (event.getType() == BoardChangedEvent.Type.DELETED) {
+            remove(event.getBoardId());
+        } else {
+            index(event.getBoardId(), event.getTitle(), event.getContent());
+        }
+    }
+
+    // 기동 시 DB 전체를 id 순으로 나눠 읽어 색인 재구성
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            long afterId = 0L;
+            int indexed = 0;
+            List<BoardDocument> batch;
+            do {
+                batch = boardRepository.findDocumentsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (BoardDocument document : batch) {
+                    if (!changedDuringRebuild.contains(document.getId())) {
+                        index(document.getId(), document.getTitle(), document.getContent());
+                    }
+                    afterId = document.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            ready = true;
+            log.info("게시글 검색 색인 재구성 완료 : {}건, {}ms", indexed, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("게시글 검색 색인 재구성 실패, DB 검색으로 대체합니다.", e);
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        }
+    }
+
+    // 검색어 토큰의 posting 교집합 + 점수 계산 (가장 짧은 posting 부터 확인)
+    private Map<Long, Double> match(String keyword, long cursor) {
+        Set<String> tokens = NGramTokenizer.tokenizeForQuery(keyword);
+        Map<Long, Double> scores = new HashMap<>();
+        if (tokens.isEmpty()) {
+            return scores;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Map<Long, Integer> posting = postings.get(token);
+                if (posting == null) {
+                    return scores; // 하나라도 없는 토큰이 있으면 결과 없음
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            int documentCount = documents.size();
+            candidates:
+            for (Long boardId : lists.get(0).keySet()) {
+                if (boardId >= cursor) {
+                    continue;
+                }
+                double score = 0;
+                for (Map<Long, Integer> posting : lists) {
+                    Integer frequency = posting.get(boardId);
+                    if (frequency == null) {
+                        continue candidates;
+                    }
+                    score += (1 + Math.log(frequency)) * Math.log(1 + (double) documentCount / posting.size());
+                }
+                scores.put(boardId, score);
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // order 기준 상위 limit 개를 내림차순으로 반환 (힙의 머리 = 지금까지 남은 것 중 가장 낮은 순위)
+    private static List<Long> top(Map<Long, Double> scores, Comparator<Map.Entry<Long, Double>> order, int limit) {
+        if (limit <= 0 || scores.isEmpty()) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, order);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.offer(entry);
+            } else if (order.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+
+        Long[] ids = new Long[heap.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = heap.poll().getKey();
+        }
+        return new ArrayList<>(Arrays.asList(ids));
+    }
+
+    // write lock 안에서 호출
+    private void removeDocument(Long boardId) {
+        Set<String> tokens = documents.remove(boardId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, Integer> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(boardId);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package joo.community.service.search;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class NGramTokenizer {
+
+    /*
+        2-gram(bigram) 토크나이저
+        한국어는 형태소 분석 없이 공백 단위로 자르면 조사/어미 때문에 검색이 안 되는 경우가 많다.
+        ex) "스프링부트에서" -> [스프, 프링, 링부, 부트, 트에, 에서]
+        단어를 연속된 두 글자 단위로 잘라서 색인하면 "스프링" 검색 시 [스프, 프링] 이 모두 포함된 문서를 찾을 수 있다.
+        한 글자 검색어를 위해 색인 시에는 1-gram 도 함께 만든다.
+     */
+
+    private NGramTokenizer() {}
+
+    // 색인용 : 토큰 -> 등장 횟수 (1-gram + 2-gram)
+    public static Map<String, Integer> tokenizeForIndex(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String word : words(text)) {
+            for (int i = 0; i < word.length(); i++) {
+                frequencies.merge(word.substring(i, i + 1), 1, Integer::sum);
+                if (i + 1 < word.length()) {
+                    frequencies.merge(word.substring(i, i + 2), 1, Integer::sum);
+                }
+            }
+        }
+        return frequencies;
+    }
+
+    // 검색용 : 두 글자 이상 단어는 2-gram, 한 글자 단어는 1-gram
+    public static Set<String> tokenizeForQuery(String keyword) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(keyword)) {
+            if (word.length() == 1) {
+                tokens.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                tokens.add(word.substring(i, i + 2));
+            }
+        }
+        return tokens;
+    }
+
+    // 정규화 (NFC, 소문자) 후 문자/숫자가 아닌 문자를 기준으로 단어 분리
+    private static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) ? c : ' ');
+        }
+        String trimmed = sb.toString().trim();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split(" +");
+    }
+}
@@ -0,0 +1,30 @@
+package joo.community.service.user;
+
+import joo.community.entity.user.Authority;
+import joo.community.entity.user.User;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CachedUser {
+
+    /*
+        UserLookupCache 에 담는 회원 정보 (불변)
+        엔티티는 영속성 컨텍스트에 묶이므로 캐시하지 않고 값만 복사한다.
+        연관관계가 필요하면 id 로 UserRepository.getReferenceById 를 사용한다.
+     */
+
+    private final Long id;
+    private final String username;
+    private final String password; // 로그인 검증용 (BCrypt 해시)
+    private final String name;
+    private final String nickname;
+    private final Authority authority;
+
+    public static CachedUser from(User user) {
+        return new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getName(),
+                user.getNickname(), user.getAuthority());
+    }
+}
@@ -0,0 +1,60 @@
+package joo.community.service.user;
+
+import joo.community.config.jwt.VerifiedTokenCache;
+import joo.community.service.board.BoardDetailCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static joo.community.config.constant.Constant.REDIS_USER_INVALIDATION_CHANNEL;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RedisUserInvalidationBroadcaster implements MessageListener {
+
+    /*
+        여러 인스턴스의 UserLookupCache, VerifiedTokenCache, BoardDetailCache 를 함께 무효화한다. (redis.enabled = true, Redis pub/sub)
+        - 수정/탈퇴 커밋 후 "username\n이전 nickname\n이후 nickname" 을 채널에 발행
+        - 구독한 모든 인스턴스 (발행한 인스턴스 포함) 가 자기 캐시의 회원 항목과 그 회원의 검증된 토큰,
+          이전 nickname 으로 작성된 게시글 단건 조회 항목을 제거한다.
+        pub/sub 은 전달을 보장하지 않으므로, 연결이 끊긴 사이의 변경은 LRU 로 밀려날 때까지 남을 수 있다.
+     */
+
+    private static final String SEPARATOR = "\n";
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserLookupCache userLookupCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final BoardDetailCache boardDetailCache;
+
+    // 트랜잭션 밖에서 발행되면 (로그인 시 비밀번호 재해시) 바로 처리
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        String message = String.join(SEPARATOR, event.getUsername(),
+                nullToEmpty(event.getPreviousNickname()), nullToEmpty(event.getNickname()));
+        try {
+            redisTemplate.convertAndSend(REDIS_USER_INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("회원 캐시 무효화 전파 실패 : {}", event.getUsername(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] keys = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        userLookupCache.evict(keys[0], Arrays.copyOfRange(keys, 1, keys.length));
+        verifiedTokenCache.evictUser(keys[0]);
+        boardDetailCache.evictWriter(keys[1]);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
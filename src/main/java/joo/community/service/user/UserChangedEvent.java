@@ -0,0 +1,29 @@
+package joo.community.service.user;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class UserChangedEvent {
+
+    /*
+        회원 정보 수정/탈퇴 이벤트
+        UserService 에서 발행하고, 트랜잭션 커밋 이후 UserLookupCache 항목과 VerifiedTokenCache 의 그 회원 토큰을 제거하는 데 사용한다.
+        (redis.enabled = true 이면 다른 인스턴스에도 전파 : RedisUserInvalidationBroadcaster)
+     */
+
+    private final String username;
+    private final String previousNickname;
+    private final String nickname;
+    private final boolean deleted;
+
+    public static UserChangedEvent updated(String username, String previousNickname, String nickname) {
+        return new UserChangedEvent(username, previousNickname, nickname, false);
+    }
+
+    public static UserChangedEvent deleted(String username, String nickname) {
+        return new UserChangedEvent(username, nickname, nickname, true);
+    }
+}
@@ -0,0 +1,66 @@
+package joo.community.service.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import joo.community.config.cache.LruCache;
+import joo.community.repository.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+@Component
+public class UserLookupCache {
+
+    /*
+        username / nickname -> 회원 조회 캐시 (가장 자주 실행되던 findByUsername, findByNickname 앞단)
+        - 로그인 (AuthService), 쪽지 수신자 (MessageService), 이전 토큰의 현재 사용자 (CurrentUserProvider)
+        - 조회 종류별 LRU 두 개, hit ratio 를 따로 노출 (cache=userByUsername, cache=userByNickname)
+        - 없는 회원은 캐시하지 않는다. (가입 직후 바로 보이도록)
+        - 수정/탈퇴가 커밋된 후 (UserChangedEvent) 해당 username, 이전/이후 nickname 항목을 제거한다.
+          조회 중에 제거가 일어나면 읽어온 값은 저장하지 않는다. (LruCache.get(key, loader))
+     */
+
+    private final UserRepository userRepository;
+    private final LruCache<String, CachedUser> byUsername;
+    private final LruCache<String, CachedUser> byNickname;
+
+    public UserLookupCache(UserRepository userRepository,
+                           @Value("${user.lookup-cache.maximum-size:10000}") int maximumSize,
+                           MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.byUsername = new LruCache<>(maximumSize);
+        this.byNickname = new LruCache<>(maximumSize);
+        this.byUsername.bindTo(meterRegistry, "userByUsername");
+        this.byNickname.bindTo(meterRegistry, "userByNickname");
+    }
+
+    public Optional<CachedUser> findByUsername(String username) {
+        return Optional.ofNullable(byUsername.get(username,
+                key -> userRepository.findByUsername(key).map(CachedUser::from).orElse(null)));
+    }
+
+    public Optional<CachedUser> findByNickname(String nickname) {
+        return Optional.ofNullable(byNickname.get(nickname,
+                key -> userRepository.findByNickname(key).map(CachedUser::from).orElse(null)));
+    }
+
+    // 트랜잭션 밖에서 발행되면 (로그인 시 비밀번호 재해시) 바로 처리
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUsername(), event.getPreviousNickname(), event.getNickname());
+    }
+
+    // 이 인스턴스의 항목만 제거 (다른 인스턴스에서 전파된 경우에도 사용)
+    public void evict(String username, String... nicknames) {
+        if (username != null && !username.isEmpty()) {
+            byUsername.evict(username);
+        }
+        for (String nickname : nicknames) {
+            if (nickname != null && !nickname.isEmpty()) {
+                byNickname.evict(nickname);
+            }
+        }
+    }
+}
@@ -5,8 +5,14 @@ import joo.community.entity.user.Authority;
 import joo.community.entity.user.User;
 import joo.community.exception.MemberNotEqualsException;
 import joo.community.exception.MemberNotFoundException;
+import joo.community.repository.board.BoardContentRepository;
+import joo.community.repository.board.BoardRepository;
+import joo.community.repository.board.ImageRepository;
 import joo.community.repository.user.UserRepository;
+import joo.community.service.board.BoardChangedEvent;
+import joo.community.service.file.ImageBlobStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -26,6 +32,11 @@ public class UserService {
      */
 
     private final UserRepository userRepository;
+    private final BoardRepository boardRepository;
+    private final BoardContentRepository boardContentRepository;
+    private final ImageRepository imageRepository;
+    private final ImageBlobStore imageBlobStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Object findAllUsers() {
@@ -53,8 +64,11 @@ public class UserService {
         if (!authentication.getName().equals(user.getUsername())) {
             throw new MemberNotEqualsException();
         } else {
+            String previousNickname = user.getNickname();
             user.setNickname(updateInfo.getNickname());
             user.setName(updateInfo.getName());
+            // 커밋 후 회원 조회 캐시에서 제거 (UserLookupCache)
+            eventPublisher.publishEvent(UserChangedEvent.updated(user.getUsername(), previousNickname, user.getNickname()));
             return UserDto.toDto(user);
         }
     }
@@ -69,7 +83,19 @@ public class UserService {
         if (authentication.getName().equals(user.getUsername())
                 || authentication.getAuthorities().stream().anyMatch(grantedAuthority ->
                         grantedAuthority.getAuthority().equals(Authority.ROLE_ADMIN.name()))) {
+            // 게시글은 DB cascade 로 삭제되지만 본문은 Board -> BoardContent 참조라 남으므로, 회원 삭제 후 직접 지운다.
+            List<Long> boardIds = boardRepository.findIdsByUserIdForUpdate(id);
+            List<Long> contentIds = boardContentRepository.findIdsByUserIdForUpdate(id);
+            // 이미지 행도 cascade 로 지워지므로, 그 전에 내용 파일의 참조 수를 줄인다. (마지막 참조면 커밋 후 파일 삭제)
+            imageRepository.findUniqueNamesByUserIdForUpdate(id).forEach(imageBlobStore::release);
             userRepository.deleteById(id);
+            userRepository.flush();
+            if (!contentIds.isEmpty()) {
+                boardContentRepository.deleteAllByIdInBatch(contentIds);
+            }
+            // cascade 로 지워진 게시글도 커밋 후 단건 조회 캐시, 추천 순위, 검색 색인 등에서 제거
+            boardIds.forEach(boardId -> eventPublisher.publishEvent(BoardChangedEvent.deleted(boardId)));
+            eventPublisher.publishEvent(UserChangedEvent.deleted(user.getUsername(), user.getNickname()));
         } else {
             throw new MemberNotEqualsException();
         }
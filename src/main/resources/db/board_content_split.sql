@@ -0,0 +1,25 @@
+-- 게시글 본문을 Board.content(@Lob) 에서 BoardContent 테이블로 분리 (MySQL)
+-- 기존 게시글은 BoardContent.id = Board.id 로 옮긴다.
+
+CREATE TABLE BoardContent (
+    id      BIGINT   NOT NULL AUTO_INCREMENT,
+    content LONGTEXT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO BoardContent (id, content)
+SELECT id, content FROM Board;
+
+ALTER TABLE Board ADD COLUMN content_id BIGINT NULL;
+UPDATE Board SET content_id = id;
+
+ALTER TABLE Board
+    MODIFY content_id BIGINT NOT NULL,
+    ADD CONSTRAINT uk_board_content UNIQUE (content_id),
+    ADD CONSTRAINT fk_board_content FOREIGN KEY (content_id) REFERENCES BoardContent (id);
+
+ALTER TABLE Board DROP COLUMN content;
+
+-- 회원 탈퇴로 DB cascade 삭제된 게시글의 본문은 UserService.deleteUserInfo 에서 함께 삭제한다.
+-- 이전에 남은 본문은 한 번 정리한다.
+DELETE c FROM BoardContent c LEFT JOIN Board b ON b.content_id = c.id WHERE b.id IS NULL;
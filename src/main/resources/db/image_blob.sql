@@ -0,0 +1,7 @@
+-- 내용 주소 방식 이미지 저장 (MySQL)
+-- 이후 업로드는 Image.uniqueName 이 "SHA-256.확장자" 가 되고, 같은 이름의 파일은 ImageBlob 참조 수로 공유한다.
+-- 기존 (UUID 이름) 이미지는 ImageBlob 이 없으며, 삭제 시 파일을 바로 지운다.
+CREATE TABLE ImageBlob (
+    name     VARCHAR(80) NOT NULL PRIMARY KEY,
+    refCount INT         NOT NULL
+);
@@ -0,0 +1,3 @@
+-- 이미지 저장 상태 컬럼 추가 (MySQL)
+-- 기존 이미지는 모두 저장이 끝난 상태이므로 READY
+ALTER TABLE Image ADD COLUMN status VARCHAR(16) NOT NULL DEFAULT 'READY';
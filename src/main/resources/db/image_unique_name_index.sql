@@ -0,0 +1,2 @@
+-- 고아 파일 정리 (ImageOrphanReconciler) 와 삭제 시 참조 확인용 인덱스 (MySQL)
+CREATE INDEX idx_image_unique_name ON Image (uniqueName);
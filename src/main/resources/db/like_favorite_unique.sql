@@ -0,0 +1,18 @@
+-- 좋아요/즐겨찾기 (board_id, user_id) unique 제약 추가 (MySQL)
+-- ddl-auto=update 는 중복 row 가 있으면 제약 생성을 조용히 건너뛰므로, 배포 전에 한 번 실행한다.
+
+-- 1. 중복 row 제거 (가장 먼저 생성된 row 만 남김)
+DELETE l1 FROM LikeBoard l1
+    JOIN LikeBoard l2 ON l1.board_id = l2.board_id AND l1.user_id = l2.user_id AND l1.id > l2.id;
+
+DELETE f1 FROM Favorite f1
+    JOIN Favorite f2 ON f1.board_id = f2.board_id AND f1.user_id = f2.user_id AND f1.id > f2.id;
+
+-- 2. unique 제약
+ALTER TABLE LikeBoard ADD CONSTRAINT uk_like_board_board_user UNIQUE (board_id, user_id);
+ALTER TABLE Favorite ADD CONSTRAINT uk_favorite_board_user UNIQUE (board_id, user_id);
+
+-- 3. 중복으로 어긋난 좋아요/즐겨찾기 수 재계산
+UPDATE Board b
+SET b.liked     = (SELECT COUNT(*) FROM LikeBoard l WHERE l.board_id = b.id),
+    b.favorited = (SELECT COUNT(*) FROM Favorite f WHERE f.board_id = b.id);
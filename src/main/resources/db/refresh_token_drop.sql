@@ -0,0 +1,7 @@
+-- refresh token 은 RefreshTokenStore (Redis SET EX / 메모리) 에 저장한다. (MySQL)
+-- auth.refresh-token.migration.enabled = true 로 한 번 기동해 유효한 토큰을 옮긴 뒤 (RefreshTokenMigrator),
+-- 테이블이 비었는지 확인하고 지운다. 이후 RefreshToken 엔티티와 RefreshTokenRepository 도 제거한다.
+
+SELECT COUNT(*) FROM refresh_token;
+
+DROP TABLE refresh_token;
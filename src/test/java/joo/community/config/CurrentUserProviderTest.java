@@ -0,0 +1,84 @@
+package joo.community.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.config.guard.CurrentUserProvider;
+import joo.community.config.guard.UserPrincipal;
+import joo.community.entity.user.Authority;
+import joo.community.entity.user.User;
+import joo.community.exception.MemberNotFoundException;
+import joo.community.repository.user.UserRepository;
+import joo.community.service.user.UserChangedEvent;
+import joo.community.service.user.UserLookupCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CurrentUserProviderTest {
+
+    UserRepository userRepository;
+    UserLookupCache userLookupCache;
+    CurrentUserProvider currentUserProvider;
+
+    @BeforeEach
+    void beforeEach() {
+        userRepository = mock(UserRepository.class);
+        userLookupCache = new UserLookupCache(userRepository, 100, new SimpleMeterRegistry());
+        currentUserProvider = new CurrentUserProvider(userRepository, userLookupCache);
+        UserPrincipal principal = new UserPrincipal(7L, "joo", "주", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void afterEach() {
+        SecurityContextHolder.clearContext();
+    }
+
+    static User user(Long id) {
+        return User.builder()
+                .id(id).username("joo").password("hash").name("이름").nickname("주")
+                .authority(Authority.ROLE_USER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("쓰기 요청은 토큰의 회원이 있을 때만 통과한다.")
+    void get_existing() {
+        // given
+        when(userRepository.findByUsername("joo")).thenReturn(Optional.of(user(7L)));
+
+        // when
+        UserPrincipal user = currentUserProvider.getExisting();
+
+        // then
+        assertThat(user.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("탈퇴한 회원의 토큰이나, 탈퇴 후 같은 username 으로 가입한 다른 회원이면 MemberNotFoundException")
+    void deleted_user_is_rejected() {
+        // given
+        when(userRepository.findByUsername("joo")).thenReturn(Optional.of(user(7L)));
+        currentUserProvider.getExisting();
+
+        // when : 탈퇴 커밋 -> 캐시 항목 제거
+        when(userRepository.findByUsername("joo")).thenReturn(Optional.empty());
+        userLookupCache.onUserChanged(UserChangedEvent.deleted("joo", "주"));
+
+        // then
+        assertThatThrownBy(() -> currentUserProvider.getExisting()).isInstanceOf(MemberNotFoundException.class);
+        when(userRepository.findByUsername("joo")).thenReturn(Optional.of(user(8L)));
+        assertThatThrownBy(() -> currentUserProvider.getExisting()).isInstanceOf(MemberNotFoundException.class);
+    }
+}
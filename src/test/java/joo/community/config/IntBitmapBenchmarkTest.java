@@ -0,0 +1,76 @@
+package joo.community.config;
+
+import joo.community.config.cache.IntBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+@Tag("benchmark")
+class IntBitmapBenchmarkTest {
+
+    /*
+        좋아요 1M 건 기준 IntBitmap vs HashSet<Long> 메모리 / contains 시간 비교
+        ./gradlew benchmark 로 실행 (힙 사용량은 GC 후 used memory 차이로 측정한 근사값)
+     */
+
+    private static final int LIKES = 1_000_000;
+    private static final int LOOKUPS = 10_000_000;
+
+    @Test
+    @DisplayName("좋아요 1M 건 : IntBitmap / HashSet<Long> 메모리와 contains 평균 시간")
+    void bitmap_vs_hash_set() {
+        // 회원 5M 명 중 1M 명이 좋아요를 누른 분포
+        Random random = new Random(1);
+        int[] userIds = new int[LIKES];
+        for (int i = 0; i < LIKES; i++) {
+            userIds[i] = random.nextInt(5_000_000);
+        }
+
+        long before = usedMemory();
+        IntBitmap bitmap = new IntBitmap();
+        for (int userId : userIds) {
+            bitmap.add(userId);
+        }
+        long bitmapBytes = usedMemory() - before;
+
+        before = usedMemory();
+        Set<Long> hashSet = new HashSet<>();
+        for (int userId : userIds) {
+            hashSet.add((long) userId);
+        }
+        long hashSetBytes = usedMemory() - before;
+
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (bitmap.contains(i % 5_000_000)) {
+                found++;
+            }
+        }
+        double bitmapNanos = (double) (System.nanoTime() - start) / LOOKUPS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (hashSet.contains((long) (i % 5_000_000))) {
+                found--;
+            }
+        }
+        double hashSetNanos = (double) (System.nanoTime() - start) / LOOKUPS;
+
+        System.out.printf("likes=%,d  IntBitmap=%,dKB (estimate %,dKB) %.1fns  HashSet<Long>=%,dKB %.1fns  (check=%d)%n",
+                bitmap.cardinality(), bitmapBytes / 1024, bitmap.sizeInBytes() / 1024, bitmapNanos,
+                hashSetBytes / 1024, hashSetNanos, found);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
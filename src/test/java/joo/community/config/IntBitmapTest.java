@@ -0,0 +1,84 @@
+package joo.community.config;
+
+import joo.community.config.cache.IntBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntBitmapTest {
+
+    @Test
+    @DisplayName("추가/제거/포함 여부가 HashSet 과 같은 결과를 낸다.")
+    void same_as_hash_set() {
+        // given
+        Random random = new Random(1);
+        IntBitmap bitmap = new IntBitmap();
+        Set<Integer> expected = new HashSet<>();
+
+        // when, then : 희소(array) / 밀집(bitmap) container 전환이 모두 일어나도록 좁은 범위 + 넓은 범위를 섞는다.
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextBoolean() ? random.nextInt(20_000) : random.nextInt(Integer.MAX_VALUE);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertThat(bitmap.add(value)).isEqualTo(expected.add(value));
+                    break;
+                case 1:
+                    assertThat(bitmap.remove(value)).isEqualTo(expected.remove(value));
+                    break;
+                default:
+                    assertThat(bitmap.contains(value)).isEqualTo(expected.contains(value));
+            }
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+    }
+
+    @Test
+    @DisplayName("연속된 id 는 비트맵 container 로 압축된다.")
+    void dense_values_compressed() {
+        // given
+        IntBitmap bitmap = new IntBitmap();
+
+        // when
+        for (int i = 0; i < 1_000_000; i++) {
+            bitmap.add(i);
+        }
+
+        // then : 65536 개당 8KB
+        assertThat(bitmap.cardinality()).isEqualTo(1_000_000);
+        assertThat(bitmap.sizeInBytes()).isLessThan(200_000);
+        assertThat(bitmap.contains(999_999)).isTrue();
+        assertThat(bitmap.contains(1_000_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("배열/비트맵 전환 기준 사이에서는 container 를 바꾸지 않는다.")
+    void container_switch_has_hysteresis() {
+        // given : 4097 개 -> 비트맵 container
+        IntBitmap bitmap = new IntBitmap();
+        for (int i = 0; i <= 4096; i++) {
+            bitmap.add(i);
+        }
+
+        // when, then : 경계 근처에서 추가/제거를 반복해도 비트맵 유지
+        for (int i = 0; i < 100; i++) {
+            bitmap.remove(4096);
+            bitmap.add(4096);
+        }
+        for (int i = 4096; i > 3072; i--) {
+            bitmap.remove(i);
+        }
+        assertThat(bitmap.sizeInBytes()).isGreaterThan(8_192);
+
+        // BITMAP_MIN 이하로 줄면 배열로 전환
+        bitmap.remove(3072);
+        assertThat(bitmap.sizeInBytes()).isLessThan(8_192);
+        assertThat(bitmap.cardinality()).isEqualTo(3072);
+        assertThat(bitmap.contains(3071)).isTrue();
+        assertThat(bitmap.contains(3072)).isFalse();
+    }
+}
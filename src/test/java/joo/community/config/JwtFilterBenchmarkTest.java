@@ -0,0 +1,102 @@
+package joo.community.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.config.jwt.JwtFilter;
+import joo.community.config.jwt.TokenProvider;
+import joo.community.config.jwt.VerifiedTokenCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class JwtFilterBenchmarkTest {
+
+    /*
+        인증된 요청 하나당 JwtFilter 비용 (ns/request)
+        - before : validateToken + getAuthentication (토큰을 두 번 파싱, HMAC 두 번)
+        - cold   : 처음 보는 토큰 (한 번 파싱 + digest + 캐시 저장)
+        - warm   : 캐시된 토큰 (digest + 조회만)
+        ./gradlew benchmark 로 실행
+     */
+
+    private static final int TOKENS = 1_000;
+    private static final int WARMUP = 20_000;
+    private static final int REQUESTS = 200_000;
+
+    @Test
+    @DisplayName("JwtFilter 요청당 비용 : 이전 (두 번 파싱) / cold / warm")
+    void filter_cost_per_request() throws Exception {
+        TokenProvider provider = new TokenProvider(TokenProviderTest.SECRET,
+                new VerifiedTokenCache(TOKENS, new SimpleMeterRegistry()));
+        TokenProvider uncached = new TokenProvider(TokenProviderTest.SECRET,
+                new VerifiedTokenCache(0, new SimpleMeterRegistry())); // 매 요청이 cold
+        String[] tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = provider.generateTokenDto(user("user" + i)).getAccessToken();
+        }
+
+        long check = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            check += before(uncached, tokens[i % TOKENS]).length();
+            check += filter(new JwtFilter(uncached), tokens[i % TOKENS]).length();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            check += before(uncached, tokens[i % TOKENS]).length();
+        }
+        double beforeNanos = (double) (System.nanoTime() - start) / REQUESTS;
+
+        JwtFilter coldFilter = new JwtFilter(uncached);
+        start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            check += filter(coldFilter, tokens[i % TOKENS]).length();
+        }
+        double coldNanos = (double) (System.nanoTime() - start) / REQUESTS;
+
+        JwtFilter warmFilter = new JwtFilter(provider);
+        for (String token : tokens) {
+            filter(warmFilter, token);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            check += filter(warmFilter, tokens[i % TOKENS]).length();
+        }
+        double warmNanos = (double) (System.nanoTime() - start) / REQUESTS;
+
+        System.out.printf("JwtFilter per request : before=%,.0fns  cold=%,.0fns  warm=%,.0fns  (check=%d)%n",
+                beforeNanos, coldNanos, warmNanos, check);
+        assertThat(warmNanos).isLessThan(coldNanos);
+    }
+
+    private static String before(TokenProvider provider, String token) {
+        if (!provider.validateToken(token)) {
+            throw new IllegalStateException(token);
+        }
+        return provider.getAuthentication(token).getName();
+    }
+
+    private static String filter(JwtFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JwtFilter.AUTHORIZATION_HEADER, "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        String name = SecurityContextHolder.getContext().getAuthentication().getName();
+        SecurityContextHolder.clearContext();
+        return name;
+    }
+
+    private static Authentication user(String username) {
+        return new UsernamePasswordAuthenticationToken(username, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
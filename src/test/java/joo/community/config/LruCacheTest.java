@@ -0,0 +1,122 @@
+package joo.community.config;
+
+import joo.community.config.cache.LruCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    @Test
+    @DisplayName("가득 차면 최근에 조회되지 않은 항목부터 제거한다.")
+    void evicts_not_recently_used() {
+        // given
+        LruCache<String, String> cache = new LruCache<>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+
+        // when
+        cache.put("c", "C");
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.peek("a")).isEqualTo("A");
+        assertThat(cache.peek("b")).isNull();
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("조건에 맞는 항목만 제거한다.")
+    void evict_if() {
+        // given
+        LruCache<String, String> cache = new LruCache<>(10);
+        cache.put("a", "joo");
+        cache.put("b", "kim");
+        cache.put("c", "joo");
+
+        // when
+        int removed = cache.evictIf("joo"::equals);
+
+        // then
+        assertThat(removed).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.peek("b")).isEqualTo("kim");
+        assertThat(cache.evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("읽는 중에 다른 key 가 제거되어도 읽어온 값은 저장한다.")
+    void load_is_cached_when_other_key_is_evicted() {
+        // given
+        LruCache<String, String> cache = new LruCache<>(10);
+        cache.put("other", "O");
+
+        // when
+        cache.get("a", key -> {
+            cache.evict("other");
+            return "A";
+        });
+
+        // then
+        assertThat(cache.peek("a")).isEqualTo("A");
+    }
+
+    @Test
+    @DisplayName("읽는 중에 같은 key 가 제거되면 읽어온 (이전) 값은 저장하지 않는다.")
+    void load_is_dropped_when_same_key_is_evicted() {
+        // given
+        LruCache<String, String> cache = new LruCache<>(10);
+
+        // when
+        String loaded = cache.get("a", key -> {
+            cache.evict("a"); // 수정 커밋 후 무효화
+            return "stale";
+        });
+
+        // then
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.peek("a")).isNull();
+        assertThat(cache.get("a", key -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.peek("a")).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("loader 가 실패하면 적재 표시를 지워 다음 조회가 다시 읽는다.")
+    void failed_load_leaves_no_marker() {
+        // given
+        LruCache<String, String> cache = new LruCache<>(10);
+
+        // when
+        try {
+            cache.get("a", key -> {
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException ignored) {
+        }
+
+        // then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a", key -> "A")).isEqualTo("A");
+        assertThat(cache.peek("a")).isEqualTo("A");
+    }
+
+    @Test
+    @DisplayName("expireAfterWrite 가 지난 항목은 다시 읽는다.")
+    void expired_entry_is_reloaded() throws InterruptedException {
+        // given
+        LruCache<String, String> cache = new LruCache<>(10, 20);
+        cache.put("a", "old");
+        assertThat(cache.get("a")).isEqualTo("old");
+
+        // when
+        Thread.sleep(50);
+
+        // then
+        assertThat(cache.peek("a")).isNull();
+        assertThat(cache.get("a", key -> "new")).isEqualTo("new");
+        assertThat(cache.get("a")).isEqualTo("new");
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,78 @@
+package joo.community.config;
+
+import joo.community.config.id.Snowflake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakeTest {
+
+    @Test
+    @DisplayName("id 는 항상 증가하고, 노드 번호와 생성 시각을 담는다.")
+    void monotonic_with_node_and_time() {
+        // given
+        Snowflake snowflake = Snowflake.forNode(3);
+        long before = System.currentTimeMillis();
+
+        // when
+        long previous = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long id = snowflake.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+
+        // then : JavaScript Number 정밀도 범위(2^53) 안
+        assertThat(previous).isLessThan(1L << 53);
+        assertThat(Snowflake.nodeIdOf(previous)).isEqualTo(3);
+        assertThat(Snowflake.timestampOf(previous)).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("ms 당 sequence 를 다 써도 미리 쓰는 시간은 MAX_BORROW_MILLIS 를 넘지 않는다.")
+    void borrow_is_bounded() {
+        // given
+        Snowflake snowflake = Snowflake.forNode(5);
+
+        // when, then : ms 당 512 개보다 빠르게 생성
+        for (int i = 0; i < 200_000; i++) {
+            long id = snowflake.nextId();
+            assertThat(Snowflake.timestampOf(id)).isLessThanOrEqualTo(System.currentTimeMillis() + Snowflake.MAX_BORROW_MILLIS);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 생성해도 중복이 없다.")
+    void unique_concurrently() throws Exception {
+        // given
+        Snowflake snowflake = Snowflake.forNode(4);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 50_000; j++) {
+                    ids.add(snowflake.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(ids).hasSize(8 * 50_000);
+    }
+}
@@ -0,0 +1,144 @@
+package joo.community.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.config.guard.UserPrincipal;
+import joo.community.config.jwt.TokenProvider;
+import joo.community.config.jwt.VerifiedTokenCache;
+import joo.community.dto.sign.TokenDto;
+import joo.community.service.user.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenProviderTest {
+
+    static final String SECRET = "60NQiCh3K0Cni9cbC8CAMa3cK8ysNRNvn7kzrcHYhjoKWjho7U1YV/FGzOQvhXhr4wASvSBLaNA2RUu0xTYEVg==";
+
+    SimpleMeterRegistry meterRegistry;
+    VerifiedTokenCache verifiedTokenCache;
+    TokenProvider tokenProvider;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(100, meterRegistry);
+        tokenProvider = new TokenProvider(SECRET, verifiedTokenCache);
+    }
+
+    static Authentication user(String username) {
+        return new UsernamePasswordAuthenticationToken(username, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("검증된 토큰은 캐시되어 다음 요청에서 다시 파싱하지 않고 같은 Authentication 을 돌려준다.")
+    void authenticate_caches_verified_token() {
+        // given
+        TokenDto tokenDto = tokenProvider.generateTokenDto(user("joo"));
+
+        // when
+        Authentication first = tokenProvider.authenticate(tokenDto.getAccessToken());
+        Authentication second = tokenProvider.authenticate(tokenDto.getAccessToken());
+
+        // then
+        assertThat(first.getName()).isEqualTo("joo");
+        assertThat(first.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(second).isSameAs(first);
+        assertThat(verifiedTokenCache.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("로그인한 사용자의 id, nickname 을 claim 으로 담아 요청마다 DB 조회 없이 principal 을 만든다.")
+    void authenticate_builds_principal_from_claims() {
+        // given
+        UserPrincipal loggedIn = new UserPrincipal(7L, "joo", "password", "주",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        TokenDto tokenDto = tokenProvider.generateTokenDto(
+                new UsernamePasswordAuthenticationToken(loggedIn, "", loggedIn.getAuthorities()));
+        TokenDto withoutClaims = tokenProvider.generateTokenDto(user("kim"));
+
+        // when
+        Authentication authentication = tokenProvider.authenticate(tokenDto.getAccessToken());
+        Authentication reissued = tokenProvider.getAuthentication(tokenDto.getAccessToken());
+        Authentication old = tokenProvider.authenticate(withoutClaims.getAccessToken());
+
+        // then
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("joo");
+        assertThat(principal.getNickname()).isEqualTo("주");
+        assertThat(principal.toUserDto().getId()).isEqualTo(7L);
+        assertThat(((UserPrincipal) reissued.getPrincipal()).getId()).isEqualTo(7L);
+        assertThat(((UserPrincipal) old.getPrincipal()).getId()).isNull(); // id claim 이전 토큰
+    }
+
+    @Test
+    @DisplayName("서명이 바뀐 토큰, 권한 정보가 없는 refresh token, 만료된 토큰은 인증하지 않고 캐시하지도 않는다.")
+    void authenticate_rejects_invalid_token() {
+        // given
+        TokenDto tokenDto = tokenProvider.generateTokenDto(user("joo"));
+        String accessToken = tokenDto.getAccessToken();
+        int signature = accessToken.lastIndexOf('.') + 1;
+        String tampered = accessToken.substring(0, signature)
+                + (accessToken.charAt(signature) == 'A' ? 'B' : 'A') + accessToken.substring(signature + 1);
+        String expired = Jwts.builder()
+                .setSubject("joo")
+                .claim("auth", "ROLE_USER")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // when, then
+        assertThat(tokenProvider.authenticate(tampered)).isNull();
+        assertThat(tokenProvider.authenticate(tokenDto.getRefreshToken())).isNull();
+        assertThat(tokenProvider.authenticate(expired)).isNull();
+        assertThat(tokenProvider.authenticate("not-a-jwt")).isNull();
+        assertThat(verifiedTokenCache.size()).isZero();
+        assertThat(tokenProvider.validateToken(accessToken)).isTrue();
+        assertThat(tokenProvider.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    @DisplayName("캐시된 토큰도 exp 가 지나면 없는 것으로 보고 제거한다.")
+    void cached_token_expires_at_exp() {
+        // given
+        verifiedTokenCache.put("token", user("joo"), System.currentTimeMillis() - 1);
+        verifiedTokenCache.put("other", user("kim"), System.currentTimeMillis() + 60_000);
+
+        // when, then
+        assertThat(verifiedTokenCache.get("token")).isNull();
+        assertThat(verifiedTokenCache.get("other").getName()).isEqualTo("kim");
+        assertThat(verifiedTokenCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("회원 정보가 바뀌거나 탈퇴하면 그 회원의 캐시된 토큰을 모두 제거한다.")
+    void user_changed_evicts_tokens() {
+        // given
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        verifiedTokenCache.put("first", user("joo"), expiresAt);
+        verifiedTokenCache.put("second", user("joo"), expiresAt);
+        verifiedTokenCache.put("other", user("kim"), expiresAt);
+
+        // when
+        verifiedTokenCache.onUserChanged(UserChangedEvent.deleted("joo", "주"));
+
+        // then
+        assertThat(verifiedTokenCache.get("first")).isNull();
+        assertThat(verifiedTokenCache.get("second")).isNull();
+        assertThat(verifiedTokenCache.get("other").getName()).isEqualTo("kim");
+    }
+}
@@ -1,11 +1,16 @@
 package joo.community.controller;
 
 
+import joo.community.advice.ExceptionAdvice;
 import joo.community.config.guard.LoginMemberArgumentResolver;
 import joo.community.controller.board.BoardController;
 import joo.community.dto.board.BoardCreateRequest;
 import joo.community.dto.board.BoardUpdateRequest;
+import joo.community.dto.board.BoardCursor;
+import joo.community.dto.board.BoardSimpleDto;
+import joo.community.dto.board.BoardSliceResponse;
 import joo.community.entity.board.Board;
+import joo.community.exception.InvalidCursorException;
 import joo.community.repository.board.BoardRepository;
 import joo.community.service.board.BoardService;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +20,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
@@ -30,10 +35,13 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,7 +63,8 @@ class BoardControllerTest {
     @BeforeEach
     void beforeEach() {
         mockMvc = MockMvcBuilders.standaloneSetup(boardController)
-                .setCustomArgumentResolvers(loginMemberArgumentResolver)
+                .setCustomArgumentResolvers(loginMemberArgumentResolver, new PageableHandlerMethodArgumentResolver())
+                .setControllerAdvice(new ExceptionAdvice())
                 .build();
     }
 
@@ -100,15 +109,55 @@ class BoardControllerTest {
     }
 
     @Test
-    @DisplayName("전체 게시물 조회 (페이징)")
-    public void findAllBoardsTest() throws Exception {
+    @DisplayName("offset 목록 조회의 data 는 게시글 배열을 유지한다.")
+    void find_all_boards_keeps_data_array() throws Exception {
         // given
-        Pageable pageable = PageRequest.of(0, 5, Sort.Direction.DESC, "id");
-        Page<Board> result = boardRepository.findAll(pageable);
+        given(boardService.findAllBoards(PageRequest.of(0, 5, Sort.Direction.DESC, "id"), false))
+                .willReturn(new BoardSliceResponse(List.of(new BoardSimpleDto(1L, "title", "nickname", 0, 0)), true, null));
+
+        // when, then
+        mockMvc.perform(
+                        get("/api/boards")
+                                .param("page", "0")
+                                .param("size", "5")
+                                .param("sort", "id,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.data").isArray())
+                .andExpect(jsonPath("$.result.data[0].title").value("title"))
+                .andExpect(jsonPath("$.result.hasNext").value(true))
+                .andExpect(jsonPath("$.result.approximateTotal").doesNotExist());
+    }
 
+    @Test
+    @DisplayName("after 파라미터가 있으면 커서 방식으로 목록을 조회한다.")
+    void find_all_boards_by_cursor() throws Exception {
         // when, then
-        assertThat(result).isEqualTo(null);
+        mockMvc.perform(
+                        get("/api/boards")
+                                .param("after", "")
+                                .param("size", "20"))
+                .andExpect(status().isOk());
 
+        verify(boardService).findAllBoardsByCursor("", 20);
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 커서는 500 이 아닌 400 으로 응답한다.")
+    void invalid_cursor_is_bad_request() throws Exception {
+        // given
+        assertThatThrownBy(() -> BoardCursor.decode("%%garbage")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> BoardCursor.decode(BoardCursor.encode(1L).substring(1))).isInstanceOf(InvalidCursorException.class);
+        given(boardService.findAllBoardsByCursor("%%garbage", 20)).willAnswer(invocation -> {
+            BoardCursor.decode("%%garbage");
+            return null;
+        });
+
+        // when, then
+        mockMvc.perform(
+                        get("/api/boards")
+                                .param("after", "%%garbage")
+                                .param("size", "20"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -0,0 +1,145 @@
+package joo.community.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.controller.image.ImageController;
+import joo.community.service.file.ImageCache;
+import joo.community.service.file.ImageFile;
+import joo.community.service.file.ImageVariantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+
+    private static final String NAME = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81.png";
+    private static final String ETAG = "\"039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81\"";
+
+    @InjectMocks
+    ImageController imageController;
+
+    @Mock
+    ImageVariantService imageVariantService;
+
+    @Mock
+    ImageCache imageCache;
+
+    @TempDir
+    Path location;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(imageController).build();
+        Path file = Files.write(location.resolve(NAME), "0123456789".getBytes());
+        given(imageVariantService.open(NAME)).willReturn(new ImageFile(NAME, file, 0, 10, Files.getLastModifiedTime(file).toMillis()));
+    }
+
+    @Test
+    @DisplayName("이미지를 영구 캐시 헤더, 내용 해시 ETag 와 함께 응답한다.")
+    void get_image() throws Exception {
+        mockMvc.perform(get("/image/" + NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    @DisplayName("ETag 가 같으면 본문 없이 304 로 응답한다.")
+    void not_modified() throws Exception {
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Range 요청에는 해당 구간만 206 으로, 범위를 벗어나면 416 으로 응답한다.")
+    void range() throws Exception {
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+                .andExpect(content().string("234"));
+
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    @DisplayName("If-Range 가 strong ETag 또는 Last-Modified 와 정확히 같을 때만 206, 아니면 전체를 200 으로 응답한다.")
+    void if_range() throws Exception {
+        long lastModified = Files.getLastModifiedTime(location.resolve(NAME)).toMillis();
+
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=2-4").header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("234"));
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=2-4").header(HttpHeaders.IF_RANGE, httpDate(lastModified)))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("234"));
+
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=2-4").header(HttpHeaders.IF_RANGE, "W/" + ETAG))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=2-4").header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+        mockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=2-4").header(HttpHeaders.IF_RANGE, httpDate(lastModified - 60_000)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    @DisplayName("캐시에 담긴 이미지는 파일을 다시 열지 않고 같은 헤더로 응답한다.")
+    void cached_image() throws Exception {
+        // given
+        ImageCache cache = new ImageCache(1024 * 1024, 1024 * 1024, new SimpleMeterRegistry());
+        MockMvc cachedMockMvc = MockMvcBuilders.standaloneSetup(new ImageController(imageVariantService, cache)).build();
+        cachedMockMvc.perform(get("/image/" + NAME)).andExpect(status().isOk()); // miss -> 캐시에 담음
+
+        // when, then
+        cachedMockMvc.perform(get("/image/" + NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string("0123456789"));
+        cachedMockMvc.perform(get("/image/" + NAME).header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("234"));
+        verify(imageVariantService, times(1)).open(NAME);
+        assertThat(cache.hitCount()).isEqualTo(2);
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
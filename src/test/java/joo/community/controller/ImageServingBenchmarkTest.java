@@ -0,0 +1,132 @@
+package joo.community.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.CacheControl;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:h2.properties")
+class ImageServingBenchmarkTest {
+
+    /*
+        이미지 응답 처리량 비교 : ImageController (sendfile) vs 기존 ResourceHttpRequestHandler (/legacy-image/**)
+        1MB 이미지를 동시 16 연결로 10초씩 요청, 초당 요청 수와 1GB 응답당 CPU 시간 (프로세스 전체, 클라이언트 포함)
+        ./gradlew benchmark 로 실행
+     */
+
+    private static final int FILE_SIZE = 1024 * 1024;
+    private static final int CONNECTIONS = 16;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final String NAME = "0000000000000000000000000000000000000000000000000000000000000000.jpg";
+
+    private static Path location;
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        location = Files.createTempDirectory("image-bench");
+        byte[] content = new byte[FILE_SIZE];
+        new Random(1).nextBytes(content);
+        Files.write(location.resolve(NAME), content);
+        registry.add("upload.image.location", () -> location.toString() + "/");
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        FileSystemUtils.deleteRecursively(location);
+    }
+
+    @TestConfiguration
+    static class LegacyImageHandler implements WebMvcConfigurer {
+
+        // 변경 전 WebConfig 의 /image/** 설정
+        @Override
+        public void addResourceHandlers(ResourceHandlerRegistry registry) {
+            registry.addResourceHandler("/legacy-image/**")
+                    .addResourceLocations("file:" + location + "/")
+                    .setCacheControl(CacheControl.maxAge(Duration.ofHours(1L)).cachePublic());
+        }
+    }
+
+    @Test
+    @DisplayName("1MB 이미지 : ImageController / ResourceHttpRequestHandler 초당 요청 수, GB 당 CPU")
+    void image_serving() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        run(client, "legacy-image"); // warm up
+        run(client, "image");
+
+        System.out.println(run(client, "legacy-image"));
+        System.out.println(run(client, "image"));
+    }
+
+    private String run(HttpClient client, String path) throws Exception {
+        URI uri = URI.create("http://localhost:" + port + "/" + path + "/" + NAME);
+        ExecutorService executor = Executors.newFixedThreadPool(CONNECTIONS);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        long deadline = System.nanoTime() + DURATION.toNanos();
+
+        long cpuBefore = processCpuNanos();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            futures.add(executor.submit(() -> {
+                HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+                while (System.nanoTime() < deadline) {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException(path + " : " + response.statusCode());
+                    }
+                    requests.incrementAndGet();
+                    bytes.addAndGet(response.body().length);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double cpuSeconds = (processCpuNanos() - cpuBefore) / 1e9;
+        executor.shutdown();
+
+        double gigabytes = bytes.get() / (1024.0 * 1024 * 1024);
+        return String.format("/%-13s %8.0f req/s  %7.1f MB/s  CPU %.2fs per GB", path,
+                requests.get() / seconds, bytes.get() / (1024.0 * 1024) / seconds, cpuSeconds / gigabytes);
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+}
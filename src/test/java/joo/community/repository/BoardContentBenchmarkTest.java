@@ -0,0 +1,79 @@
+package joo.community.repository;
+
+import joo.community.entity.board.Board;
+import joo.community.entity.user.Authority;
+import joo.community.entity.user.User;
+import joo.community.repository.board.BoardRepository;
+import joo.community.repository.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2.properties")
+class BoardContentBenchmarkTest {
+
+    /*
+        목록 1 페이지(20건) 조회 시 DB 에서 읽는 바이트 수 비교
+        - before : 본문이 Board row 에 있던 구조 (Board 컬럼 + 본문)
+        - after  : Board 엔티티 목록 조회 (본문 미포함)
+        각 컬럼 값을 문자열로 읽은 UTF-8 바이트 합계 (근사값), ./gradlew benchmark 로 실행
+     */
+
+    private static final int BOARD_COUNT = 200;
+    private static final int CONTENT_LENGTH = 4_000;
+
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("목록 1 페이지 조회 시 읽는 바이트 수 (본문 포함 / 분리)")
+    void bytes_per_list_page() {
+        User user = userRepository.save(User.builder()
+                .username("bench").password("password").name("벤치").nickname("bench").authority(Authority.ROLE_USER).build());
+        List<Board> boards = new ArrayList<>();
+        for (int i = 0; i < BOARD_COUNT; i++) {
+            boards.add(new Board("title " + i, "본".repeat(CONTENT_LENGTH), user, new ArrayList<>()));
+        }
+        boardRepository.saveAll(boards);
+        em.flush();
+        em.clear();
+
+        long before = bytesRead("select b.*, c.content from Board b join BoardContent c on c.id = b.content_id order by b.id desc limit 20");
+        long after = bytesRead("select b.* from Board b order by b.id desc limit 20");
+
+        System.out.printf("list page(20) bytes : content in row=%,d  content split=%,d%n", before, after);
+    }
+
+    private long bytesRead(String sql) {
+        long[] bytes = {0};
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int column = 1; column <= meta.getColumnCount(); column++) {
+                String value = rs.getString(column);
+                bytes[0] += value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+            }
+        });
+        return bytes[0];
+    }
+}
@@ -0,0 +1,163 @@
+package joo.community.repository;
+
+import joo.community.dto.board.BoardSimpleDto;
+import joo.community.entity.board.Board;
+import joo.community.entity.user.Authority;
+import joo.community.entity.user.User;
+import joo.community.repository.board.BoardRepository;
+import joo.community.repository.user.UserRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2.properties")
+class BoardRepositoryTest {
+
+    /*
+        목록 조회가 게시글 수와 상관없이 고정된 쿼리 수로 끝나는지 검증
+        (Hibernate Statistics 의 prepareStatementCount 로 실제 실행된 SQL 수를 센다.)
+     */
+
+    private static final int BOARD_COUNT = 30;
+
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager em;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        User user = userRepository.save(User.builder()
+                .username("writer")
+                .password("password")
+                .name("작성자")
+                .nickname("writer_nickname")
+                .authority(Authority.ROLE_USER)
+                .build());
+
+        for (int i = 0; i < BOARD_COUNT; i++) {
+            boardRepository.save(new Board("title" + i, "content" + i, user, new ArrayList<>()));
+        }
+
+        // 1차 캐시를 비워 실제 DB 조회가 일어나도록 한다.
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("전체 게시글 목록은 페이지 크기와 상관없이 쿼리 1개로 조회한다.")
+    void findAllSimple_single_query() {
+        // when
+        Slice<BoardSimpleDto> small = boardRepository.findAllSimple(PageRequest.of(0, 5, Sort.Direction.DESC, "id"));
+        long smallPageQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Slice<BoardSimpleDto> large = boardRepository.findAllSimple(PageRequest.of(0, BOARD_COUNT, Sort.Direction.DESC, "id"));
+        long largePageQueries = statistics.getPrepareStatementCount();
+
+        // then : Slice 는 COUNT(*) 없이 조회한다.
+        assertThat(small).hasSize(5);
+        assertThat(small.hasNext()).isTrue();
+        assertThat(large.hasNext()).isFalse();
+        assertThat(large).hasSize(BOARD_COUNT);
+        assertThat(large.getContent().get(0).getNickname()).isEqualTo("writer_nickname");
+        assertThat(smallPageQueries).isEqualTo(1);
+        assertThat(largePageQueries).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("게시글 검색 목록을 쿼리 1개로 조회한다.")
+    void findSimpleByTitleContaining_single_query() {
+        // when
+        Slice<BoardSimpleDto> result = boardRepository.findSimpleByTitleContaining("title1", PageRequest.of(0, 20, Sort.Direction.DESC, "id"));
+
+        // then : title1, title10 ~ title19
+        assertThat(result).hasSize(11);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("추천 게시글 목록을 쿼리 1개로 조회한다.")
+    void findSimpleByLikedGreaterThanEqual_single_query() {
+        // when
+        Slice<BoardSimpleDto> result = boardRepository.findSimpleByLikedGreaterThanEqual(0, PageRequest.of(0, BOARD_COUNT, Sort.Direction.DESC, "liked"));
+
+        // then
+        assertThat(result).hasSize(BOARD_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("커서 이후의 게시글을 id 내림차순으로 조회한다.")
+    void findSimpleByIdLessThan_seek() {
+        // given
+        List<BoardSimpleDto> firstPage = boardRepository.findSimpleByIdLessThan(Long.MAX_VALUE, PageRequest.of(0, 10));
+        Long cursor = firstPage.get(firstPage.size() - 1).getId();
+
+        // when
+        List<BoardSimpleDto> nextPage = boardRepository.findSimpleByIdLessThan(cursor, PageRequest.of(0, 10));
+
+        // then
+        assertThat(nextPage).hasSize(10);
+        assertThat(nextPage.get(0).getId()).isLessThan(cursor);
+        assertThat(nextPage).isSortedAccordingTo((a, b) -> Long.compare(b.getId(), a.getId()));
+    }
+
+    @Test
+    @DisplayName("게시글 단건은 작성자, 이미지와 함께 쿼리 1개로 조회한다.")
+    void findDetailById_single_query() {
+        // given
+        Long id = boardRepository.findSimpleByIdLessThan(Long.MAX_VALUE, PageRequest.of(0, 1)).get(0).getId();
+        statistics.clear();
+
+        // when
+        Board board = boardRepository.findDetailById(id).orElseThrow();
+        String nickname = board.getUser().getNickname();
+        int imageCount = board.getImages().size();
+
+        String content = board.getContent();
+
+        // then
+        assertThat(nickname).isEqualTo("writer_nickname");
+        assertThat(imageCount).isZero();
+        assertThat(content).startsWith("content");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("게시글 엔티티를 읽어도 본문은 접근하기 전까지 조회하지 않는다.")
+    void findAll_without_content() {
+        // when
+        List<Board> boards = boardRepository.findAll(PageRequest.of(0, 10, Sort.Direction.DESC, "id")).getContent();
+
+        // then : COUNT 쿼리 + 목록 쿼리
+        assertThat(boards).hasSize(10);
+        assertThat(boards).allMatch(board -> !Hibernate.isInitialized(board.getBoardContent()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,37 @@
+package joo.community.repository;
+
+import joo.community.repository.board.ImageBlobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2.properties")
+class ImageBlobRepositoryTest {
+
+    @Autowired
+    ImageBlobRepository imageBlobRepository;
+
+    @Test
+    @DisplayName("같은 내용을 참조할 때마다 참조 수가 늘고, 0 이 된 뒤에만 삭제된다.")
+    void reference_count() {
+        // when
+        imageBlobRepository.acquire("a.png");
+        imageBlobRepository.acquire("a.png");
+
+        // then
+        assertThat(imageBlobRepository.release("a.png")).isEqualTo(1);
+        assertThat(imageBlobRepository.deleteIfUnreferenced("a.png")).isZero();
+
+        assertThat(imageBlobRepository.release("a.png")).isEqualTo(1);
+        assertThat(imageBlobRepository.deleteIfUnreferenced("a.png")).isEqualTo(1);
+        assertThat(imageBlobRepository.existsById("a.png")).isFalse();
+        assertThat(imageBlobRepository.release("a.png")).isZero();
+    }
+}
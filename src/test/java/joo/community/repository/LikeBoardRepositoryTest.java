@@ -0,0 +1,62 @@
+package joo.community.repository;
+
+import joo.community.entity.board.Board;
+import joo.community.entity.user.Authority;
+import joo.community.entity.user.User;
+import joo.community.repository.board.BoardRepository;
+import joo.community.repository.board.LikeBoardRepository;
+import joo.community.repository.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2.properties")
+class LikeBoardRepositoryTest {
+
+    @Autowired
+    LikeBoardRepository likeBoardRepository;
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    Long boardId;
+    Long userId;
+
+    @BeforeEach
+    void beforeEach() {
+        User user = userRepository.save(User.builder()
+                .username("liker")
+                .password("password")
+                .name("좋아요")
+                .nickname("liker_nickname")
+                .authority(Authority.ROLE_USER)
+                .build());
+        Board board = boardRepository.saveAndFlush(new Board("title", "content", user, new ArrayList<>()));
+        boardId = board.getId();
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("같은 회원의 좋아요는 한 번만 저장되고, 다시 누르면 삭제된다.")
+    void toggle_like() {
+        // when, then
+        assertThat(likeBoardRepository.insertIfAbsent(1L, boardId, userId)).isEqualTo(1);
+        assertThat(likeBoardRepository.insertIfAbsent(2L, boardId, userId)).isZero(); // (board_id, user_id) unique
+        assertThat(likeBoardRepository.count()).isEqualTo(1);
+
+        assertThat(likeBoardRepository.deleteByBoardIdAndUserId(boardId, userId)).isEqualTo(1);
+        assertThat(likeBoardRepository.deleteByBoardIdAndUserId(boardId, userId)).isZero();
+        assertThat(likeBoardRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,186 @@
+package joo.community.service;
+
+import joo.community.service.board.BoardCounterBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardCounterBufferTest {
+
+    BoardCounterBuffer boardCounterBuffer;
+
+    @BeforeEach
+    void beforeEach() {
+        boardCounterBuffer = new BoardCounterBuffer();
+    }
+
+    @Test
+    @DisplayName("한 게시글에 동시에 누른 좋아요가 유실 없이 누적된다.")
+    void add_concurrently() throws Exception {
+        // given
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    boardCounterBuffer.add(1L, 1, 0);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+        assertThat(deltas).hasSize(1);
+        assertThat(deltas.get(0).getLiked()).isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    @DisplayName("DB 반영 중인 증감도 조회 보정값에 포함되고, 반영이 끝나면 빠진다.")
+    void pending_includes_in_flight() {
+        // given
+        boardCounterBuffer.add(1L, 1, 1);
+        boardCounterBuffer.add(1L, 1, 0);
+
+        // when
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+        boardCounterBuffer.add(1L, 1, 0);
+
+        // then
+        assertThat(boardCounterBuffer.pendingLiked(1L)).isEqualTo(3);
+        assertThat(boardCounterBuffer.pendingFavorited(1L)).isEqualTo(1);
+
+        boardCounterBuffer.complete(deltas);
+        assertThat(boardCounterBuffer.pendingLiked(1L)).isEqualTo(1);
+        assertThat(boardCounterBuffer.pendingFavorited(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("DB 반영에 실패한 증감은 다시 누적된다.")
+    void restore_failed_deltas() {
+        // given
+        boardCounterBuffer.add(1L, 2, 0);
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+
+        // when
+        boardCounterBuffer.restore(deltas);
+
+        // then
+        assertThat(boardCounterBuffer.pendingLiked(1L)).isEqualTo(2);
+        assertThat(boardCounterBuffer.drain()).extracting(BoardCounterBuffer.Delta::getLiked).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("좋아요와 취소가 상쇄된 게시글은 반영 대상에서 빠진다.")
+    void drain_skips_zero_sum() {
+        // given
+        boardCounterBuffer.add(1L, 1, 0);
+        boardCounterBuffer.add(1L, -1, 0);
+        boardCounterBuffer.add(2L, 1, 0);
+
+        // when
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+
+        // then
+        assertThat(deltas).extracting(BoardCounterBuffer.Delta::getBoardId).containsExactly(2L);
+        assertThat(boardCounterBuffer.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("반영 커밋과 complete 사이의 조회는 complete 가 끝난 뒤의 값으로 응답한다. (두 번 더하지 않음)")
+    void read_between_commit_and_complete_waits() throws Exception {
+        // given
+        AtomicLong db = new AtomicLong(10);
+        boardCounterBuffer.add(1L, 1, 0);
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            boardCounterBuffer.publishOnCommit(deltas, () -> { });
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // when : 커밋 (DB 값 11), 아직 complete 전
+        synchronizations.forEach(s -> s.beforeCommit(false));
+        db.set(11);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        Future<Long> read = reader.submit(() ->
+                boardCounterBuffer.readConsistent(() -> db.get() + boardCounterBuffer.pendingLiked(1L)));
+        Thread.sleep(100);
+        assertThat(read.isDone()).isFalse();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // then
+        assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo(11L);
+        reader.shutdown();
+    }
+
+    @Test
+    @DisplayName("DB 를 읽은 뒤 반영이 끝나면 다시 읽는다. (DB 는 이전 값, pending 은 반영 후 값인 조합 방지)")
+    void read_overlapping_publish_is_retried() {
+        // given
+        AtomicLong db = new AtomicLong(10);
+        boardCounterBuffer.add(1L, 1, 0);
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+        int[] reads = {0};
+
+        // when : 첫 번째 읽기에서 DB 값을 읽은 직후 커밋 + complete
+        long value = boardCounterBuffer.readConsistent(() -> {
+            long dbValue = db.get();
+            if (reads[0]++ == 0) {
+                db.set(11);
+                boardCounterBuffer.complete(deltas);
+            }
+            return dbValue + boardCounterBuffer.pendingLiked(1L);
+        });
+
+        // then
+        assertThat(value).isEqualTo(11L);
+        assertThat(reads[0]).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("반영 트랜잭션이 롤백되면 증감을 다시 누적한다.")
+    void rolled_back_publish_restores() {
+        // given
+        boardCounterBuffer.add(1L, 2, 0);
+        List<BoardCounterBuffer.Delta> deltas = boardCounterBuffer.drain();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            boardCounterBuffer.publishOnCommit(deltas, () -> { });
+
+            // when
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(boardCounterBuffer.pendingLiked(1L)).isEqualTo(2);
+        assertThat(boardCounterBuffer.drain()).extracting(BoardCounterBuffer.Delta::getLiked).containsExactly(2L);
+    }
+}
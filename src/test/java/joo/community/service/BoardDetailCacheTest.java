@@ -0,0 +1,65 @@
+package joo.community.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.dto.board.BoardResponseDto;
+import joo.community.service.board.BoardDetailCache;
+import joo.community.service.user.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardDetailCacheTest {
+
+    BoardDetailCache boardDetailCache;
+    AtomicInteger loads;
+
+    @BeforeEach
+    void beforeEach() {
+        boardDetailCache = new BoardDetailCache(100, 60000, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    BoardResponseDto load(Long id, String nickname) {
+        return boardDetailCache.get(id, key -> {
+            loads.incrementAndGet();
+            return new BoardResponseDto(key, nickname, "title", "content", 0, 0, List.of(), null);
+        });
+    }
+
+    @Test
+    @DisplayName("닉네임이 바뀌면 그 회원이 쓴 게시글 항목만 제거한다.")
+    void nickname_change_evicts_writer_boards() {
+        // given
+        load(1L, "주");
+        load(2L, "주");
+        load(3L, "김");
+
+        // when
+        boardDetailCache.onUserChanged(UserChangedEvent.updated("joo", "주", "새주"));
+
+        // then
+        assertThat(load(1L, "새주").getWriter_nickname()).isEqualTo("새주");
+        assertThat(load(2L, "새주").getWriter_nickname()).isEqualTo("새주");
+        assertThat(load(3L, "김").getWriter_nickname()).isEqualTo("김");
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("탈퇴한 회원이 쓴 게시글은 캐시에서 제거된다.")
+    void deleted_user_boards_are_evicted() {
+        // given
+        load(1L, "주");
+
+        // when
+        boardDetailCache.onUserChanged(UserChangedEvent.deleted("joo", "주"));
+
+        // then
+        load(1L, "주");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
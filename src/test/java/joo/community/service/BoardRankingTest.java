@@ -0,0 +1,77 @@
+package joo.community.service;
+
+import joo.community.service.ranking.BoardRanking;
+import joo.community.service.ranking.MemoryBoardRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardRankingTest {
+
+    BoardRanking boardRanking;
+
+    @BeforeEach
+    void beforeEach() {
+        boardRanking = new MemoryBoardRanking();
+        boardRanking.setScores(Map.of(1L, 5L, 2L, 12L, 3L, 12L, 4L, 30L));
+    }
+
+    @Test
+    @DisplayName("좋아요 수 내림차순, 같으면 최신 글(id 내림차순) 순으로 조회한다.")
+    void top_ordered_by_score() {
+        assertThat(boardRanking.top(0, 0, 10)).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(boardRanking.top(10, 0, 10)).containsExactly(4L, 3L, 2L);
+        assertThat(boardRanking.top(10, 1, 1)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("좋아요/취소와 삭제가 순위에 바로 반영된다.")
+    void increment_and_remove() {
+        // when
+        boardRanking.incrementScore(1L, 26L);
+        boardRanking.incrementScore(4L, -1L);
+        boardRanking.remove(3L);
+
+        // then
+        assertThat(boardRanking.top(0, 0, 10)).containsExactly(1L, 4L, 2L);
+
+        boardRanking.incrementScore(2L, -12L);
+        assertThat(boardRanking.top(0, 0, 10)).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("임의의 증감 후 offset 조회 결과가 전체 정렬 결과와 같다.")
+    void top_same_as_sorted() {
+        // given
+        Random random = new Random(1);
+        Map<Long, Long> scores = new HashMap<>(Map.of(1L, 5L, 2L, 12L, 3L, 12L, 4L, 30L));
+        for (int i = 0; i < 10_000; i++) {
+            long boardId = random.nextInt(500);
+            long delta = random.nextInt(5) - 1;
+            boardRanking.incrementScore(boardId, delta);
+            scores.merge(boardId, delta, Long::sum);
+        }
+
+        // when
+        List<Long> expected = scores.entrySet().stream()
+                .filter(e -> e.getValue() >= 3)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Long>comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .skip(40)
+                .limit(20)
+                .collect(toList());
+
+        // then
+        assertThat(boardRanking.top(3, 40, 20)).isEqualTo(expected);
+    }
+}
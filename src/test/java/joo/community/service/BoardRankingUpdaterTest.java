@@ -0,0 +1,92 @@
+package joo.community.service;
+
+import joo.community.dto.board.BoardScore;
+import joo.community.repository.board.LikeBoardRepository;
+import joo.community.service.board.BoardChangedEvent;
+import joo.community.service.ranking.BoardRanking;
+import joo.community.service.ranking.BoardRankingUpdater;
+import joo.community.service.ranking.MemoryBoardRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BoardRankingUpdaterTest {
+
+    LikeBoardRepository likeBoardRepository;
+    BoardRanking boardRanking;
+    BoardRankingUpdater boardRankingUpdater;
+
+    @BeforeEach
+    void beforeEach() {
+        likeBoardRepository = mock(LikeBoardRepository.class);
+        boardRanking = new MemoryBoardRanking();
+        boardRankingUpdater = new BoardRankingUpdater(boardRanking, likeBoardRepository);
+    }
+
+    @Test
+    @DisplayName("적재는 좋아요 수를 덮어쓰고, 읽는 중에 커밋된 좋아요는 한 번만 더한다.")
+    void seed_overwrites_and_replays_live_likes() {
+        // given : 적재 전에 커밋된 좋아요 (2번 게시글) 는 읽은 값에 이미 포함되어 있다.
+        boardRankingUpdater.onBoardChanged(BoardChangedEvent.counterChanged(2L, 7L, 1, 0));
+        when(likeBoardRepository.countScoresAfter(eq(0L), any())).thenAnswer(invocation -> {
+            // 읽은 뒤, 쓰기 전에 커밋된 좋아요 (1번 게시글)
+            boardRankingUpdater.onBoardChanged(BoardChangedEvent.counterChanged(1L, 9L, 1, 0));
+            return List.of(new BoardScore(1L, 5L), new BoardScore(2L, 3L));
+        });
+
+        // when
+        boardRankingUpdater.seed();
+
+        // then
+        assertThat(boardRankingUpdater.isReady()).isTrue();
+        assertThat(boardRanking.isSeeded()).isTrue();
+        assertThat(boardRanking.top(6, 0, 10)).containsExactly(1L);
+        assertThat(boardRanking.top(3, 0, 10)).containsExactly(1L, 2L);
+        assertThat(boardRanking.top(4, 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("적재된 순위가 사라지면 다시 적재한다.")
+    void lost_ranking_is_seeded_again() {
+        // given
+        BoardRanking ranking = spy(new MemoryBoardRanking());
+        BoardRankingUpdater updater = new BoardRankingUpdater(ranking, likeBoardRepository);
+        when(likeBoardRepository.countScoresAfter(eq(0L), any())).thenReturn(List.of(new BoardScore(1L, 5L)));
+        updater.seed();
+        updater.verifySeeded();
+        verify(likeBoardRepository, times(1)).countScoresAfter(anyLong(), any());
+
+        // when : Redis 에서 순위 키가 지워져 적재 표시도 함께 사라진 상황
+        doReturn(false).when(ranking).isSeeded();
+        doReturn(true).when(ranking).tryStartSeed(any());
+        updater.verifySeeded();
+
+        // then
+        verify(likeBoardRepository, timeout(1_000).times(2)).countScoresAfter(anyLong(), any());
+        verify(ranking, timeout(1_000).times(2)).finishSeed();
+    }
+
+    @Test
+    @DisplayName("이미 적재된 순위는 다시 적재하지 않는다.")
+    void seeded_ranking_is_not_seeded_again() {
+        // given
+        when(likeBoardRepository.countScoresAfter(eq(0L), any())).thenReturn(List.of(new BoardScore(1L, 5L)));
+        boardRankingUpdater.seed();
+
+        // when
+        BoardRankingUpdater other = new BoardRankingUpdater(boardRanking, likeBoardRepository);
+        other.seed();
+
+        // then
+        assertThat(other.isReady()).isTrue();
+        verify(likeBoardRepository, times(1)).countScoresAfter(anyLong(), any());
+    }
+}
@@ -0,0 +1,85 @@
+package joo.community.service;
+
+import joo.community.entity.board.Board;
+import joo.community.entity.user.Authority;
+import joo.community.entity.user.User;
+import joo.community.repository.board.BoardRepository;
+import joo.community.repository.user.UserRepository;
+import joo.community.service.search.BoardSearchIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2.properties")
+class BoardSearchBenchmarkTest {
+
+    /*
+        LIKE '%keyword%' 검색 vs 역색인 검색 응답 시간 비교
+        ./gradlew benchmark 로 실행, 게시글 수를 늘려가며 평균 시간을 출력한다.
+     */
+
+    private static final int[] BOARD_COUNTS = {1_000, 10_000, 50_000};
+    private static final int ITERATIONS = 200;
+    private static final String[] WORDS = {"스프링", "자바", "게시판", "성능", "인덱스", "캐시", "트랜잭션", "쿼리", "서버", "배포"};
+
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("게시글 수 증가에 따른 LIKE 검색 / 역색인 검색 평균 시간")
+    void like_vs_inverted_index() {
+        User user = userRepository.save(User.builder()
+                .username("bench").password("password").name("벤치").nickname("bench").authority(Authority.ROLE_USER).build());
+        Pageable pageable = PageRequest.of(0, 10, Sort.Direction.DESC, "id");
+
+        int inserted = 0;
+        for (int count : BOARD_COUNTS) {
+            List<Board> boards = new ArrayList<>();
+            for (; inserted < count; inserted++) {
+                String title = WORDS[inserted % WORDS.length] + " " + WORDS[(inserted / 7) % WORDS.length] + " " + inserted;
+                boards.add(new Board(title, "본문 " + title, user, new ArrayList<>()));
+            }
+            boardRepository.saveAll(boards);
+            em.flush();
+            em.clear();
+
+            BoardSearchIndex index = new BoardSearchIndex(boardRepository);
+            index.rebuild();
+
+            double like = averageMicros(() -> boardRepository.findSimpleByTitleContaining("트랜잭션 서버", pageable));
+            double inverted = averageMicros(() -> index.search("트랜잭션 서버", pageable.getPageSize() + 1));
+
+            System.out.printf("boards=%,d  LIKE=%.1fus  inverted-index=%.1fus%n", count, like, inverted);
+        }
+    }
+
+    private double averageMicros(Supplier<?> search) {
+        for (int i = 0; i < ITERATIONS; i++) { // warm-up
+            search.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.get();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+}
@@ -0,0 +1,68 @@
+package joo.community.service;
+
+import joo.community.repository.board.BoardRepository;
+import joo.community.service.search.BoardSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BoardSearchIndexTest {
+
+    BoardSearchIndex boardSearchIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        boardSearchIndex = new BoardSearchIndex(mock(BoardRepository.class));
+        boardSearchIndex.index(1L, "스프링부트 입문", "스프링으로 게시판 만들기");
+        boardSearchIndex.index(2L, "자바 기초", "스프링은 다음 시간에");
+        boardSearchIndex.index(3L, "JPA 성능 개선", "N+1 문제 해결");
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 한국어 단어도 n-gram 으로 검색한다.")
+    void search_korean_ngram() {
+        assertThat(boardSearchIndex.search("스프링", 10)).containsExactly(1L, 2L);
+        assertThat(boardSearchIndex.search("게시판", 10)).containsExactly(1L);
+        assertThat(boardSearchIndex.search("jpa", 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("제목에 포함된 게시글이 본문에만 포함된 게시글보다 먼저 나온다.")
+    void search_title_ranked_first() {
+        boardSearchIndex.index(4L, "오늘의 일기", "자바 공부");
+
+        assertThat(boardSearchIndex.search("자바", 10)).containsExactly(2L, 4L);
+    }
+
+    @Test
+    @DisplayName("수정/삭제된 게시글은 이전 내용으로 검색되지 않는다.")
+    void index_update_and_remove() {
+        boardSearchIndex.index(2L, "코틀린 기초", "다음 시간에");
+        boardSearchIndex.remove(3L);
+
+        assertThat(boardSearchIndex.search("스프링", 10)).containsExactly(1L);
+        assertThat(boardSearchIndex.search("jpa", 10)).isEmpty();
+        assertThat(boardSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("상위 limit 개만 순위순으로 반환한다.")
+    void search_top_limit() {
+        boardSearchIndex.index(4L, "오늘의 일기", "자바 공부");
+        boardSearchIndex.index(5L, "자바 자바", "자바 스트림");
+
+        assertThat(boardSearchIndex.search("자바", 1)).containsExactly(5L);
+        assertThat(boardSearchIndex.search("자바", 2)).containsExactly(5L, 2L);
+        assertThat(boardSearchIndex.search("자바", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("커서보다 작은 id 를 최신순으로 조회한다.")
+    void search_before_cursor() {
+        assertThat(boardSearchIndex.searchBefore("스프링", 2L, 10)).containsExactly(1L);
+        assertThat(boardSearchIndex.searchBefore("스프링", Long.MAX_VALUE, 1)).containsExactly(2L);
+    }
+}
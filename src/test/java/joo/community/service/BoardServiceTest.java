@@ -0,0 +1,83 @@
+package joo.community.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.config.guard.CurrentUserProvider;
+import joo.community.config.id.Snowflake;
+import joo.community.dto.board.BoardResponseDto;
+import joo.community.entity.board.Board;
+import joo.community.entity.user.User;
+import joo.community.repository.board.BoardRepository;
+import joo.community.repository.board.FavoriteRepository;
+import joo.community.repository.board.LikeBoardRepository;
+import joo.community.service.board.*;
+import joo.community.service.file.ImageBlobStore;
+import joo.community.service.ranking.BoardRanking;
+import joo.community.service.ranking.BoardRankingUpdater;
+import joo.community.service.search.BoardSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class BoardServiceTest {
+
+    BoardRepository boardRepository;
+    BoardDetailCache boardDetailCache;
+    BoardCounterBuffer boardCounterBuffer;
+    BoardService boardService;
+
+    @BeforeEach
+    void beforeEach() {
+        boardRepository = mock(BoardRepository.class);
+        boardDetailCache = new BoardDetailCache(100, 60000, new SimpleMeterRegistry());
+        boardCounterBuffer = new BoardCounterBuffer();
+        boardService = new BoardService(mock(CurrentUserProvider.class), boardRepository, mock(LikeBoardRepository.class),
+                mock(FavoriteRepository.class), mock(ImageBlobStore.class), mock(ImageUploadPipeline.class),
+                mock(BoardTotalCounter.class), mock(BoardSearchIndex.class), boardDetailCache, boardCounterBuffer,
+                mock(BoardMembershipIndex.class), mock(BoardRanking.class), mock(BoardRankingUpdater.class),
+                mock(ApplicationEventPublisher.class), mock(Snowflake.class));
+    }
+
+    static Board board(Long id, int liked) {
+        User user = mock(User.class);
+        when(user.getNickname()).thenReturn("주");
+        Board board = mock(Board.class);
+        when(board.getId()).thenReturn(id);
+        when(board.getTitle()).thenReturn("title");
+        when(board.getContent()).thenReturn("content");
+        when(board.getLiked()).thenReturn(liked);
+        when(board.getUser()).thenReturn(user);
+        when(board.getImages()).thenReturn(new ArrayList<>());
+        return board;
+    }
+
+    @Test
+    @DisplayName("조회 도중 좋아요 수가 DB 에 반영되면 다시 읽어 반영된 값을 응답한다.")
+    void find_board_retries_after_flush() {
+        // given
+        boardCounterBuffer.add(1L, 1, 0); // 아직 DB 에 반영되지 않은 좋아요 1
+        Board beforeFlush = board(1L, 0);
+        Board afterFlush = board(1L, 1);
+        when(boardRepository.findDetailById(1L))
+                .thenAnswer(invocation -> {
+                    // 첫 번째 읽기가 반영 전 DB 값 (0) 을 읽은 직후 BoardCounterFlusher 가 반영을 커밋
+                    boardCounterBuffer.complete(boardCounterBuffer.drain());
+                    boardDetailCache.evict(1L);
+                    return Optional.of(beforeFlush);
+                })
+                .thenReturn(Optional.of(afterFlush));
+
+        // when
+        BoardResponseDto result = boardService.findBoard(1L);
+
+        // then
+        assertThat(result.getLikeCount()).isEqualTo(1);
+        verify(boardRepository, times(2)).findDetailById(1L);
+    }
+}
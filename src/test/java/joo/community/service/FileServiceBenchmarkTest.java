@@ -0,0 +1,143 @@
+package joo.community.service;
+
+import joo.community.service.file.FileService;
+import joo.community.service.file.LocalFileService;
+import joo.community.service.file.NioFileService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("benchmark")
+class FileServiceBenchmarkTest {
+
+    /*
+        이미지 저장 처리량 / 지연 시간 비교 : LocalFileService (transferTo) vs NioFileService (fsync 끔 / 켬)
+        1MB 업로드 파트(디스크 임시 파일, 서블릿 multipart 와 같은 형태)를 동시 1 / 8 / 64 개씩 저장
+        ./gradlew benchmark 로 실행 (결과는 디스크와 파일 시스템에 크게 좌우된다)
+     */
+
+    private static final int FILE_SIZE = 1024 * 1024;
+    private static final int UPLOADS = 512;
+    private static final int[] PARALLELISM = {1, 8, 64};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("1MB 이미지 512건 저장 : 동시 업로드 수별 MB/s, p99")
+    void upload_throughput() throws Exception {
+        byte[] content = new byte[FILE_SIZE];
+        new Random(1).nextBytes(content);
+        Path part = Files.write(directory.resolve("upload.tmp"), content);
+
+        for (int parallelism : PARALLELISM) {
+            run("local", local(directory.resolve("local-" + parallelism)), part, parallelism);
+            run("nio", new NioFileService(directory.resolve("nio-" + parallelism).toString(), false, 8), part, parallelism);
+            run("nio+fsync", new NioFileService(directory.resolve("fsync-" + parallelism).toString(), true, 8), part, parallelism);
+        }
+    }
+
+    private static void run(String name, FileService fileService, Path part, int parallelism) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        long[] latencies = new long[UPLOADS];
+        AtomicInteger sequence = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            futures.add(executor.submit(() -> {
+                int index;
+                while ((index = sequence.getAndIncrement()) < UPLOADS) {
+                    long begin = System.nanoTime();
+                    fileService.upload(new DiskMultipartFile(part), index + ".png");
+                    latencies[index] = System.nanoTime() - begin;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        double megabytesPerSecond = (double) UPLOADS * FILE_SIZE / (1024 * 1024) / (elapsed / 1e9);
+        System.out.printf("%-10s parallel=%-3d %8.1f MB/s  p50=%6.2fms  p99=%6.2fms%n", name, parallelism,
+                megabytesPerSecond, latencies[UPLOADS / 2] / 1e6, latencies[UPLOADS * 99 / 100] / 1e6);
+    }
+
+    private static FileService local(Path location) throws IOException {
+        LocalFileService localFileService = new LocalFileService();
+        ReflectionTestUtils.setField(localFileService, "location", Files.createDirectories(location).toString());
+        return localFileService;
+    }
+
+    // 디스크에 저장된 multipart 파트 (StandardServletMultipartResolver 의 큰 파트와 같은 형태)
+    private static class DiskMultipartFile implements MultipartFile {
+
+        private final Path path;
+
+        DiskMultipartFile(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public String getName() {
+            return "images";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/png";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return path.toFile().length();
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FileInputStream(path.toFile());
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package joo.community.service;
+
+import joo.community.repository.board.ImageBlobRepository;
+import joo.community.service.file.FileService;
+import joo.community.service.file.ImageBlobStore;
+import joo.community.service.file.ImageReleasedEvent;
+import joo.community.service.file.ImageVariantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ImageBlobStoreTest {
+
+    FileService fileService;
+    ImageBlobRepository imageBlobRepository;
+    ImageVariantService imageVariantService;
+    ApplicationEventPublisher eventPublisher;
+    ImageBlobStore imageBlobStore;
+
+    @BeforeEach
+    void beforeEach() {
+        fileService = mock(FileService.class);
+        imageBlobRepository = mock(ImageBlobRepository.class);
+        imageVariantService = mock(ImageVariantService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        imageBlobStore = new ImageBlobStore(fileService, imageBlobRepository, imageVariantService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("다른 Image 가 참조하고 있으면 파일을 지우지 않는다.")
+    void release_shared() {
+        // given
+        when(imageBlobRepository.release("a.png")).thenReturn(1);
+        when(imageBlobRepository.deleteIfUnreferenced("a.png")).thenReturn(0);
+
+        // when
+        imageBlobStore.release("a.png");
+
+        // then
+        verifyNoInteractions(eventPublisher);
+        verify(fileService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("마지막 참조가 사라지면 커밋 후 파일과 축소본을 지운다.")
+    void release_last() {
+        // given
+        when(imageBlobRepository.release("a.png")).thenReturn(1);
+        when(imageBlobRepository.deleteIfUnreferenced("a.png")).thenReturn(1);
+
+        // when
+        imageBlobStore.release("a.png");
+
+        // then
+        verify(fileService, never()).delete(any()); // 커밋 전
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof ImageReleasedEvent && ((ImageReleasedEvent) event).getName().equals("a.png")));
+
+        imageBlobStore.onReleased(new ImageReleasedEvent("a.png"));
+        verify(fileService).delete("a.png");
+        verify(imageVariantService).delete("a.png");
+    }
+
+    @Test
+    @DisplayName("커밋 전에 같은 내용이 다시 업로드되었으면 파일을 지우지 않는다.")
+    void keep_reuploaded() {
+        // given
+        when(imageBlobRepository.existsById("a.png")).thenReturn(true);
+
+        // when
+        imageBlobStore.onReleased(new ImageReleasedEvent("a.png"));
+
+        // then
+        verify(fileService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("내용 주소 방식 이전에 저장된 파일은 참조 수 없이 지운다.")
+    void release_legacy() {
+        // given
+        when(imageBlobRepository.release("uuid.png")).thenReturn(0);
+
+        // when
+        imageBlobStore.release("uuid.png");
+        imageBlobStore.onReleased(new ImageReleasedEvent("uuid.png"));
+
+        // then
+        verify(fileService).delete("uuid.png");
+        verify(imageBlobRepository, never()).deleteIfUnreferenced(any());
+    }
+}
@@ -0,0 +1,199 @@
+package joo.community.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.service.file.FileDeletedEvent;
+import joo.community.service.file.ImageCache;
+import joo.community.service.file.ImageFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageCacheTest {
+
+    private static final int PAGE = 16 * 1024;
+
+    @TempDir
+    Path location;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("담은 이미지를 여러 페이지에 걸쳐 그대로 (구간 포함) 응답하고, 사용량을 노출한다.")
+    void admit_and_read() throws Exception {
+        // given
+        ImageCache cache = new ImageCache(4 * PAGE, PAGE * 2, meterRegistry);
+        ImageFile file = file("a.png", PAGE + 100, 1);
+        assertThat(cache.acquire("a.png")).isNull();
+
+        // when
+        cache.admit(file);
+
+        // then
+        ImageCache.Entry entry = cache.acquire("a.png");
+        assertThat(read(entry, 0, PAGE + 100)).isEqualTo(Files.readAllBytes(file.getPath()));
+        assertThat(read(entry, PAGE - 2, PAGE + 3)).containsExactly(bytes(PAGE + 100, 1)[PAGE - 2],
+                bytes(PAGE + 100, 1)[PAGE - 1], bytes(PAGE + 100, 1)[PAGE], bytes(PAGE + 100, 1)[PAGE + 1],
+                bytes(PAGE + 100, 1)[PAGE + 2]);
+        entry.release();
+        assertThat(meterRegistry.get("cache.bytes").tag("cache", "image").gauge().value()).isEqualTo(PAGE + 100);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("가득 찼을 때 한 번 요청된 이미지는 더 자주 요청된 이미지를 밀어내지 못한다. (TinyLFU)")
+    void admission() throws Exception {
+        // given : 두 페이지 (이미지 2개) 크기
+        ImageCache cache = new ImageCache(2 * PAGE, PAGE, meterRegistry);
+        admit(cache, file("hot1.png", 100, 1), 5);
+        admit(cache, file("hot2.png", 100, 2), 5);
+
+        // when
+        admit(cache, file("once.png", 100, 3), 1);
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(acquired(cache, "once.png")).isFalse();
+        assertThat(meterRegistry.get("cache.admission.rejections").functionCounter().count()).isEqualTo(1);
+
+        // 더 자주 요청되면 가장 오래 사용되지 않은 이미지를 밀어낸다.
+        admit(cache, file("rising.png", 100, 4), 20);
+        assertThat(acquired(cache, "rising.png")).isTrue();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("파일이 삭제되면 무효화하고, 응답 중이던 항목은 응답이 끝난 뒤 페이지를 돌려받는다.")
+    void invalidate_on_delete() throws Exception {
+        // given
+        ImageCache cache = new ImageCache(PAGE, PAGE, meterRegistry);
+        cache.admit(file("a.png", 100, 1));
+        ImageCache.Entry responding = cache.acquire("a.png");
+
+        // when
+        cache.onFileDeleted(new FileDeletedEvent("a.png"));
+
+        // then
+        assertThat(cache.acquire("a.png")).isNull();
+        assertThat(read(responding, 0, 100)).isEqualTo(bytes(100, 1)); // 아직 덮어쓰이지 않음
+        cache.admit(file("b.png", 100, 2));
+        assertThat(cache.size()).isEqualTo(0); // 페이지가 응답 중이라 자리가 없음
+
+        responding.release();
+        cache.admit(file("b.png", 100, 2));
+        ImageCache.Entry entry = cache.acquire("b.png");
+        assertThat(read(entry, 0, 100)).isEqualTo(bytes(100, 2));
+        entry.release();
+    }
+
+    @Test
+    @DisplayName("잠금 없이 조회하는 동안 밀어내기/무효화가 일어나도 응답 중인 내용은 바뀌지 않는다.")
+    void concurrent_acquire_with_eviction() throws Exception {
+        // given : 페이지 4개에 이미지 8개를 번갈아 담는다.
+        ImageCache cache = new ImageCache(4 * PAGE, PAGE, meterRegistry);
+        List<ImageFile> files = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            files.add(file(i + ".png", 1000, i));
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger corrupted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            readers.add(executor.submit(() -> {
+                int i = 0;
+                while (running.get()) {
+                    ImageFile file = files.get(i++ % files.size());
+                    ImageCache.Entry entry = cache.acquire(file.getName());
+                    if (entry == null) {
+                        cache.admit(file);
+                        continue;
+                    }
+                    try {
+                        if (!Arrays.equals(read(entry, 0, 1000), Files.readAllBytes(file.getPath()))) {
+                            corrupted.incrementAndGet();
+                        }
+                    } finally {
+                        entry.release();
+                    }
+                }
+                return null;
+            }));
+        }
+        executor.submit(() -> {
+            for (int i = 0; running.get(); i++) {
+                cache.invalidate(files.get(i % files.size()).getName());
+            }
+        });
+        Thread.sleep(500);
+        running.set(false);
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(corrupted.get()).isZero();
+        assertThat(cache.hitCount()).isGreaterThan(0L);
+    }
+
+    private static void admit(ImageCache cache, ImageFile file, int requests) {
+        for (int i = 0; i < requests; i++) {
+            ImageCache.Entry entry = cache.acquire(file.getName());
+            if (entry != null) {
+                entry.release();
+            }
+        }
+        cache.admit(file);
+    }
+
+    private static boolean acquired(ImageCache cache, String name) {
+        ImageCache.Entry entry = cache.acquire(name);
+        if (entry == null) {
+            return false;
+        }
+        entry.release();
+        return true;
+    }
+
+    private ImageFile file(String name, int size, int seed) throws Exception {
+        Path path = Files.write(location.resolve(name), bytes(size, seed));
+        return new ImageFile(name, path, 0, size, Files.getLastModifiedTime(path).toMillis());
+    }
+
+    private static byte[] read(ImageCache.Entry entry, long start, long end) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entry.writeTo(Channels.newChannel(out), start, end);
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(int size, int seed) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return bytes;
+    }
+}
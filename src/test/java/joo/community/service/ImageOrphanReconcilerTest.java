@@ -0,0 +1,117 @@
+package joo.community.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.repository.board.ImageBlobRepository;
+import joo.community.repository.board.ImageRepository;
+import joo.community.service.file.FileService;
+import joo.community.service.file.ImageBlobStore;
+import joo.community.service.file.ImageOrphanReconciler;
+import joo.community.service.file.ImageStorageLayout;
+import joo.community.service.file.ImageVariantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageOrphanReconcilerTest {
+
+    @TempDir
+    Path location;
+
+    ImageStorageLayout layout;
+    ImageRepository imageRepository;
+    ImageBlobStore imageBlobStore;
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() {
+        layout = new ImageStorageLayout(location);
+        imageRepository = mock(ImageRepository.class);
+        imageBlobStore = new ImageBlobStore(mock(FileService.class), mock(ImageBlobRepository.class),
+                mock(ImageVariantService.class), mock(ApplicationEventPublisher.class));
+        meterRegistry = new SimpleMeterRegistry();
+
+        // kept.png 와 그 축소본만 참조된다.
+        when(imageRepository.findUniqueNamesIn(any())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return names.stream().filter("kept.png"::equals).collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    @DisplayName("참조되지 않는 오래된 파일과 축소본, 쓰다 만 파일을 quarantine 으로 옮긴다.")
+    void quarantine_orphans() throws Exception {
+        // given
+        Path kept = write(layout.prepare("kept.png"), 10, true);
+        Path keptVariant = write(layout.prepare("kept_w200.png"), 10, true);
+        Path orphan = write(layout.prepare("orphan.png"), 100, true);
+        Path orphanVariant = write(layout.prepare("orphan_w640.png"), 20, true);
+        Path flatOrphan = write(layout.flatPathOf("legacy.png"), 30, true);
+        Path part = write(layout.pathOf("writing.png").resolveSibling("writing.png.part"), 5, true);
+        Path recent = write(layout.prepare("recent.png"), 10, false);
+
+        // when
+        long reclaimed = reconciler("quarantine").reconcile();
+
+        // then
+        assertThat(reclaimed).isEqualTo(4);
+        assertThat(kept).exists();
+        assertThat(keptVariant).exists();
+        assertThat(recent).exists();
+        for (Path path : List.of(orphan, orphanVariant, flatOrphan, part)) {
+            assertThat(path).doesNotExist();
+            assertThat(location.resolve("quarantine").resolve(path.getFileName())).exists();
+        }
+        assertThat(meterRegistry.get("image.orphans.files").tag("action", "quarantined").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("image.orphans.reclaimed.bytes").counter().count()).isEqualTo(155);
+    }
+
+    @Test
+    @DisplayName("delete 모드에서는 바로 지우고, 다시 확인했을 때 참조되면 남겨둔다.")
+    void delete_orphans() throws Exception {
+        // given
+        Path orphan = write(layout.prepare("orphan.png"), 10, true);
+        Path reuploaded = write(layout.prepare("again.png"), 10, true);
+        when(imageRepository.existsByUniqueName(anyString())).thenAnswer(invocation ->
+                "again.png".equals(invocation.getArgument(0)));
+
+        // when
+        long reclaimed = reconciler("delete").reconcile();
+
+        // then
+        assertThat(reclaimed).isEqualTo(1);
+        assertThat(orphan).doesNotExist();
+        assertThat(reuploaded).exists();
+        assertThat(location.resolve("quarantine")).doesNotExist();
+        assertThat(meterRegistry.get("image.orphans.files").tag("action", "deleted").counter().count()).isEqualTo(1);
+    }
+
+    private ImageOrphanReconciler reconciler(String mode) {
+        return new ImageOrphanReconciler(location.toString(), imageRepository, imageBlobStore, meterRegistry,
+                true, 24, mode, 1_000);
+    }
+
+    private static Path write(Path path, int size, boolean old) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[size]);
+        if (old) {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(48)));
+        }
+        return path;
+    }
+}
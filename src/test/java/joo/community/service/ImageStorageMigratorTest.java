@@ -0,0 +1,42 @@
+package joo.community.service;
+
+import joo.community.service.file.ImageStorageLayout;
+import joo.community.service.file.ImageStorageMigrator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageStorageMigratorTest {
+
+    @TempDir
+    Path location;
+
+    @Test
+    @DisplayName("이전 방식으로 저장된 파일을 나눈 경로로 옮기고, 옮기기 전후 모두 찾을 수 있다.")
+    void migrate_flat_files() throws Exception {
+        // given
+        ImageStorageLayout layout = new ImageStorageLayout(location);
+        for (int i = 0; i < 5; i++) {
+            Files.write(location.resolve(i + ".png"), new byte[]{(byte) i});
+        }
+        Files.write(location.resolve("writing.png.part"), new byte[]{9});
+        assertThat(layout.locate("3.png")).isEqualTo(location.resolve("3.png"));
+
+        // when
+        long moved = new ImageStorageMigrator(location.toString(), true, 2, 0).migrate();
+
+        // then
+        assertThat(moved).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(layout.locate(i + ".png")).isEqualTo(layout.pathOf(i + ".png"));
+            assertThat(Files.readAllBytes(layout.pathOf(i + ".png"))).containsExactly(i);
+        }
+        assertThat(location.resolve("writing.png.part")).exists();
+        assertThat(layout.pathOf("3.png").getParent().getParent().getParent()).isEqualTo(location);
+    }
+}
@@ -0,0 +1,172 @@
+package joo.community.service;
+
+import joo.community.entity.board.Image;
+import joo.community.entity.board.ImageStatus;
+import joo.community.repository.board.ImageBlobRepository;
+import joo.community.repository.board.ImageRepository;
+import joo.community.service.board.BoardDetailCache;
+import joo.community.service.board.ImageUploadPipeline;
+import joo.community.service.board.ImagesStagedEvent;
+import joo.community.service.file.FileService;
+import joo.community.service.file.ImageBlobStore;
+import joo.community.service.file.ImageVariantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ImageUploadPipelineTest {
+
+    // SHA-256 of {1, 2, 3}
+    private static final String DIGEST = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+
+    @TempDir
+    Path staging;
+
+    FileService fileService;
+    ImageBlobRepository imageBlobRepository;
+    ImageVariantService imageVariantService;
+    ImageRepository imageRepository;
+    BoardDetailCache boardDetailCache;
+    ImageUploadPipeline imageUploadPipeline;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        fileService = mock(FileService.class);
+        imageBlobRepository = mock(ImageBlobRepository.class);
+        imageRepository = mock(ImageRepository.class);
+        boardDetailCache = mock(BoardDetailCache.class);
+        imageVariantService = mock(ImageVariantService.class);
+        when(imageRepository.existsById(any())).thenReturn(true);
+        imageUploadPipeline = new ImageUploadPipeline(new ImageBlobStore(fileService, imageBlobRepository, imageVariantService, mock(ApplicationEventPublisher.class)),
+                imageVariantService, imageRepository, boardDetailCache, staging.toString(), 2);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        imageUploadPipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("내용의 SHA-256 으로 이름을 정하고, 커밋 후 임시 파일을 저장소로 옮겨 READY 로 바꾼다.")
+    void store_after_commit() throws Exception {
+        // given
+        Image image = stagedImage();
+
+        // when
+        assertThat(image.getUniqueName()).isEqualTo(DIGEST + ".png");
+        assertThat(Files.exists(staging.resolve(image.getUniqueName()))).isTrue();
+        verify(imageBlobRepository).acquire(DIGEST + ".png");
+        imageUploadPipeline.onCommitted(new ImagesStagedEvent(10L, List.of(image)));
+
+        // then
+        verify(fileService, timeout(1_000)).upload(eq(staging.resolve(image.getUniqueName())), eq(image.getUniqueName()));
+        verify(imageRepository, timeout(1_000)).updateStatus(1L, ImageStatus.READY);
+        verify(boardDetailCache, timeout(1_000)).evict(10L);
+        verify(imageVariantService, timeout(1_000)).generateAsync(image.getUniqueName());
+    }
+
+    @Test
+    @DisplayName("같은 내용이 이미 저장되어 있으면 다시 저장하지 않는다.")
+    void skip_stored_content() throws Exception {
+        // given
+        Image image = stagedImage();
+        when(fileService.exists(image.getUniqueName())).thenReturn(true);
+
+        // when
+        imageUploadPipeline.onCommitted(new ImagesStagedEvent(10L, List.of(image)));
+
+        // then
+        verify(imageRepository, timeout(1_000)).updateStatus(1L, ImageStatus.READY);
+        verify(fileService, never()).upload(any(Path.class), any());
+        assertThat(Files.exists(staging.resolve(image.getUniqueName()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("저장에 실패하면 FAILED 로 바꾼다.")
+    void mark_failed() throws Exception {
+        // given
+        Image image = stagedImage();
+        doThrow(new RuntimeException("disk full")).when(fileService).upload(any(Path.class), any());
+
+        // when
+        imageUploadPipeline.onCommitted(new ImagesStagedEvent(10L, List.of(image)));
+
+        // then
+        verify(imageRepository, timeout(1_000)).updateStatus(1L, ImageStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("커밋 후 저장 전에 이미지가 삭제되었으면 저장하지 않고 임시 파일을 지운다.")
+    void skip_deleted_image() throws Exception {
+        // given
+        Image image = stagedImage();
+        when(imageRepository.existsById(1L)).thenReturn(false);
+
+        // when
+        imageUploadPipeline.onCommitted(new ImagesStagedEvent(10L, List.of(image)));
+
+        // then
+        verify(imageRepository, timeout(1_000)).existsById(1L);
+        imageUploadPipeline.shutdown();
+        assertThat(Files.exists(staging.resolve(image.getUniqueName()))).isFalse();
+        verify(fileService, never()).upload(any(Path.class), any());
+        verify(imageRepository, never()).updateStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("롤백되면 임시 파일을 지우고 저장하지 않는다.")
+    void discard_on_rollback() throws Exception {
+        // given
+        Image image = stagedImage();
+
+        // when
+        imageUploadPipeline.onRolledBack(new ImagesStagedEvent(10L, List.of(image)));
+
+        // then
+        assertThat(Files.exists(staging.resolve(image.getUniqueName()))).isFalse();
+        verify(fileService, never()).upload(any(Path.class), any());
+    }
+
+    @Test
+    @DisplayName("같은 내용의 다른 업로드가 롤백되어도 아직 저장하지 않은 업로드의 임시 파일은 남긴다.")
+    void keep_shared_staging_on_rollback() throws Exception {
+        // given : 같은 내용의 업로드 두 개 (아직 커밋되지 않음)
+        Image image = stagedImage();
+        Image concurrent = stagedImage(2L);
+
+        // when
+        imageUploadPipeline.onRolledBack(new ImagesStagedEvent(20L, List.of(concurrent)));
+
+        // then
+        assertThat(Files.exists(staging.resolve(image.getUniqueName()))).isTrue();
+        imageUploadPipeline.onCommitted(new ImagesStagedEvent(10L, List.of(image)));
+        verify(fileService, timeout(1_000)).upload(eq(staging.resolve(image.getUniqueName())), eq(image.getUniqueName()));
+        verify(imageRepository, timeout(1_000)).updateStatus(1L, ImageStatus.READY);
+    }
+
+    private Image stagedImage() {
+        return stagedImage(1L);
+    }
+
+    private Image stagedImage(Long id) {
+        Image image = new Image("photo.png");
+        image.setId(id);
+        List<MultipartFile> files = List.of(new MockMultipartFile("images", "photo.png", "image/png", new byte[]{1, 2, 3}));
+        imageUploadPipeline.stage(List.of(image), files);
+        return image;
+    }
+}
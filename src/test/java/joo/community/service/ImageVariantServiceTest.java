@@ -0,0 +1,105 @@
+package joo.community.service;
+
+import joo.community.entity.board.ImageVariant;
+import joo.community.service.file.FileService;
+import joo.community.service.file.ImageStorageLayout;
+import joo.community.service.file.ImageVariantService;
+import joo.community.service.file.NioFileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path location;
+
+    ImageVariantService imageVariantService;
+
+    @AfterEach
+    void afterEach() {
+        imageVariantService.shutdown();
+    }
+
+    @Test
+    @DisplayName("원본보다 작은 너비의 축소본을 만들고, 원본보다 큰 너비는 원본을 복사한다.")
+    void generate_variants() throws Exception {
+        // given
+        NioFileService fileService = new NioFileService(location.toString(), false, 2);
+        imageVariantService = new ImageVariantService(fileService, 1, 40_000_000);
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "jpg", location.resolve("a.jpg").toFile()); // 이전 방식(나누지 않은) 경로
+
+        // when
+        imageVariantService.generate("a.jpg").get(10, TimeUnit.SECONDS);
+
+        // then
+        ImageStorageLayout layout = new ImageStorageLayout(location);
+        assertThat(ImageIO.read(layout.pathOf("a_w200.jpg").toFile()).getHeight()).isEqualTo(100);
+        assertThat(ImageIO.read(layout.pathOf("a_w640.jpg").toFile()).getWidth()).isEqualTo(640);
+        assertThat(ImageIO.read(layout.pathOf("a_w1280.jpg").toFile()).getWidth()).isEqualTo(1000);
+
+        imageVariantService.delete("a.jpg");
+        assertThat(fileService.exists("a_w640.jpg")).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 원본에 대한 생성 요청은 진행 중인 작업 하나를 함께 기다린다.")
+    void single_flight() throws Exception {
+        // given
+        CountDownLatch reading = new CountDownLatch(1);
+        FileService fileService = mock(FileService.class);
+        when(fileService.exists("a.png")).thenReturn(true);
+        when(fileService.read("a.png")).thenAnswer(invocation -> {
+            reading.await(10, TimeUnit.SECONDS);
+            return new ByteArrayInputStream(new byte[0]); // 읽을 수 없는 형식 -> 실패로 끝남
+        });
+        imageVariantService = new ImageVariantService(fileService, 2, 40_000_000);
+
+        // when
+        CompletableFuture<Void> first = imageVariantService.generate("a.png");
+        CompletableFuture<Void> second = imageVariantService.generate("a.png");
+        reading.countDown();
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first).failsWithin(10, TimeUnit.SECONDS);
+        verify(fileService, times(1)).read("a.png");
+    }
+
+    @Test
+    @DisplayName("가로 x 세로가 maxPixels 를 넘으면 디코딩하지 않고 축소본을 만들지 않는다.")
+    void reject_too_many_pixels() throws Exception {
+        // given
+        NioFileService fileService = new NioFileService(location.toString(), false, 2);
+        imageVariantService = new ImageVariantService(fileService, 1, 1_000 * 500 - 1);
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "png", location.resolve("a.png").toFile());
+
+        // when, then
+        assertThat(imageVariantService.generate("a.png")).failsWithin(10, TimeUnit.SECONDS);
+        assertThat(fileService.exists("a_w640.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("축소본 이름에서 원본과 너비를 알 수 있고, gif 는 축소본을 만들지 않는다.")
+    void variant_names() {
+        ImageVariant variant = ImageVariant.parse("abc_w640.png");
+
+        assertThat(variant.getOriginal()).isEqualTo("abc.png");
+        assertThat(variant.getWidth()).isEqualTo(640);
+        assertThat(ImageVariant.parse("abc_w641.png")).isNull();
+        assertThat(ImageVariant.namesOf("abc.gif")).isEmpty();
+        assertThat(ImageVariant.namesOf("abc.jpeg")).containsEntry(200, "abc_w200.jpeg");
+    }
+}
@@ -0,0 +1,94 @@
+package joo.community.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.exception.LoginBusyException;
+import joo.community.service.auth.PasswordHasher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class LoginBenchmarkTest {
+
+    /*
+        로그인 비밀번호 검증 처리량 (성공한 login/s), 동시 요청 CALLERS 개
+        두 효과를 따로 잰다.
+        1. 검증 횟수 : 요청 스레드에서 BCrypt 두 번 (validatePassword + AuthenticationManager) / 한 번
+        2. 전용 풀   : 요청 스레드에서 BCrypt 한 번 / PasswordHasher 에서 한 번 (작업자 수 제한)
+        LoginBusyException (거절) 은 실패로 센다. (처리량에 포함하지 않고 따로 출력)
+        ./gradlew benchmark 로 실행
+     */
+
+    private static final int STRENGTH = 10;
+    private static final int CALLERS = 16;
+    private static final int LOGINS = 320;
+
+    @Test
+    @DisplayName("로그인 처리량 : BCrypt 두 번 / 한 번 (요청 스레드), 한 번 (PasswordHasher)")
+    void login_throughput() throws Exception {
+        PasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+        String hash = encoder.encode("password");
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors());
+        PasswordHasher passwordHasher = new PasswordHasher(encoder, workers, LOGINS, 60_000, new SimpleMeterRegistry());
+
+        run(() -> encoder.matches("password", hash)); // warmup
+
+        Result twoChecks = run(() -> encoder.matches("password", hash) && encoder.matches("password", hash));
+        Result oneCheck = run(() -> encoder.matches("password", hash));
+        Result pooled = run(() -> {
+            try {
+                return passwordHasher.matches("password", hash);
+            } catch (LoginBusyException e) {
+                return false;
+            }
+        });
+        passwordHasher.shutdown();
+
+        System.out.printf("login throughput (%d callers, %d workers)%n", CALLERS, workers);
+        System.out.printf("  check count : two=%,.1f/s  one=%,.1f/s%n", twoChecks.throughput, oneCheck.throughput);
+        System.out.printf("  hasher pool : request thread=%,.1f/s  pool=%,.1f/s  (rejected=%d)%n",
+                oneCheck.throughput, pooled.throughput, pooled.failures);
+        assertThat(oneCheck.throughput).isGreaterThan(twoChecks.throughput);
+        assertThat(pooled.failures).isZero(); // 대기열이 LOGINS 만큼이므로 거절 없이 모두 처리해야 한다.
+    }
+
+    private static Result run(Callable<Boolean> login) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            results.add(callers.submit(login));
+        }
+        int failures = 0;
+        for (Future<Boolean> result : results) {
+            if (!result.get()) {
+                failures++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        callers.shutdown();
+        return new Result((LOGINS - failures) / (elapsed / 1_000_000_000.0), failures);
+    }
+
+    private static final class Result {
+
+        private final double throughput; // 성공한 login/s
+        private final int failures;
+
+        private Result(double throughput, int failures) {
+            this.throughput = throughput;
+            this.failures = failures;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package joo.community.service;
+
+import joo.community.service.auth.MemoryRefreshTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryRefreshTokenStoreTest {
+
+    MutableClock clock;
+    MemoryRefreshTokenStore store;
+
+    @BeforeEach
+    void beforeEach() {
+        clock = new MutableClock();
+        store = new MemoryRefreshTokenStore(clock);
+    }
+
+    @Test
+    @DisplayName("저장한 토큰은 ttl 이 지나면 조회되지 않는다.")
+    void token_expires_after_ttl() {
+        // given
+        store.save("joo", "token-1", Duration.ofMinutes(10));
+        store.save("joo", "token-2", Duration.ofMinutes(10)); // 교체
+
+        // when, then
+        assertThat(store.find("joo")).contains("token-2");
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(store.find("joo")).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("다시 조회되지 않는 만료 토큰은 주기적으로 정리한다.")
+    void purge_expired() {
+        // given
+        store.save("joo", "token", Duration.ofMinutes(1));
+        store.save("kim", "token", Duration.ofMinutes(10));
+        clock.advance(Duration.ofMinutes(5));
+
+        // when
+        store.purgeExpired();
+
+        // then
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.find("kim")).contains("token");
+    }
+
+    @Test
+    @DisplayName("saveIfAbsent 는 유효한 토큰을 덮어쓰지 않고, 만료된 토큰은 교체한다.")
+    void save_if_absent() {
+        // given
+        store.save("joo", "new", Duration.ofMinutes(1));
+
+        // when, then
+        assertThat(store.saveIfAbsent("joo", "legacy", Duration.ofMinutes(10))).isFalse();
+        assertThat(store.find("joo")).contains("new");
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(store.saveIfAbsent("joo", "legacy", Duration.ofMinutes(10))).isTrue();
+        assertThat(store.find("joo")).contains("legacy");
+        store.delete("joo");
+        assertThat(store.find("joo")).isEmpty();
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
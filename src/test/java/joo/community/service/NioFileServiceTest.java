@@ -0,0 +1,69 @@
+package joo.community.service;
+
+import joo.community.service.file.FileDeletedEvent;
+import joo.community.service.file.ImageStorageLayout;
+import joo.community.service.file.NioFileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NioFileServiceTest {
+
+    @TempDir
+    Path location;
+
+    NioFileService nioFileService;
+    ImageStorageLayout layout;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        nioFileService = new NioFileService(location.toString(), true, 2);
+        layout = new ImageStorageLayout(location);
+    }
+
+    @Test
+    @DisplayName("업로드한 내용이 그대로 저장되고, 임시(.part) 파일은 남지 않는다.")
+    void upload_multipart() throws Exception {
+        // given
+        byte[] content = new byte[3 * 1024 * 1024 + 7];
+        new Random(1).nextBytes(content);
+
+        // when
+        nioFileService.upload(new MockMultipartFile("images", "photo.png", "image/png", content), "photo.png");
+
+        // then
+        assertThat(Files.readAllBytes(layout.pathOf("photo.png"))).isEqualTo(content);
+        assertThat(Files.exists(layout.pathOf("photo.png").resolveSibling("photo.png.part"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("임시 영역의 파일을 저장소로 옮기고, 삭제하면 FileDeletedEvent 를 알린다.")
+    void upload_path_and_delete(@TempDir Path staging) throws Exception {
+        // given
+        Path staged = Files.write(staging.resolve("staged.png"), new byte[]{1, 2, 3});
+        List<Object> events = new ArrayList<>();
+        nioFileService.setApplicationEventPublisher(events::add);
+
+        // when
+        nioFileService.upload(staged, "staged.png");
+
+        // then
+        assertThat(Files.readAllBytes(layout.pathOf("staged.png"))).containsExactly(1, 2, 3);
+        assertThat(Files.exists(staged)).isFalse();
+
+        nioFileService.delete("staged.png");
+        assertThat(nioFileService.exists("staged.png")).isFalse();
+        assertThat(events).hasSize(1);
+        assertThat(((FileDeletedEvent) events.get(0)).getFilename()).isEqualTo("staged.png");
+    }
+}
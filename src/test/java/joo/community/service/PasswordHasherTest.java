@@ -0,0 +1,102 @@
+package joo.community.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.exception.LoginBusyException;
+import joo.community.service.auth.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    PasswordHasher passwordHasher;
+
+    @AfterEach
+    void afterEach() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("전용 스레드 풀에서 해시하고 검증한다.")
+    void encode_and_matches() {
+        // given
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 2, 8, 5_000, new SimpleMeterRegistry());
+
+        // when
+        String hash = passwordHasher.encode("password");
+
+        // then
+        assertThat(passwordHasher.matches("password", hash)).isTrue();
+        assertThat(passwordHasher.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("설정보다 낮은 비용으로 만든 해시는 재해시 대상이다.")
+    void upgrade_encoding() {
+        // given
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 8, 5_000, new SimpleMeterRegistry());
+        String weak = new BCryptPasswordEncoder(4).encode("password");
+
+        // when, then
+        assertThat(passwordHasher.upgradeEncoding(weak)).isTrue();
+        assertThat(passwordHasher.upgradeEncoding(passwordHasher.encode("password"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("작업자와 대기열이 모두 차면 기다리지 않고 LoginBusyException 으로 거절한다.")
+    void rejects_when_saturated() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(new BlockingPasswordEncoder(started, release), 1, 0, 5_000, meterRegistry);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        caller.submit(() -> passwordHasher.matches("password", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when, then
+        assertThatThrownBy(() -> passwordHasher.matches("password", "hash"))
+                .isInstanceOf(LoginBusyException.class);
+        assertThat(meterRegistry.get("auth.password.rejections").functionCounter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        caller.shutdown();
+    }
+
+    static class BlockingPasswordEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingPasswordEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+    }
+}
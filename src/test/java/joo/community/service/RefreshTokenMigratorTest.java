@@ -0,0 +1,152 @@
+package joo.community.service;
+
+import joo.community.config.jwt.TokenProvider;
+import joo.community.entity.user.RefreshToken;
+import joo.community.repository.token.RefreshTokenRepository;
+import joo.community.service.auth.MemoryRefreshTokenStore;
+import joo.community.service.auth.RedisRefreshTokenStore;
+import joo.community.service.auth.RefreshTokenMigrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenMigratorTest {
+
+    MemoryRefreshTokenStoreTest.MutableClock clock;
+    InMemoryRedisRefreshTokenStore store;
+    RefreshTokenRepository refreshTokenRepository;
+    TokenProvider tokenProvider;
+    RefreshTokenMigrator migrator;
+
+    @BeforeEach
+    void beforeEach() {
+        clock = new MemoryRefreshTokenStoreTest.MutableClock();
+        store = new InMemoryRedisRefreshTokenStore(new MemoryRefreshTokenStore(clock));
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        tokenProvider = mock(TokenProvider.class);
+        migrator = new RefreshTokenMigrator(refreshTokenRepository, store, tokenProvider, true, 100);
+    }
+
+    static RefreshToken legacy(String key, String value) {
+        return RefreshToken.builder().key(key).value(value).build();
+    }
+
+    @Test
+    @DisplayName("남은 유효 시간을 ttl 로 옮기고, 그 사이 새로 로그인한 토큰은 덮어쓰지 않는다.")
+    void migrate_keeps_newer_login() {
+        // given
+        store.save("joo", "new", Duration.ofDays(7));
+        when(refreshTokenRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(legacy("joo", "joo-legacy"), legacy("kim", "kim-legacy"))))
+                .thenReturn(new PageImpl<>(List.of()));
+        when(tokenProvider.remainingValidity(any())).thenReturn(Optional.of(Duration.ofHours(1)));
+
+        // when
+        long moved = migrator.migrate();
+
+        // then
+        assertThat(moved).isEqualTo(2);
+        assertThat(store.find("joo")).contains("new");
+        assertThat(store.find("kim")).contains("kim-legacy");
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of("joo", "kim"));
+        clock.advance(Duration.ofHours(1));
+        assertThat(store.find("kim")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 옮기지 않고 행만 지운다.")
+    void expired_rows_are_dropped() {
+        // given
+        when(refreshTokenRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(legacy("joo", "expired"))))
+                .thenReturn(new PageImpl<>(List.of()));
+        when(tokenProvider.remainingValidity("expired")).thenReturn(Optional.empty());
+
+        // when
+        long moved = migrator.migrate();
+
+        // then
+        assertThat(moved).isZero();
+        assertThat(store.size()).isZero();
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of("joo"));
+    }
+
+    @Test
+    @DisplayName("이전되기 전에 재발급 요청이 오면 그 회원의 행만 옮긴다.")
+    void migrate_key_on_reissue() {
+        // given
+        when(refreshTokenRepository.findByKey("joo")).thenReturn(Optional.of(legacy("joo", "joo-legacy")));
+        when(refreshTokenRepository.findByKey("kim")).thenReturn(Optional.of(legacy("kim", "expired")));
+        when(tokenProvider.remainingValidity("joo-legacy")).thenReturn(Optional.of(Duration.ofHours(1)));
+        when(tokenProvider.remainingValidity("expired")).thenReturn(Optional.empty());
+
+        // when, then
+        assertThat(migrator.migrate("joo")).contains("joo-legacy");
+        assertThat(store.find("joo")).contains("joo-legacy");
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of("joo"));
+
+        assertThat(migrator.migrate("kim")).isEmpty();
+        assertThat(store.find("kim")).isEmpty();
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of("kim"));
+
+        assertThat(migrator.migrate("lee")).isEmpty();
+        verify(refreshTokenRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("재시작하면 사라지는 메모리 저장소로는 옮기지 않고 기동에 실패한다.")
+    void memory_store_is_refused() {
+        MemoryRefreshTokenStore memoryStore = new MemoryRefreshTokenStore(clock);
+
+        assertThatThrownBy(() -> new RefreshTokenMigrator(refreshTokenRepository, memoryStore, tokenProvider, true, 100))
+                .isInstanceOf(IllegalStateException.class);
+        new RefreshTokenMigrator(refreshTokenRepository, memoryStore, tokenProvider, false, 100); // 꺼져 있으면 그대로 기동
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    // Redis 없이 RedisRefreshTokenStore 를 흉내 낸다. (만료는 MemoryRefreshTokenStore 의 clock 기준)
+    static class InMemoryRedisRefreshTokenStore extends RedisRefreshTokenStore {
+
+        private final MemoryRefreshTokenStore delegate;
+
+        InMemoryRedisRefreshTokenStore(MemoryRefreshTokenStore delegate) {
+            super(null);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void save(String key, String token, Duration ttl) {
+            delegate.save(key, token, ttl);
+        }
+
+        @Override
+        public boolean saveIfAbsent(String key, String token, Duration ttl) {
+            return delegate.saveIfAbsent(key, token, ttl);
+        }
+
+        @Override
+        public Optional<String> find(String key) {
+            return delegate.find(key);
+        }
+
+        @Override
+        public void delete(String key) {
+            delegate.delete(key);
+        }
+
+        int size() {
+            return delegate.size();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package joo.community.service;
+
+import joo.community.service.file.FileService;
+import joo.community.service.file.NioFileService;
+import joo.community.service.file.SegmentFileService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+@Tag("benchmark")
+class SegmentFileServiceBenchmarkTest {
+
+    /*
+        작은 이미지 읽기 지연 시간 / 기동 시간 비교 : 파일 하나씩 (NioFileService) vs segment (SegmentFileService)
+        8KB 이미지 50,000 건 저장 후 무작위 200,000 건 읽기, segment 는 색인 파일 유무별 기동 시간
+        ./gradlew benchmark 로 실행 (page cache 상태에 크게 좌우되므로 같은 조건에서 비교한다)
+     */
+
+    private static final int IMAGES = 50_000;
+    private static final int IMAGE_SIZE = 8 * 1024;
+    private static final int READS = 200_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("8KB 이미지 50,000건 : 무작위 읽기 p50 / p99, 기동 시간")
+    void read_latency_and_startup() throws Exception {
+        byte[] content = new byte[IMAGE_SIZE];
+        new Random(1).nextBytes(content);
+
+        Path fileLocation = directory.resolve("file");
+        NioFileService nioFileService = new NioFileService(fileLocation.toString(), false, 8);
+        fill(nioFileService, content);
+        read("file", nioFileService);
+
+        Path segmentLocation = directory.resolve("segment");
+        SegmentFileService segmentFileService = segment(segmentLocation);
+        fill(segmentFileService, content);
+        read("segment", segmentFileService);
+        segmentFileService.close();
+
+        long start = System.nanoTime();
+        new NioFileService(fileLocation.toString(), false, 8);
+        System.out.printf("%-18s startup=%8.2fms%n", "file", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        segment(segmentLocation).close();
+        System.out.printf("%-18s startup=%8.2fms%n", "segment (index)", (System.nanoTime() - start) / 1e6);
+
+        Files.delete(segmentLocation.resolve("segments").resolve("index.dat"));
+        start = System.nanoTime();
+        segment(segmentLocation);
+        System.out.printf("%-18s startup=%8.2fms%n", "segment (rescan)", (System.nanoTime() - start) / 1e6);
+    }
+
+    private static void fill(FileService fileService, byte[] content) {
+        for (int i = 0; i < IMAGES; i++) {
+            content[0] = (byte) i;
+            fileService.upload(new MockMultipartFile("images", i + ".png", "image/png", content), i + ".png");
+        }
+    }
+
+    private static void read(String name, FileService fileService) throws Exception {
+        Random random = new Random(2);
+        byte[] buffer = new byte[IMAGE_SIZE];
+        long[] latencies = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            String filename = random.nextInt(IMAGES) + ".png";
+            long begin = System.nanoTime();
+            try (InputStream in = fileService.read(filename)) {
+                while (in.read(buffer) != -1) {
+                    // 끝까지 읽는다.
+                }
+            }
+            latencies[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-18s read p50=%6.1fus  p99=%6.1fus%n", name,
+                latencies[READS / 2] / 1e3, latencies[READS * 99 / 100] / 1e3);
+    }
+
+    private static SegmentFileService segment(Path location) throws Exception {
+        return new SegmentFileService(location.toString(), 1024L * 1024 * 1024, 512 * 1024, 0.5, false);
+    }
+}
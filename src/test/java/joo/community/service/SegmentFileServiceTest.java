@@ -0,0 +1,186 @@
+package joo.community.service;
+
+import joo.community.exception.ImageNotFoundException;
+import joo.community.service.file.ImageFile;
+import joo.community.service.file.ImageStorageLayout;
+import joo.community.service.file.SegmentFileService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentFileServiceTest {
+
+    @TempDir
+    Path location;
+
+    @Test
+    @DisplayName("작은 이미지는 segment 에 이어 붙이고, 위치(offset) 를 그대로 응답에 쓴다.")
+    void upload_and_read() throws Exception {
+        // given
+        SegmentFileService segmentFileService = service(1024 * 1024);
+        byte[] first = bytes(100, 1);
+        byte[] second = bytes(200, 2);
+
+        // when
+        segmentFileService.upload(new MockMultipartFile("images", "a.png", "image/png", first), "a.png");
+        segmentFileService.upload(new MockMultipartFile("images", "b.png", "image/png", second), "b.png");
+
+        // then
+        assertThat(read(segmentFileService, "a.png")).isEqualTo(first);
+        assertThat(read(segmentFileService, "b.png")).isEqualTo(second);
+
+        ImageFile file = segmentFileService.open("b.png");
+        assertThat(file.getLength()).isEqualTo(200);
+        assertThat(file.getOffset()).isGreaterThan(100);
+        ByteBuffer buffer = ByteBuffer.allocate(200);
+        try (FileChannel channel = file.openChannel()) {
+            channel.read(buffer, file.getOffset());
+        }
+        assertThat(buffer.array()).isEqualTo(second);
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("삭제는 묘비로 남고, 다시 기동해도 (색인 파일 유무와 관계없이) 같은 상태로 복구된다.")
+    void recover_after_restart() throws Exception {
+        // given
+        SegmentFileService segmentFileService = service(1024 * 1024);
+        upload(segmentFileService, "a.png", bytes(10, 1));
+        upload(segmentFileService, "b.png", bytes(10, 2));
+        segmentFileService.close(); // 색인 저장
+        segmentFileService = service(1024 * 1024);
+        upload(segmentFileService, "c.png", bytes(10, 3)); // 색인 저장 이후 추가
+        segmentFileService.delete("a.png");
+
+        // when : 종료하지 않고 (색인 저장 없이) 다시 기동
+        SegmentFileService restarted = service(1024 * 1024);
+
+        // then
+        assertThat(restarted.exists("a.png")).isFalse();
+        assertThat(read(restarted, "b.png")).isEqualTo(bytes(10, 2));
+        assertThat(read(restarted, "c.png")).isEqualTo(bytes(10, 3));
+
+        // 색인 파일이 없으면 모든 segment 를 다시 읽는다.
+        restarted.close();
+        Files.delete(location.resolve("segments").resolve("index.dat"));
+        SegmentFileService rescanned = service(1024 * 1024);
+        assertThat(rescanned.exists("a.png")).isFalse();
+        assertThat(read(rescanned, "c.png")).isEqualTo(bytes(10, 3));
+    }
+
+    @Test
+    @DisplayName("쓰다 만 레코드는 기동 시 잘라내고, 그 앞의 레코드는 그대로 읽는다.")
+    void truncate_torn_record() throws Exception {
+        // given
+        SegmentFileService segmentFileService = service(1024 * 1024);
+        upload(segmentFileService, "a.png", bytes(10, 1));
+        upload(segmentFileService, "b.png", bytes(1000, 2));
+        ImageFile torn = segmentFileService.open("b.png");
+        try (FileChannel channel = FileChannel.open(torn.getPath(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9, 9, 9}), torn.getOffset() + torn.getLength() - 3); // b.png 데이터 일부 훼손
+        }
+
+        // when
+        SegmentFileService restarted = service(1024 * 1024);
+
+        // then
+        assertThat(read(restarted, "a.png")).isEqualTo(bytes(10, 1));
+        assertThat(restarted.exists("b.png")).isFalse();
+        upload(restarted, "c.png", bytes(10, 3));
+        assertThat(read(service(1024 * 1024), "c.png")).isEqualTo(bytes(10, 3));
+    }
+
+    @Test
+    @DisplayName("쓰레기가 많은 segment 는 살아 있는 레코드만 옮기고, 다음 압축 때 지운다.")
+    void compact() throws Exception {
+        // given : segment 하나에 레코드 약 2개
+        SegmentFileService segmentFileService = service(2 * 1024);
+        for (int i = 0; i < 8; i++) {
+            upload(segmentFileService, i + ".png", bytes(900, i));
+        }
+        for (int i = 0; i < 8; i += 2) {
+            segmentFileService.delete(i + ".png");
+        }
+        int before = segmentFiles().length;
+
+        // when
+        int compacted = segmentFileService.compact();
+        segmentFileService.compact();
+
+        // then
+        assertThat(compacted).isGreaterThan(0);
+        assertThat(segmentFiles().length).isLessThan(before);
+        for (int i = 0; i < 8; i++) {
+            assertThat(segmentFileService.exists(i + ".png")).isEqualTo(i % 2 == 1);
+        }
+        for (int i = 1; i < 8; i += 2) {
+            assertThat(read(segmentFileService, i + ".png")).isEqualTo(bytes(900, i));
+        }
+
+        // 압축 후 다시 기동해도 지운 이미지가 살아나지 않는다.
+        segmentFileService.close();
+        Files.delete(location.resolve("segments").resolve("index.dat"));
+        SegmentFileService rescanned = service(2 * 1024);
+        for (int i = 0; i < 8; i++) {
+            assertThat(rescanned.exists(i + ".png")).isEqualTo(i % 2 == 1);
+        }
+    }
+
+    @Test
+    @DisplayName("small-max-bytes 보다 큰 이미지는 파일 하나로 저장한다.")
+    void large_image_as_file(@TempDir Path staging) throws Exception {
+        // given
+        SegmentFileService segmentFileService = service(1024 * 1024);
+        Path staged = Files.write(staging.resolve("large.png"), bytes(5000, 7));
+
+        // when
+        segmentFileService.upload(staged, "large.png");
+
+        // then
+        assertThat(Files.readAllBytes(new ImageStorageLayout(location).pathOf("large.png"))).isEqualTo(bytes(5000, 7));
+        assertThat(read(segmentFileService, "large.png")).isEqualTo(bytes(5000, 7));
+
+        segmentFileService.delete("large.png");
+        assertThatThrownBy(() -> segmentFileService.open("large.png")).isInstanceOf(ImageNotFoundException.class);
+    }
+
+    private SegmentFileService service(long maxSegmentBytes) throws Exception {
+        return new SegmentFileService(location.toString(), maxSegmentBytes, 1024, 0.5, false);
+    }
+
+    private static void upload(SegmentFileService segmentFileService, String name, byte[] content) {
+        segmentFileService.upload(new MockMultipartFile("images", name, "image/png", content), name);
+    }
+
+    private static byte[] read(SegmentFileService segmentFileService, String name) throws Exception {
+        try (InputStream in = segmentFileService.read(name)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Path[] segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(location.resolve("segments"))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).toArray(Path[]::new);
+        }
+    }
+
+    private static byte[] bytes(int size, int seed) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return bytes;
+    }
+}
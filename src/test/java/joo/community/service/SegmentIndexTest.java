@@ -0,0 +1,73 @@
+package joo.community.service;
+
+import joo.community.service.file.SegmentIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentIndexTest {
+
+    @Test
+    @DisplayName("추가 / 교체 / 삭제를 섞어도 HashMap 과 같은 결과를 낸다. (크기 조정, backward shift 삭제)")
+    void matches_hash_map() {
+        // given
+        SegmentIndex index = new SegmentIndex(4);
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(1);
+
+        // when
+        for (int i = 0; i < 50_000; i++) {
+            String name = "image-" + random.nextInt(5_000) + ".png";
+            if (random.nextInt(3) == 0) {
+                assertThat(index.remove(name) >= 0).isEqualTo(expected.remove(name) != null);
+            } else {
+                long location = SegmentIndex.location(random.nextInt(100), random.nextInt(1 << 30));
+                index.put(name, location, i, i);
+                expected.put(name, location);
+            }
+        }
+
+        // then
+        assertThat(index.size()).isEqualTo(expected.size());
+        for (int i = 0; i < 5_000; i++) {
+            String name = "image-" + i + ".png";
+            int slot = index.find(name);
+            if (expected.containsKey(name)) {
+                assertThat(index.locationAt(slot)).isEqualTo(expected.get(name));
+            } else {
+                assertThat(slot).isEqualTo(-1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("segment 번호와 offset 을 하나의 long 으로 묶고, 저장 후 그대로 읽는다.")
+    void location_and_persist() throws Exception {
+        // given
+        SegmentIndex index = new SegmentIndex(16);
+        long location = SegmentIndex.location(12, 5_000_000_000L);
+        index.put("a.png", location, 100, 1234L);
+
+        // when
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(bytes));
+        SegmentIndex read = SegmentIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // then
+        assertThat(SegmentIndex.segmentOf(location)).isEqualTo(12);
+        assertThat(SegmentIndex.offsetOf(location)).isEqualTo(5_000_000_000L);
+        int slot = read.find("a.png");
+        assertThat(read.locationAt(slot)).isEqualTo(location);
+        assertThat(read.lengthAt(slot)).isEqualTo(100);
+        assertThat(read.modifiedAt(slot)).isEqualTo(1234L);
+    }
+}
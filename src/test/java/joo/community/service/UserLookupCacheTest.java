@@ -0,0 +1,89 @@
+package joo.community.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import joo.community.entity.user.Authority;
+import joo.community.entity.user.User;
+import joo.community.repository.user.UserRepository;
+import joo.community.service.user.CachedUser;
+import joo.community.service.user.UserChangedEvent;
+import joo.community.service.user.UserLookupCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserLookupCacheTest {
+
+    UserRepository userRepository;
+    SimpleMeterRegistry meterRegistry;
+    UserLookupCache userLookupCache;
+
+    @BeforeEach
+    void beforeEach() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userLookupCache = new UserLookupCache(userRepository, 100, meterRegistry);
+    }
+
+    static User user(String username, String nickname) {
+        return User.builder()
+                .id(1L).username(username).password("hash").name("이름").nickname(nickname)
+                .authority(Authority.ROLE_USER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("username / nickname 조회를 캐시하고, 조회 종류별 hit ratio 를 노출한다.")
+    void lookups_are_cached_per_type() {
+        // given
+        when(userRepository.findByUsername("joo")).thenReturn(Optional.of(user("joo", "주")));
+        when(userRepository.findByNickname("주")).thenReturn(Optional.of(user("joo", "주")));
+
+        // when
+        CachedUser first = userLookupCache.findByUsername("joo").orElseThrow();
+        CachedUser second = userLookupCache.findByUsername("joo").orElseThrow();
+        userLookupCache.findByNickname("주");
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getPassword()).isEqualTo("hash");
+        verify(userRepository, times(1)).findByUsername("joo");
+        verify(userRepository, times(1)).findByNickname("주");
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "userByUsername").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "userByNickname").gauge().value()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("없는 회원은 캐시하지 않는다. (가입 직후 바로 조회되도록)")
+    void missing_user_is_not_cached() {
+        // given
+        when(userRepository.findByUsername("new")).thenReturn(Optional.empty(), Optional.of(user("new", "새")));
+
+        // when, then
+        assertThat(userLookupCache.findByUsername("new")).isEmpty();
+        assertThat(userLookupCache.findByUsername("new")).isPresent();
+    }
+
+    @Test
+    @DisplayName("수정/탈퇴가 커밋되면 username 과 이전/이후 nickname 항목을 제거한다.")
+    void changed_user_is_evicted() {
+        // given
+        when(userRepository.findByUsername("joo")).thenReturn(Optional.of(user("joo", "주")), Optional.of(user("joo", "준")));
+        when(userRepository.findByNickname("주")).thenReturn(Optional.of(user("joo", "주")), Optional.empty());
+        userLookupCache.findByUsername("joo");
+        userLookupCache.findByNickname("주");
+
+        // when
+        userLookupCache.onUserChanged(UserChangedEvent.updated("joo", "주", "준"));
+
+        // then
+        assertThat(userLookupCache.findByUsername("joo").orElseThrow().getNickname()).isEqualTo("준");
+        assertThat(userLookupCache.findByNickname("주")).isEmpty();
+        verify(userRepository, times(2)).findByUsername("joo");
+        verify(userRepository, times(2)).findByNickname("주");
+    }
+}